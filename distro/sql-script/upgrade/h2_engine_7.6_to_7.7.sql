@@ -40,4 +40,96 @@ values ('history.cleanup.job.lock', '0', 1);
 
 -- historyTimeToLive column for history cleanup
 ALTER TABLE ACT_RE_PROCDEF
-  ADD HISTORY_TTL_ INTEGER;
\ No newline at end of file
+  ADD HISTORY_TTL_ INTEGER;
+
+-- removal time and cleanup partition columns for history cleanup
+ALTER TABLE ACT_HI_PROCINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_PROCINST
+  ADD CLEANUP_PARTITION_ integer;
+
+create index ACT_IDX_HI_PRO_INST_RM_TIME on ACT_HI_PROCINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+
+-- removal time and cleanup partition columns of historic process instance children
+ALTER TABLE ACT_HI_ACTINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_ACTINST
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_TASKINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_TASKINST
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_VARINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_VARINST
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_DETAIL
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_DETAIL
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_IDENTITYLINK
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_IDENTITYLINK
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_COMMENT
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_COMMENT
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_ATTACHMENT
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_ATTACHMENT
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_INCIDENT
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_INCIDENT
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_JOB_LOG
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_JOB_LOG
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_EXT_TASK_LOG
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_EXT_TASK_LOG
+  ADD CLEANUP_PARTITION_ integer;
+
+ALTER TABLE ACT_HI_DECINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_DECINST
+  ADD CLEANUP_PARTITION_ integer;
+
+create index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_VARINST_RM_TIME on ACT_HI_VARINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_COMMENT_RM_TIME on ACT_HI_COMMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_ATTACHMENT_RM_TIME on ACT_HI_ATTACHMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_EXTTASKLOG_RM_TIME on ACT_HI_EXT_TASK_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_DEC_INST_RM_TIME on ACT_HI_DECINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+
+-- content hash of deployment resources
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ varchar(64);
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ELResolver;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.repository.DeploymentBuilder;
@@ -68,6 +69,8 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
       // delegate stopping of the process application to the runtime container.
       RuntimeContainerDelegate.INSTANCE.get().undeployProcessApplication(this);
       isDeployed = false;
+      // release the classes cached by the resolver, a redeployment may load them again
+      processApplicationBeanElResolver = null;
     }
   }
 
@@ -194,6 +197,13 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
     return getProcessApplicationScriptEnvironment().getScriptEngineForName(name, cache);
   }
 
+  /**
+   * see {@link ProcessApplicationScriptEnvironment#getScriptEngineResolver()}
+   */
+  public ScriptEngineResolver getScriptEngineResolver() {
+    return getProcessApplicationScriptEnvironment().getScriptEngineResolver();
+  }
+
   /**
    * see {@link ProcessApplicationScriptEnvironment#getEnvironmentScripts()}
    */
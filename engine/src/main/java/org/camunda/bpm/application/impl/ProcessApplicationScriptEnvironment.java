@@ -51,6 +51,14 @@ public class ProcessApplicationScriptEnvironment {
    * @return a {@link ScriptEngine}
    */
   public ScriptEngine getScriptEngineForName(String scriptEngineName, boolean cache) {
+    return getScriptEngineResolver().getScriptEngine(scriptEngineName, cache);
+  }
+
+  /**
+   * Returns the {@link ScriptEngineResolver} which creates, caches and pools the
+   * script engines of the process application.
+   */
+  public ScriptEngineResolver getScriptEngineResolver() {
     if(processApplicationScriptEngineResolver == null) {
       synchronized (this) {
         if(processApplicationScriptEngineResolver == null) {
@@ -58,7 +66,7 @@ public class ProcessApplicationScriptEnvironment {
         }
       }
     }
-    return processApplicationScriptEngineResolver.getScriptEngine(scriptEngineName, cache);
+    return processApplicationScriptEngineResolver;
   }
 
   /**
@@ -186,12 +186,41 @@ public interface HistoryService {
    */
   Job cleanUpHistoryAsync(boolean immediatelyDue);
 
+  /**
+   * Calculates the removal time of up to <code>batchSize</code> historic process instances which were
+   * finished without one, e.g. before the removal time was introduced, and stamps it on their history.
+   * The history cleanup can delete such process instances by their removal time afterwards.
+   * Call this method repeatedly until it returns <code>0</code> to update all historic process instances.
+   *
+   * @param batchSize the maximum number of historic process instances to update, must be greater than 0
+   * @return the number of updated historic process instances
+   * @throws AuthorizationException
+   *      If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}
+   */
+  int calculateHistoricProcessInstanceRemovalTimes(int batchSize);
+
   /**
    * Finds history cleanup job if present.
    * @return job entity
    */
   Job findHistoryCleanupJob();
 
+  /**
+   * Finds all history cleanup jobs. There is one job per range of cleanup partitions
+   * according to the configured history cleanup degree of parallelism.
+   * @return the history cleanup jobs, an empty list if there are none
+   */
+  List<Job> findHistoryCleanupJobs();
+
+  /**
+   * Counts the historic process instances which are due for the history cleanup,
+   * i.e. the backlog the history cleanup jobs still have to process.
+   *
+   * @throws AuthorizationException
+   *      If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}
+   */
+  long getHistoryCleanupBacklogCount();
+
   /**
    * Deletes historic process instances asynchronously. All historic activities, historic task and
    * historic details (variable updates, form properties) are deleted as well.
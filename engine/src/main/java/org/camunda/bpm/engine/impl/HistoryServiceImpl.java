@@ -42,8 +42,11 @@ import org.camunda.bpm.engine.history.NativeHistoricTaskInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
 import org.camunda.bpm.engine.impl.batch.history.DeleteHistoricBatchCmd;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
+import org.camunda.bpm.engine.impl.cmd.CalculateHistoricProcessInstanceRemovalTimesCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesBulkCmd;
 import org.camunda.bpm.engine.impl.cmd.FindHistoryCleanupJobCmd;
+import org.camunda.bpm.engine.impl.cmd.FindHistoryCleanupJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.GetHistoryCleanupBacklogCountCmd;
 import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricCaseInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
@@ -142,11 +145,23 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     return commandExecutor.execute(new HistoryCleanupCmd(immediatelyDue));
   }
 
+  public int calculateHistoricProcessInstanceRemovalTimes(int batchSize) {
+    return commandExecutor.execute(new CalculateHistoricProcessInstanceRemovalTimesCmd(batchSize));
+  }
+
   @Override
   public Job findHistoryCleanupJob() {
     return commandExecutor.execute(new FindHistoryCleanupJobCmd());
   }
 
+  public List<Job> findHistoryCleanupJobs() {
+    return commandExecutor.execute(new FindHistoryCleanupJobsCmd());
+  }
+
+  public long getHistoryCleanupBacklogCount() {
+    return commandExecutor.execute(new GetHistoryCleanupBacklogCountCmd());
+  }
+
   public Batch deleteHistoricProcessInstancesAsync(List<String> processInstanceIds, String deleteReason) {
     return this.deleteHistoricProcessInstancesAsync(processInstanceIds,null,deleteReason);
   }
@@ -14,24 +14,22 @@
 package org.camunda.bpm.engine.impl;
 
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.io.ByteArrayInputStream;
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
-import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
-import org.camunda.bpm.model.bpmn.instance.Documentation;
-import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
 
@@ -303,35 +301,44 @@ public class ProcessDefinitionQueryImpl extends AbstractQuery<ProcessDefinitionQ
       .getProcessDefinitionManager()
       .findProcessDefinitionsByQueryCriteria(this, page);
 
-    boolean shouldQueryAddBpmnModelInstancesToCache =
+    boolean shouldFetchDocumentation =
         commandContext.getProcessEngineConfiguration().getEnableFetchProcessDefinitionDescription();
-    if(shouldQueryAddBpmnModelInstancesToCache) {
-      addProcessDefinitionToCacheAndRetrieveDocumentation(list);
+    if(shouldFetchDocumentation) {
+      retrieveDocumentation(commandContext, list);
     }
 
     return list;
   }
 
-  protected void addProcessDefinitionToCacheAndRetrieveDocumentation(List<ProcessDefinition> list) {
-    for (ProcessDefinition processDefinition : list) {
-
-      BpmnModelInstance bpmnModelInstance = Context.getProcessEngineConfiguration()
-          .getDeploymentCache()
-          .findBpmnModelInstanceForProcessDefinition((ProcessDefinitionEntity) processDefinition);
+  protected void retrieveDocumentation(CommandContext commandContext, List<ProcessDefinition> list) {
+    DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
 
-      ModelElementInstance processElement = bpmnModelInstance.getModelElementById(processDefinition.getKey());
-      if (processElement != null) {
-        Collection<Documentation> documentations = processElement.getChildElementsByType(Documentation.class);
-        List<String> docStrings = new ArrayList<String>();
-        for (Documentation documentation : documentations) {
-          docStrings.add(documentation.getTextContent());
-        }
+    for (ProcessDefinition processDefinition : list) {
+      ProcessDefinitionEntity processDefinitionEntity = (ProcessDefinitionEntity) processDefinition;
 
-        ProcessDefinitionEntity processDefinitionEntity = (ProcessDefinitionEntity) processDefinition;
-        processDefinitionEntity.setProperty(BpmnParse.PROPERTYNAME_DOCUMENTATION, BpmnParse.parseDocumentation(docStrings));
+      Object documentation;
+      ProcessDefinitionEntity deployedProcessDefinition = deploymentCache.findProcessDefinitionFromCache(processDefinitionEntity.getId());
+      if (deployedProcessDefinition != null) {
+        documentation = deployedProcessDefinition.getProperty(BpmnParse.PROPERTYNAME_DOCUMENTATION);
+      }
+      else {
+        // only read the documentation from the resource instead of
+        // deploying the process definition or building its model instance
+        documentation = readDocumentation(commandContext, processDefinitionEntity);
       }
+      processDefinitionEntity.setProperty(BpmnParse.PROPERTYNAME_DOCUMENTATION, documentation);
+    }
+  }
+
+  protected String readDocumentation(CommandContext commandContext, ProcessDefinitionEntity processDefinition) {
+    ResourceEntity resource = commandContext
+      .getResourceManager()
+      .findResourceByDeploymentIdAndResourceName(processDefinition.getDeploymentId(), processDefinition.getResourceName());
 
+    if (resource == null) {
+      return null;
     }
+    return BpmnParser.parseProcessDocumentation(new ByteArrayInputStream(resource.getBytes()), processDefinition.getKey());
   }
 
   @Override
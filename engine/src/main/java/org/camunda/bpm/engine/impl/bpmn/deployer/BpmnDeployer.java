@@ -94,7 +94,9 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
         .deployment(deployment)
         .name(resource.getName());
 
-    if (!deployment.isValidatingSchema()) {
+    // resources of an existing deployment were validated when they were deployed,
+    // so re-parsing them into the cache does not need the (expensive) schema validation
+    if (!deployment.isValidatingSchema() || !deployment.isNew()) {
       bpmnParse.setSchemaResource(null);
     }
 
@@ -20,6 +20,8 @@ import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.core.model.PropertyKey;
 import org.camunda.bpm.engine.impl.core.model.PropertyListKey;
 import org.camunda.bpm.engine.impl.core.model.PropertyMapKey;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 
@@ -61,4 +63,9 @@ public class BpmnProperties {
 
   public static final PropertyKey<Boolean> HAS_CONDITIONAL_EVENTS = new PropertyKey<Boolean>(PROPERTYNAME_HAS_CONDITIONAL_EVENTS);
 
+  /**
+   * History level declared by a process or an activity, see {@link HistoryLevelPolicy}.
+   */
+  public static final PropertyKey<HistoryLevel> HISTORY_LEVEL = new PropertyKey<HistoryLevel>(HistoryLevelPolicy.HISTORY_LEVEL_PROPERTY);
+
 }
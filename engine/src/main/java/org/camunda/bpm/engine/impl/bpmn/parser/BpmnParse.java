@@ -38,6 +38,8 @@ import org.camunda.bpm.engine.impl.dmn.result.DecisionResultMapper;
 import org.camunda.bpm.engine.impl.el.*;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.form.handler.*;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.jobexecutor.*;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
@@ -540,6 +542,7 @@ public class BpmnParse extends Parse {
     );
     processDefinition.setHistoryTimeToLive(parseIntegerAttribute(processElement, "historyTimeToLive",
         processElement.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "historyTimeToLive"), false));
+    parseHistoryLevel(processElement, processDefinition);
 
     LOG.parsingElement("process", processDefinition.getKey());
 
@@ -1738,6 +1741,7 @@ public class BpmnParse extends Parse {
     activity.setProperty("line", activityElement.getLine());
     setActivityAsyncDelegates(activity);
     activity.setProperty(PROPERTYNAME_JOB_PRIORITY, parsePriority(activityElement, PROPERTYNAME_JOB_PRIORITY));
+    parseHistoryLevel(activityElement, activity);
 
     if (isCompensationHandler(activityElement)) {
       activity.setProperty(PROPERTYNAME_IS_FOR_COMPENSATION, true);
@@ -2235,6 +2239,49 @@ public class BpmnParse extends Parse {
     }
   }
 
+  /**
+   * Parses the history level of a process or an activity which is declared by the
+   * extension property <code>historyLevel</code>, see {@link HistoryLevelPolicy}.
+   */
+  protected void parseHistoryLevel(Element element, ScopeImpl scope) {
+    String historyLevelName = parseExtensionProperty(element, HistoryLevelPolicy.HISTORY_LEVEL_PROPERTY);
+
+    if (historyLevelName != null) {
+      HistoryLevel historyLevel = null;
+      for (HistoryLevel level : Context.getProcessEngineConfiguration().getHistoryLevels()) {
+        if (level.getName().equalsIgnoreCase(historyLevelName)) {
+          historyLevel = level;
+          break;
+        }
+      }
+
+      if (historyLevel == null) {
+        addError("Value '" + historyLevelName + "' for extension property '" + HistoryLevelPolicy.HISTORY_LEVEL_PROPERTY + "' is not a known history level", element);
+      } else {
+        scope.getProperties().set(BpmnProperties.HISTORY_LEVEL, historyLevel);
+      }
+    }
+  }
+
+  /**
+   * Returns the value of the camunda extension property with the given name or <code>null</code>
+   * if the element does not declare such a property.
+   */
+  protected String parseExtensionProperty(Element element, String propertyName) {
+    Element extensionElements = element.element("extensionElements");
+    if (extensionElements != null) {
+      Element propertiesElement = extensionElements.elementNS(CAMUNDA_BPMN_EXTENSIONS_NS, "properties");
+      if (propertiesElement != null) {
+        for (Element propertyElement : propertiesElement.elementsNS(CAMUNDA_BPMN_EXTENSIONS_NS, "property")) {
+          if (propertyName.equals(propertyElement.attribute("name"))) {
+            return propertyElement.attribute("value");
+          }
+        }
+      }
+    }
+    return null;
+  }
+
   @SuppressWarnings("unchecked")
   protected void addMessageJobDeclarationToActivity(MessageJobDeclaration messageJobDeclaration, ActivityImpl activity) {
     List<MessageJobDeclaration> messageJobDeclarations = (List<MessageJobDeclaration>) activity.getProperty(PROPERTYNAME_MESSAGE_JOB_DECLARATION);
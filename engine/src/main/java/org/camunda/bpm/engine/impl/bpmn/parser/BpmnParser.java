@@ -12,9 +12,11 @@
  */
 package org.camunda.bpm.engine.impl.bpmn.parser;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.BpmnParseFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.util.xml.Parser;
@@ -32,6 +34,8 @@ import org.camunda.bpm.engine.impl.util.xml.Parser;
  */
 public class BpmnParser extends Parser {
 
+  protected static final BpmnParseLogger LOG = ProcessEngineLogger.BPMN_PARSE_LOGGER;
+
   /**
    * The BPMN 2.0 namespace
    */
@@ -92,6 +96,21 @@ public class BpmnParser extends Parser {
     return bpmnParseFactory.createBpmnParse(this);
   }
 
+  /**
+   * Reads the documentation of the process with the given id from a BPMN 2.0 resource.
+   * In contrast to a {@link BpmnParse}, neither the process definition nor a model instance is built.
+   */
+  public static String parseProcessDocumentation(InputStream inputStream, String processId) {
+    ProcessDocumentationHandler handler = new ProcessDocumentationHandler(processId);
+    try {
+      nonValidatingSaxParserFactory.newSAXParser().parse(inputStream, handler);
+    }
+    catch (Exception e) {
+      throw LOG.parsingProcessException(e);
+    }
+    return BpmnParse.parseDocumentation(handler.getDocumentations());
+  }
+
   public ExpressionManager getExpressionManager() {
     return expressionManager;
   }
@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.bpmn.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler which only collects the texts of the documentation elements of one process.
+ * All other elements are skipped, so that no process definition or model instance is built.
+ *
+ * @see BpmnParser#parseProcessDocumentation(java.io.InputStream, String)
+ */
+public class ProcessDocumentationHandler extends DefaultHandler {
+
+  protected static final String PROCESS = "process";
+  protected static final String DOCUMENTATION = "documentation";
+
+  protected String processId;
+
+  protected List<String> documentations = new ArrayList<String>();
+
+  /** the depth of the current element below the process element, -1 outside of the process */
+  protected int processDepth = -1;
+
+  protected StringBuilder documentation;
+
+  public ProcessDocumentationHandler(String processId) {
+    this.processId = processId;
+  }
+
+  public void startElement(String uri, String localName, String qName, Attributes attributes) {
+    if (processDepth < 0) {
+      if (isBpmnElement(uri, localName, PROCESS) && processId.equals(attributes.getValue("id"))) {
+        processDepth = 0;
+      }
+    }
+    else {
+      processDepth++;
+      if (processDepth == 1 && isBpmnElement(uri, localName, DOCUMENTATION)) {
+        documentation = new StringBuilder();
+      }
+    }
+  }
+
+  public void characters(char[] ch, int start, int length) {
+    if (documentation != null) {
+      documentation.append(ch, start, length);
+    }
+  }
+
+  public void endElement(String uri, String localName, String qName) {
+    if (processDepth == 1 && documentation != null) {
+      documentations.add(documentation.toString());
+      documentation = null;
+    }
+    if (processDepth >= 0) {
+      processDepth--;
+    }
+  }
+
+  protected boolean isBpmnElement(String uri, String localName, String elementName) {
+    return BpmnParser.BPMN20_NS.equals(uri) && elementName.equals(localName);
+  }
+
+  public List<String> getDocumentations() {
+    return documentations;
+  }
+
+}
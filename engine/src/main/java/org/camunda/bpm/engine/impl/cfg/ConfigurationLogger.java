@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.cfg;
 
+import java.util.Map;
+
 import javax.naming.NamingException;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -70,4 +72,15 @@ public class ConfigurationLogger extends ProcessEngineLogger {
         "Invalid value '{}' for configuration property '{}'.", propertyValue, propertyName));
   }
 
+  public void debugInitPhaseDurations(String processEngineName, Map<String, Long> initPhaseDurations) {
+    logDebug(
+        "009", "Process engine '{}' built, duration of the init phases in ms: {}", processEngineName, initPhaseDurations);
+  }
+
+  public void sharedSqlSessionFactoryNotCompatible(String processEngineName, String databaseType, String sharedDatabaseType) {
+    logWarn(
+        "010", "Process engine '{}' uses database type '{}' and cannot use the shared SQL session factory built for database type '{}'. Building a separate one.",
+        processEngineName, databaseType, sharedDatabaseType);
+  }
+
 }
@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -108,6 +109,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cfg.multitenancy.TenantCommandChecker;
 import org.camunda.bpm.engine.impl.cfg.multitenancy.TenantIdProvider;
 import org.camunda.bpm.engine.impl.cfg.standalone.StandaloneTransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.cmmn.CaseServiceImpl;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionManager;
@@ -136,6 +138,7 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManag
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionManager;
 import org.camunda.bpm.engine.impl.el.CommandContextFunctionMapper;
 import org.camunda.bpm.engine.impl.el.DateTimeFunctionMapper;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.event.CompensationEventHandler;
 import org.camunda.bpm.engine.impl.event.ConditionalEventHandler;
@@ -245,8 +248,10 @@ import org.camunda.bpm.engine.impl.migration.validation.instruction.UpdateEventT
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheInvalidationTransport;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -300,6 +305,7 @@ import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.impl.variable.ValueTypeResolverImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.BooleanValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ByteArrayValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.DateValueSerializer;
@@ -349,6 +355,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public static SqlSessionFactory cachedSqlSessionFactory;
 
+  /** the database type the {@link #cachedSqlSessionFactory} was built for */
+  public static String cachedSqlSessionFactoryDatabaseType;
+
   // SERVICES /////////////////////////////////////////////////////////////////
 
   protected RepositoryService repositoryService = new RepositoryServiceImpl();
@@ -415,7 +424,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CacheFactory cacheFactory;
   protected int cacheCapacity = 1000;
+  protected boolean preloadDeploymentCache = false;
+  protected int deploymentCachePreloadThreads = Runtime.getRuntime().availableProcessors();
+  protected long deploymentCachePreloadTimeout = 300;
+  protected CacheInvalidationTransport cacheInvalidationTransport;
   protected boolean enableFetchProcessDefinitionDescription = true;
+  protected boolean softReferencedModelInstances = true;
+
+  // INIT PHASES //////////////////////////////////////////////////////////////
+
+  protected Map<String, Long> initPhaseDurations = new LinkedHashMap<String, Long>();
+  protected long initPhaseStartTime;
 
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
@@ -480,11 +499,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected VariableSerializers variableSerializers;
   protected VariableSerializerFactory fallbackSerializerFactory;
 
+  /**
+   * Names of additional types whose values are never checked for implicit updates,
+   * see {@link AbstractObjectValueSerializer#setImmutableObjectTypeNames(Collection)}.
+   */
+  protected Set<String> immutableObjectTypeNames;
+
   protected String defaultSerializationFormat = Variables.SerializationDataFormats.JAVA.getName();
   protected String defaultCharsetName = null;
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+
+  /**
+   * If true, expressions are compiled by an {@link ExpressionCompiler} instead of being interpreted.
+   */
+  protected boolean enableExpressionCompilation = false;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
   protected ScriptingEnvironment scriptingEnvironment;
@@ -495,6 +525,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableScriptEngineCaching = true;
   protected boolean enableFetchScriptEngineFromProcessApplication = true;
 
+  /**
+   * The maximum number of idle script engines kept per script language for script engines
+   * which are not cached because they do not declare to be thread safe. 0 disables pooling.
+   *
+   * <p>If pooling is enabled, the script engines of a process application are borrowed from the
+   * {@link org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver} of the process
+   * application. Overrides of
+   * {@link org.camunda.bpm.application.AbstractProcessApplication#getScriptEngineForName(String, boolean)}
+   * are bypassed then.</p>
+   */
+  protected int scriptEnginePoolSize = 0;
+
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
 
@@ -608,6 +650,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isInvokeCustomVariableListeners = true;
 
+  /**
+   * If true, an execution fetches the variables it reads one by one instead of fetching all
+   * of its variables on first access. Default setting is false.
+   */
+  protected boolean isSingleVariableFetchingEnabled = false;
+
+  /**
+   * If true, byte arrays such as serialized variable values and exception stacktraces
+   * are stored compressed if they are at least {@link #byteArrayCompressionThreshold} bytes long.
+   * Compressed and uncompressed byte arrays can be read regardless of this setting.
+   */
+  protected boolean isByteArrayCompressionEnabled = false;
+  protected int byteArrayCompressionThreshold = 1024;
+
   /**
    * The process engine created by this configuration.
    */
@@ -692,6 +748,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   private int historyCleanupBatchThreshold = 10;
 
+  /**
+   * The number of history cleanup jobs which clean up the history in parallel, each one
+   * a disjoint range of cleanup partitions.
+   */
+  private int historyCleanupDegreeOfParallelism = 1;
+
   private int failedJobListenerMaxRetries = DEFAULT_FAILED_JOB_LISTENER_MAX_RETRIES;
 
   // buildProcessEngine ///////////////////////////////////////////////////////
@@ -700,28 +762,38 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   public ProcessEngine buildProcessEngine() {
     init();
     processEngine = new ProcessEngineImpl(this);
+    endInitPhase("processEngine");
     invokePostProcessEngineBuild(processEngine);
+    endInitPhase("postProcessEngineBuild");
+    LOG.debugInitPhaseDurations(processEngineName, initPhaseDurations);
     return processEngine;
   }
 
   // init /////////////////////////////////////////////////////////////////////
 
   protected void init() {
+    startInitPhases();
     invokePreInit();
+    endInitPhase("preInit");
     initDefaultCharset();
     initHistoryLevel();
     initHistoryEventProducer();
     initCmmnHistoryEventProducer();
     initDmnHistoryEventProducer();
     initHistoryEventHandler();
+    endInitPhase("history");
     initExpressionManager();
     initBeans();
     initArtifactFactory();
+    endInitPhase("expressions");
     initFormEngines();
     initFormTypes();
     initFormFieldValidators();
+    endInitPhase("forms");
     initScripting();
+    endInitPhase("scripting");
     initDmnEngine();
+    endInitPhase("dmnEngine");
     initBusinessCalendarManager();
     initCommandContextFactory();
     initTransactionContextFactory();
@@ -733,14 +805,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initExternalTaskPriorityProvider();
     initBatchHandlers();
     initJobExecutor();
+    endInitPhase("services");
     initDataSource();
+    endInitPhase("dataSource");
     initTransactionFactory();
     initSqlSessionFactory();
     initIdentityProviderSessionFactory();
     initSessionFactories();
+    endInitPhase("persistence");
     initValueTypeResolver();
     initSerialization();
+    endInitPhase("serialization");
     initJpa();
+    endInitPhase("jpa");
     initDelegateInterceptor();
     initEventHandlers();
     initFailedJobCommandFactory();
@@ -755,7 +832,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandCheckers();
     initDefaultUserPermissionForTask();
     initHistoryCleanupBatchWindow();
+    initHistoryCleanupDegreeOfParallelism();
+    endInitPhase("handlers");
     invokePostInit();
+    endInitPhase("postInit");
+  }
+
+  // init phases //////////////////////////////////////////////////////////////
+
+  protected void startInitPhases() {
+    initPhaseDurations.clear();
+    initPhaseStartTime = System.nanoTime();
+  }
+
+  /**
+   * Records the time elapsed since the previous phase ended as the duration of the given phase.
+   */
+  protected void endInitPhase(String phase) {
+    long now = System.nanoTime();
+    initPhaseDurations.put(phase, (now - initPhaseStartTime) / 1000000L);
+    initPhaseStartTime = now;
   }
 
   private void initHistoryCleanupBatchWindow() {
@@ -768,6 +864,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  private void initHistoryCleanupDegreeOfParallelism() {
+    if (historyCleanupDegreeOfParallelism < 1 || historyCleanupDegreeOfParallelism > HistoryCleanupCmd.MAX_THREADS_NUMBER) {
+      throw LOG.invalidPropertyValue("historyCleanupDegreeOfParallelism", String.valueOf(historyCleanupDegreeOfParallelism));
+    }
+  }
+
   private void initHistoryCleanupBatchWindowEndTime() {
     try {
       historyCleanupBatchWindowEndTimeAsDate = HistoryCleanupHelper.parseTimeConfiguration(historyCleanupBatchWindowEndTime);
@@ -1129,7 +1231,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     // to protect access to cachedSqlSessionFactory see CAM-6682
     synchronized (ProcessEngineConfigurationImpl.class) {
 
-      if (isUseSharedSqlSessionFactory) {
+      boolean useCachedSqlSessionFactory = isUseSharedSqlSessionFactory && isCachedSqlSessionFactoryCompatible();
+
+      if (useCachedSqlSessionFactory) {
         sqlSessionFactory = cachedSqlSessionFactory;
       }
 
@@ -1145,6 +1249,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           Properties properties = new Properties();
 
           if (isUseSharedSqlSessionFactory) {
+            // the prefix is resolved when a statement is executed, so engines with different prefixes can share the statements
             properties.put("prefix", "${@org.camunda.bpm.engine.impl.context.Context@getProcessEngineConfiguration().databaseTablePrefix}");
           } else {
             properties.put("prefix", databaseTablePrefix);
@@ -1161,8 +1266,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
           sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
 
-          if (isUseSharedSqlSessionFactory) {
+          if (isUseSharedSqlSessionFactory && cachedSqlSessionFactory == null) {
             cachedSqlSessionFactory = sqlSessionFactory;
+            cachedSqlSessionFactoryDatabaseType = databaseType;
           }
 
 
@@ -1175,6 +1281,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  /**
+   * The statements of the cached session factory contain the dialect specific fragments of the
+   * database type it was built for. Thus, it can only be shared by engines with the same database type.
+   */
+  protected boolean isCachedSqlSessionFactoryCompatible() {
+    if (cachedSqlSessionFactory == null) {
+      return false;
+    }
+
+    if (cachedSqlSessionFactoryDatabaseType != null && !cachedSqlSessionFactoryDatabaseType.equals(databaseType)) {
+      LOG.sharedSqlSessionFactoryNotCompatible(processEngineName, databaseType, cachedSqlSessionFactoryDatabaseType);
+      return false;
+    }
+
+    return true;
+  }
+
   public static void initSqlSessionFactoryProperties(Properties properties, String databaseTablePrefix, String databaseType) {
 
     if (databaseType != null) {
@@ -1425,8 +1548,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
       initCacheFactory();
-      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
+      deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity, softReferencedModelInstances);
       deploymentCache.setDeployers(deployers);
+
+      if (cacheInvalidationTransport != null) {
+        deploymentCache.setInvalidationTransport(cacheInvalidationTransport);
+        cacheInvalidationTransport.register(deploymentCache);
+      }
     }
   }
 
@@ -1766,6 +1894,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createMeter(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES);
+
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_HIT);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_MISS);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_EVICTION);
   }
 
   protected void initSerialization() {
@@ -1798,6 +1932,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
     }
+
+    if (immutableObjectTypeNames != null) {
+      for (TypedValueSerializer<?> serializer : variableSerializers.getSerializers()) {
+        if (serializer instanceof AbstractObjectValueSerializer) {
+          ((AbstractObjectValueSerializer) serializer).addImmutableObjectTypeNames(immutableObjectTypeNames);
+        }
+      }
+    }
   }
 
   protected void initFormEngines() {
@@ -1861,6 +2003,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories));
       scriptingEngines.setEnableScriptEngineCaching(enableScriptEngineCaching);
+      scriptingEngines.setScriptEnginePoolSize(scriptEnginePoolSize);
     }
     if (scriptFactory == null) {
       scriptFactory = new ScriptFactory();
@@ -1899,6 +2042,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new ExpressionManager(beans);
     }
 
+    if (enableExpressionCompilation && expressionManager.getExpressionCompiler() == null) {
+      expressionManager.setExpressionCompiler(new ExpressionCompiler());
+    }
+
     // add function mapper for command context (eg currentUser(), currentUserGroups())
     expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
     // add function mapper for date time (eg now(), dateTime())
@@ -2061,6 +2208,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (cacheFactory == null) {
       cacheFactory = new DefaultCacheFactory();
     }
+
+    if (cacheFactory instanceof WeightedCacheFactory && isMetricsEnabled) {
+      WeightedCacheFactory weightedCacheFactory = (WeightedCacheFactory) cacheFactory;
+      if (weightedCacheFactory.getMetricsRegistry() == null) {
+        // the caches are created before the metrics are initialized
+        if (metricsRegistry == null) {
+          metricsRegistry = new MetricsRegistry();
+        }
+        weightedCacheFactory.setMetricsRegistry(metricsRegistry);
+      }
+    }
   }
 
   // resource authorization provider //////////////////////////////////////////
@@ -2458,6 +2616,82 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheCapacity = cacheCapacity;
   }
 
+  public boolean isPreloadDeploymentCache() {
+    return preloadDeploymentCache;
+  }
+
+  /**
+   * If set to true, the latest version of every definition is loaded into the deployment cache
+   * when the process engine is started. Default is false.
+   */
+  public ProcessEngineConfigurationImpl setPreloadDeploymentCache(boolean preloadDeploymentCache) {
+    this.preloadDeploymentCache = preloadDeploymentCache;
+    return this;
+  }
+
+  public boolean isSoftReferencedModelInstances() {
+    return softReferencedModelInstances;
+  }
+
+  /**
+   * If set to true, the BPMN, CMMN and DMN model instances in the deployment cache are held through
+   * soft references, so that the garbage collector can reclaim them when the heap runs short. They are
+   * read again from the deployment resource on their next use. Set to false to keep them until they are
+   * evicted from the cache, e.g. if a custom cache factory already bounds the memory. Default is true.
+   */
+  public ProcessEngineConfigurationImpl setSoftReferencedModelInstances(boolean softReferencedModelInstances) {
+    this.softReferencedModelInstances = softReferencedModelInstances;
+    return this;
+  }
+
+  public CacheInvalidationTransport getCacheInvalidationTransport() {
+    return cacheInvalidationTransport;
+  }
+
+  /**
+   * Sets the transport which distributes the removal of definitions to the deployment caches
+   * of other process engines. By default, the removal only affects the own deployment cache.
+   */
+  public ProcessEngineConfigurationImpl setCacheInvalidationTransport(CacheInvalidationTransport cacheInvalidationTransport) {
+    this.cacheInvalidationTransport = cacheInvalidationTransport;
+    return this;
+  }
+
+  public int getDeploymentCachePreloadThreads() {
+    return deploymentCachePreloadThreads;
+  }
+
+  /**
+   * Sets the number of threads which load the definitions in parallel if the deployment
+   * cache is preloaded. Defaults to the number of available processors.
+   */
+  public ProcessEngineConfigurationImpl setDeploymentCachePreloadThreads(int deploymentCachePreloadThreads) {
+    this.deploymentCachePreloadThreads = deploymentCachePreloadThreads;
+    return this;
+  }
+
+  public long getDeploymentCachePreloadTimeout() {
+    return deploymentCachePreloadTimeout;
+  }
+
+  /**
+   * Sets the number of seconds the process engine start waits for the deployment cache to be
+   * preloaded. Definitions which are not loaded in time are loaded on their first usage.
+   * Defaults to 300 seconds.
+   */
+  public ProcessEngineConfigurationImpl setDeploymentCachePreloadTimeout(long deploymentCachePreloadTimeout) {
+    this.deploymentCachePreloadTimeout = deploymentCachePreloadTimeout;
+    return this;
+  }
+
+  /**
+   * @return the duration in milliseconds of each phase of the last process engine build,
+   * in the order in which the phases were executed
+   */
+  public Map<String, Long> getInitPhaseDurations() {
+    return Collections.unmodifiableMap(initPhaseDurations);
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -2573,6 +2807,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public Set<String> getImmutableObjectTypeNames() {
+    return immutableObjectTypeNames;
+  }
+
+  public ProcessEngineConfigurationImpl setImmutableObjectTypeNames(Set<String> immutableObjectTypeNames) {
+    this.immutableObjectTypeNames = immutableObjectTypeNames;
+    return this;
+  }
+
   public List<BpmnParseListener> getCustomPreBPMNParseListeners() {
     return preParseListeners;
   }
@@ -3344,7 +3587,38 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isSingleVariableFetchingEnabled() {
+    return isSingleVariableFetchingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSingleVariableFetchingEnabled(boolean isSingleVariableFetchingEnabled) {
+    this.isSingleVariableFetchingEnabled = isSingleVariableFetchingEnabled;
+    return this;
+  }
+
+  public boolean isByteArrayCompressionEnabled() {
+    return isByteArrayCompressionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionEnabled(boolean isByteArrayCompressionEnabled) {
+    this.isByteArrayCompressionEnabled = isByteArrayCompressionEnabled;
+    return this;
+  }
+
+  public int getByteArrayCompressionThreshold() {
+    return byteArrayCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionThreshold(int byteArrayCompressionThreshold) {
+    this.byteArrayCompressionThreshold = byteArrayCompressionThreshold;
+    return this;
+  }
+
   public void close() {
+    if (cacheInvalidationTransport != null && deploymentCache != null) {
+      cacheInvalidationTransport.unregister(deploymentCache);
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -3397,6 +3671,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.metricsReporterIdProvider = metricsReporterIdProvider;
   }
 
+  public boolean isEnableExpressionCompilation() {
+    return enableExpressionCompilation;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableExpressionCompilation(boolean enableExpressionCompilation) {
+    this.enableExpressionCompilation = enableExpressionCompilation;
+    return this;
+  }
+
   public boolean isEnableScriptEngineCaching() {
     return enableScriptEngineCaching;
   }
@@ -3406,6 +3689,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    return this;
+  }
+
   public boolean isEnableFetchScriptEngineFromProcessApplication() {
     return enableFetchScriptEngineFromProcessApplication;
   }
@@ -3610,6 +3902,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.commandCheckers = commandCheckers;
   }
 
+  /**
+   * If set to true, the MyBatis session factory is built once and shared by all process engines in the JVM
+   * which enable this option and use the same database type. The table prefix is resolved when a statement is
+   * executed, so the engines can use different values for {@link #setDatabaseTablePrefix(String)}. The session
+   * factory opens connections from the data source of the engine which built it, so the engines have to
+   * access the same database.
+   */
   public ProcessEngineConfigurationImpl setUseSharedSqlSessionFactory(boolean isUseSharedSqlSessionFactory) {
     this.isUseSharedSqlSessionFactory = isUseSharedSqlSessionFactory;
     return this;
@@ -3683,6 +3982,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupBatchThreshold = historyCleanupBatchThreshold;
   }
 
+  public int getHistoryCleanupDegreeOfParallelism() {
+    return historyCleanupDegreeOfParallelism;
+  }
+
+  public void setHistoryCleanupDegreeOfParallelism(int historyCleanupDegreeOfParallelism) {
+    this.historyCleanupDegreeOfParallelism = historyCleanupDegreeOfParallelism;
+  }
+
   public int getFailedJobListenerMaxRetries() {
     return failedJobListenerMaxRetries;
   }
@@ -18,6 +18,7 @@ import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
@@ -118,7 +119,8 @@ public abstract class AbstractSetProcessInstanceStateCmd extends AbstractSetStat
     if (getNewSuspensionState() != null && updatedProcessInstances != null) {
       for (final ProcessInstance processInstance: updatedProcessInstances) {
 
-        if (historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_UPDATE, processInstance)) {
+        if (HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.PROCESS_INSTANCE_UPDATE, processInstance,
+            processInstance.getProcessDefinitionId(), null)) {
           HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
             @Override
             public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+
+/**
+ * Calculates the removal time of a batch of historic process instances which were finished
+ * without one and stamps it on the process instances and the history of their children.
+ * Returns the number of updated historic process instances.
+ */
+public class CalculateHistoricProcessInstanceRemovalTimesCmd implements Command<Integer>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected int batchSize;
+
+  public CalculateHistoricProcessInstanceRemovalTimesCmd(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    ensureGreaterThanOrEqual("batchSize", batchSize, 1);
+
+    commandContext.getAuthorizationManager().checkAuthorization(Permissions.DELETE_HISTORY, Resources.PROCESS_DEFINITION);
+
+    HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+    List<HistoricProcessInstanceEntity> historicProcessInstances = historicProcessInstanceManager
+        .findFinishedHistoricProcessInstancesWithoutRemovalTime(batchSize);
+
+    int count = 0;
+    for (HistoricProcessInstanceEntity historicProcessInstance : historicProcessInstances) {
+      ProcessDefinitionEntity processDefinition = commandContext.getProcessDefinitionManager()
+          .findLatestDefinitionById(historicProcessInstance.getProcessDefinitionId());
+
+      if (processDefinition != null) {
+        Date removalTime = HistoryCleanupHelper.calculateRemovalTime(historicProcessInstance.getEndTime(),
+            processDefinition.getHistoryTimeToLive());
+
+        if (removalTime != null) {
+          historicProcessInstanceManager.updateRemovalTimeByProcessInstanceId(historicProcessInstance.getId(), removalTime);
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+}
@@ -251,4 +251,20 @@ public class CommandLogger extends ProcessEngineLogger {
     logWarn("038", "History cleanup won't be scheduled. Either configure batch window or call it with immediatelyDue = true.");
   }
 
+  public void warnDeploymentCachePreloadFailed(Throwable cause) {
+    logWarn("039", "Exception while preloading a definition into the deployment cache: {}", cause.getMessage(), cause);
+  }
+
+  public void debugDeploymentCachePreloaded(int definitionCount, long duration) {
+    logDebug("040", "Preloaded {} definitions into the deployment cache in {} ms", definitionCount, duration);
+  }
+
+  public void warnDeploymentCachePreloadTimedOut(long timeout) {
+    logWarn("041", "Preloading the deployment cache did not finish within {} seconds, the remaining definitions are loaded on their first usage", timeout);
+  }
+
+  public void warnDeploymentCachePreloadInterrupted() {
+    logWarn("042", "Preloading the deployment cache was interrupted, the remaining definitions are loaded on their first usage");
+  }
+
 }
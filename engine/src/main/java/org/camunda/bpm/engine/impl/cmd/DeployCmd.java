@@ -435,12 +435,27 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
         source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
       }
 
-      Map<String, ResourceEntity> existingResources = commandContext
-          .getResourceManager()
-          .findLatestResourcesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
+      ResourceManager resourceManager = commandContext.getResourceManager();
+
+      // unchanged resources are detected by their content hash, so that their content is not read from the database
+      Set<String> unchangedResourceNames = resourceManager
+          .findLatestResourceNamesWithSameHashByDeploymentName(deployment.getName(), containedResources.values(), source, deployment.getTenantId());
+
+      Set<String> resourceNamesToCompare = new HashSet<String>(containedResources.keySet());
+      resourceNamesToCompare.removeAll(unchangedResourceNames);
+
+      Map<String, ResourceEntity> existingResources = Collections.emptyMap();
+      if (!resourceNamesToCompare.isEmpty()) {
+        existingResources = resourceManager
+            .findLatestResourcesByDeploymentName(deployment.getName(), resourceNamesToCompare, source, deployment.getTenantId());
+      }
 
       for (ResourceEntity deployedResource : containedResources.values()) {
         String resourceName = deployedResource.getName();
+        if (unchangedResourceNames.contains(resourceName)) {
+          continue;
+        }
+
         ResourceEntity existingResource = existingResources.get(resourceName);
 
         if (existingResource == null
@@ -14,9 +14,11 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import java.io.Serializable;
+import java.util.List;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.runtime.Job;
 
 /**
@@ -26,7 +28,8 @@ public class FindHistoryCleanupJobCmd implements Command<Job>, Serializable {
 
   @Override
   public Job execute(CommandContext commandContext) {
-    return commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
+    List<JobEntity> historyCleanupJobs = commandContext.getJobManager().findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
+    return historyCleanupJobs.isEmpty() ? null : historyCleanupJobs.get(0);
   }
 
 }
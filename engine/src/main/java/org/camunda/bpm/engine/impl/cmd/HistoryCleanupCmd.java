@@ -14,11 +14,15 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
-import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
@@ -38,12 +42,20 @@ public class HistoryCleanupCmd implements Command<Job>, Serializable {
 
   public static final JobDeclaration HISTORY_CLEANUP_JOB_DECLARATION = new HistoryCleanupJobDeclaration();
 
+  /**
+   * Maximal degree of parallelism of the history cleanup, see {@link ProcessEngineConfigurationImpl#getHistoryCleanupDegreeOfParallelism()}.
+   */
+  public static final int MAX_THREADS_NUMBER = 8;
+
   private boolean immediatelyDue;
 
   public HistoryCleanupCmd(boolean immediatelyDue) {
     this.immediatelyDue = immediatelyDue;
   }
 
+  /**
+   * @return the first of the history cleanup jobs
+   */
   @Override
   public Job execute(CommandContext commandContext) {
     commandContext.getAuthorizationManager().checkAuthorization(Permissions.DELETE_HISTORY, Resources.PROCESS_DEFINITION);
@@ -53,35 +65,64 @@ public class HistoryCleanupCmd implements Command<Job>, Serializable {
       LOG.warnHistoryCleanupWrongConfiguration();
     }
 
-    JobEntity historyCleanupJob = null;
-    boolean justCreated = false;
+    List<JobEntity> historyCleanupJobs = Collections.emptyList();
     if (commandContext.getProcessEngineConfiguration().isEnableAutoHistoryCleanup()
         || immediatelyDue) {
-      //find job instance
-      historyCleanupJob = commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
-      if (historyCleanupJob == null && willBeScheduled(commandContext)) {
+      //find job instances
+      historyCleanupJobs = commandContext.getJobManager().findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
+      boolean justCreated = false;
+      if (historyCleanupJobs.isEmpty() && willBeScheduled(commandContext)) {
         //exclusive lock
         commandContext.getPropertyManager().acquireExclusiveLockForHistoryCleanupJob();
 
         //check again after lock
-        historyCleanupJob = commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
+        historyCleanupJobs = commandContext.getJobManager().findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
 
-        if (historyCleanupJob == null) {
-          historyCleanupJob = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(new HistoryCleanupContext(immediatelyDue));
-          Context.getCommandContext().getJobManager().insertAndHintJobExecutor(historyCleanupJob);
+        if (historyCleanupJobs.isEmpty()) {
+          historyCleanupJobs = scheduleJobs(commandContext, historyCleanupJobs);
           justCreated = true;
         }
       }
-      if (!justCreated && historyCleanupJob != null) {
+      if (!justCreated && !historyCleanupJobs.isEmpty()) {
         //apply new configuration
-        HistoryCleanupContext historyCleanupContext = new HistoryCleanupContext(immediatelyDue);
+        historyCleanupJobs = scheduleJobs(commandContext, historyCleanupJobs);
+      }
+    }
+
+    return historyCleanupJobs.isEmpty() ? null : historyCleanupJobs.get(0);
+  }
+
+  /**
+   * Reconfigures the existing history cleanup jobs and creates or deletes jobs so that there is one job
+   * per range of cleanup partitions according to the configured degree of parallelism.
+   */
+  protected List<JobEntity> scheduleJobs(CommandContext commandContext, List<JobEntity> existingJobs) {
+    int degreeOfParallelism = commandContext.getProcessEngineConfiguration().getHistoryCleanupDegreeOfParallelism();
+    int[][] partitionChunks = HistoryCleanupHelper.listCleanupPartitionChunks(degreeOfParallelism);
+
+    List<JobEntity> historyCleanupJobs = new ArrayList<JobEntity>();
+    for (int i = 0; i < partitionChunks.length; i++) {
+      HistoryCleanupContext historyCleanupContext = new HistoryCleanupContext(immediatelyDue, partitionChunks[i][0], partitionChunks[i][1]);
+
+      JobEntity historyCleanupJob;
+      if (i < existingJobs.size()) {
+        historyCleanupJob = existingJobs.get(i);
         HISTORY_CLEANUP_JOB_DECLARATION.reconfigure(historyCleanupContext, historyCleanupJob);
         Date newDueDate = HISTORY_CLEANUP_JOB_DECLARATION.resolveDueDate(historyCleanupContext);
         commandContext.getJobManager().reschedule(historyCleanupJob, newDueDate);
+      } else {
+        historyCleanupJob = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(historyCleanupContext);
+        commandContext.getJobManager().insertAndHintJobExecutor(historyCleanupJob);
       }
+      historyCleanupJobs.add(historyCleanupJob);
+    }
+
+    //the degree of parallelism was decreased
+    for (int i = partitionChunks.length; i < existingJobs.size(); i++) {
+      existingJobs.get(i).delete();
     }
 
-    return historyCleanupJob;
+    return historyCleanupJobs;
   }
 
   private boolean willBeScheduled(CommandContext commandContext) {
@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -122,7 +123,8 @@ public class SetProcessDefinitionVersionCmd implements Command<Void>, Serializab
     validateAndSwitchVersionOfExecution(commandContext, processInstance, newProcessDefinition);
 
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    if(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_UPDATE, processInstance)) {
+    if(HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.PROCESS_INSTANCE_UPDATE, processInstance,
+        newProcessDefinition)) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -48,6 +48,9 @@ public class UpdateProcessDefinitionHistoryTimeToLiveCmd implements Command<Void
     processDefinitionEntity.setHistoryTimeToLive(historyTimeToLive);
     commandContext.getProcessDefinitionManager().updateProcessDefinition(processDefinitionEntity);
 
+    // finished process instances are cleaned up according to the new history time to live
+    commandContext.getHistoricProcessInstanceManager().updateRemovalTimeByProcessDefinitionId(processDefinitionId, historyTimeToLive);
+
     return null;
   }
 
@@ -12,13 +12,14 @@
  */
 package org.camunda.bpm.engine.impl.core.model;
 
-import java.util.Map;
-
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.core.variable.mapping.value.ConstantValueProvider;
 import org.camunda.bpm.engine.impl.core.variable.mapping.value.ParameterValueProvider;
 import org.camunda.bpm.engine.impl.core.variable.scope.VariableScopeLocalAdapter;
 import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.SerializableValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 
 /**
  * @author Roman Smirnov
@@ -38,7 +39,7 @@ public class CallableElementParameter {
     if (sourceValueProvider instanceof ConstantValueProvider) {
       String variableName = (String) sourceValueProvider.getValue(variableScope);
 
-      return variableScope.getVariableTyped(variableName);
+      return getVariableToCopy(variableScope, variableName);
     }
     else {
       return sourceValueProvider.getValue(variableScope);
@@ -52,8 +53,14 @@ public class CallableElementParameter {
     }
 
     if (allVariables) {
-      Map<String, Object> allVariables = variableScope.getVariables();
-      variables.putAll(allVariables);
+      VariableMap allVariables = variableScope.getVariablesTyped(false);
+      for (String variableName : allVariables.keySet()) {
+        TypedValue value = allVariables.getValueTyped(variableName);
+        if (requiresDeserialization(value)) {
+          value = variableScope.getVariableTyped(variableName);
+        }
+        variables.put(variableName, value);
+      }
 
     } else {
       Object value = getSource(variableScope);
@@ -61,6 +68,28 @@ public class CallableElementParameter {
     }
   }
 
+  /**
+   * Object values are copied in their serialized form, so that they are not deserialized
+   * and serialized again only to be passed to another scope.
+   */
+  protected TypedValue getVariableToCopy(VariableScope variableScope, String variableName) {
+    TypedValue value = variableScope.getVariableTyped(variableName, false);
+    if (requiresDeserialization(value)) {
+      value = variableScope.getVariableTyped(variableName);
+    }
+    return value;
+  }
+
+  /**
+   * Serialized values of other types than object (e.g. values of custom serializers)
+   * are deserialized before they are copied, as before.
+   */
+  protected boolean requiresDeserialization(TypedValue value) {
+    return value instanceof SerializableValue
+        && !ValueType.OBJECT.equals(value.getType())
+        && !((SerializableValue) value).isDeserialized();
+  }
+
   public ParameterValueProvider getSourceValueProvider() {
     return sourceValueProvider;
   }
@@ -121,7 +121,7 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
     return getValueFromVariableInstance(deserializeObjectValue, getVariableInstanceLocal(variableName));
   }
 
-  protected Object getValueFromVariableInstance(boolean deserializeObjectValue, CoreVariableInstance variableInstance) {
+  public Object getValueFromVariableInstance(boolean deserializeObjectValue, CoreVariableInstance variableInstance) {
     if(variableInstance != null) {
       TypedValue typedValue = variableInstance.getTypedValue(deserializeObjectValue);
       if (typedValue != null) {
@@ -31,9 +31,18 @@ import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
  */
 public class VariableStore<T extends CoreVariableInstance> {
 
+  /**
+   * The number of variables which are fetched one by one before all variables
+   * of the scope are fetched at once.
+   */
+  public static final int SINGLE_VARIABLE_FETCH_LIMIT = 5;
+
   protected VariablesProvider<T> variablesProvider;
   protected Map<String, T> variables;
 
+  /** variables fetched by name as long as the store is not initialized, null values mark missing variables */
+  protected Map<String, T> singleVariables;
+
   protected List<VariableStoreObserver<T>> observers;
 
   public VariableStore() {
@@ -67,10 +76,38 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public T getVariable(String name) {
+    if (isSingleVariableFetching()) {
+      return getSingleVariable(name);
+    }
 
     return getVariablesMap().get(name);
   }
 
+  protected boolean isSingleVariableFetching() {
+    return !isInitialized()
+        && variablesProvider instanceof SingleVariableProvider
+        && ((SingleVariableProvider<T>) variablesProvider).isSingleVariableFetchingEnabled();
+  }
+
+  protected T getSingleVariable(String name) {
+    if (singleVariables == null) {
+      singleVariables = new HashMap<String, T>();
+    }
+
+    if (singleVariables.containsKey(name)) {
+      return singleVariables.get(name);
+    }
+    else if (singleVariables.size() >= SINGLE_VARIABLE_FETCH_LIMIT) {
+      // the scope is accessed for many variables, fetch all of them at once
+      return getVariablesMap().get(name);
+    }
+    else {
+      T variable = ((SingleVariableProvider<T>) variablesProvider).provideVariable(name);
+      singleVariables.put(name, variable);
+      return variable;
+    }
+  }
+
   public List<T> getVariables() {
     return new ArrayList<T>(getVariablesMap().values());
   }
@@ -106,6 +143,10 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public boolean containsKey(String key) {
+    if (isSingleVariableFetching()) {
+      return getSingleVariable(key) != null;
+    }
+
     return getVariablesMap().containsKey(key);
   }
 
@@ -124,6 +165,8 @@ public class VariableStore<T extends CoreVariableInstance> {
       for (T variable : variablesProvider.provideVariables()) {
         variables.put(variable.getName(), variable);
       }
+
+      singleVariables = null;
     }
   }
 
@@ -177,4 +220,19 @@ public class VariableStore<T extends CoreVariableInstance> {
 
   }
 
+  /**
+   * A provider which can fetch single variables by name, so that a scope which reads
+   * only a few of its variables does not have to fetch all of them.
+   */
+  public static interface SingleVariableProvider<T extends CoreVariableInstance> extends VariablesProvider<T> {
+
+    boolean isSingleVariableFetchingEnabled();
+
+    /**
+     * @return the variable with the given name or <code>null</code> if the scope has no such variable
+     */
+    T provideVariable(String variableName);
+
+  }
+
 }
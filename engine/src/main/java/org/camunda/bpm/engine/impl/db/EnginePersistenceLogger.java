@@ -623,4 +623,12 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         "078", "No history cleanup lock property found in databse");
   }
 
+  public void evictRemovedDefinitionsFailure(Throwable cause) {
+    logWarn(
+        "079",
+        "Could not evict the removed definitions from the deployment cache. Reason: '{}'",
+        cause.getMessage(),
+        cause);
+  }
+
 }
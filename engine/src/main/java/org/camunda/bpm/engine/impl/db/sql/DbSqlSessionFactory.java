@@ -136,6 +136,7 @@ public class DbSqlSessionFactory implements SessionFactory {
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectDeploymentsByQueryCriteria", "selectDeploymentsByQueryCriteria_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectDeploymentCountByQueryCriteria", "selectDeploymentCountByQueryCriteria_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectHistoricProcessInstanceIdsForCleanup", "selectHistoricProcessInstanceIdsForCleanup_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId", "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectHistoricProcessInstanceIdsForCleanupCount", "selectHistoricProcessInstanceIdsForCleanupCount_mysql");
 
       constants = new HashMap<String, String>();
@@ -193,6 +194,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(POSTGRES, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectFilter", "selectFilter_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectHistoricProcessInstanceIdsForCleanup", "selectHistoricProcessInstanceIdsForCleanup_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId", "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectHistoricProcessInstanceIdsForCleanupCount", "selectHistoricProcessInstanceIdsForCleanupCount_postgres");
 
     constants = new HashMap<String, String>();
@@ -231,6 +233,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceCountByTaskNameReport", "selectHistoricTaskInstanceCountByTaskNameReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceIdsForCleanup", "selectHistoricProcessInstanceIdsForCleanup_oracle");
+    addDatabaseSpecificStatement(ORACLE, "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId", "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceIdsForCleanupCount", "selectHistoricProcessInstanceIdsForCleanupCount_oracle");
 
     constants = new HashMap<String, String>();
@@ -276,7 +279,10 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(DB2, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
     addDatabaseSpecificStatement(DB2, "selectHistoricProcessInstanceIdsForCleanup", "selectHistoricProcessInstanceIdsForCleanup_db2");
+    addDatabaseSpecificStatement(DB2, "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId", "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId_db2");
     addDatabaseSpecificStatement(DB2, "selectHistoricProcessInstanceIdsForCleanupCount", "selectHistoricProcessInstanceIdsForCleanupCount_db2");
+    addDatabaseSpecificStatement(DB2, "selectHistoricProcessInstanceRemovalTimesForCleanup", "selectHistoricProcessInstanceRemovalTimesForCleanup_db2");
+    addDatabaseSpecificStatement(DB2, "selectHistoricProcessInstanceIdsForCleanupByRemovalTime", "selectHistoricProcessInstanceIdsForCleanupByRemovalTime_db2");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -323,7 +329,10 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByExecutionAndType", "selectEventSubscriptionsByExecutionAndType_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricProcessInstanceIdsForCleanup", "selectHistoricProcessInstanceIdsForCleanup_mssql");
+    addDatabaseSpecificStatement(MSSQL, "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId", "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricProcessInstanceIdsForCleanupCount", "selectHistoricProcessInstanceIdsForCleanupCount_mssql");
+    addDatabaseSpecificStatement(MSSQL, "selectHistoricProcessInstanceRemovalTimesForCleanup", "selectHistoricProcessInstanceRemovalTimesForCleanup_mssql");
+    addDatabaseSpecificStatement(MSSQL, "selectHistoricProcessInstanceIdsForCleanupByRemovalTime", "selectHistoricProcessInstanceIdsForCleanupByRemovalTime_mssql");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -0,0 +1,102 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler.CompiledNode;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.javax.el.ValueReference;
+import org.camunda.bpm.engine.impl.juel.TreeValueExpression;
+
+/**
+ * A value expression which is evaluated by the evaluators created by the {@link ExpressionCompiler}.
+ * Everything except the evaluation of the value is delegated to the interpreted expression.
+ *
+ * @see ExpressionCompiler
+ */
+public class CompiledValueExpression extends ValueExpression {
+
+  private static final long serialVersionUID = 1L;
+
+  protected TreeValueExpression interpretedExpression;
+  protected transient CompiledNode root;
+
+  public CompiledValueExpression(TreeValueExpression interpretedExpression, CompiledNode root) {
+    this.interpretedExpression = interpretedExpression;
+    this.root = root;
+  }
+
+  public Object getValue(ELContext context) {
+    Object value = root.eval(context);
+    Class<?> expectedType = interpretedExpression.getExpectedType();
+    if (expectedType != null) {
+      value = interpretedExpression.getBindings().convert(value, expectedType);
+    }
+    return value;
+  }
+
+  public Class<?> getExpectedType() {
+    return interpretedExpression.getExpectedType();
+  }
+
+  public Class<?> getType(ELContext context) {
+    return interpretedExpression.getType(context);
+  }
+
+  public boolean isReadOnly(ELContext context) {
+    return interpretedExpression.isReadOnly(context);
+  }
+
+  public void setValue(ELContext context, Object value) {
+    interpretedExpression.setValue(context, value);
+  }
+
+  public ValueReference getValueReference(ELContext context) {
+    return interpretedExpression.getValueReference(context);
+  }
+
+  public String getExpressionString() {
+    return interpretedExpression.getExpressionString();
+  }
+
+  public boolean isLiteralText() {
+    return interpretedExpression.isLiteralText();
+  }
+
+  public TreeValueExpression getInterpretedExpression() {
+    return interpretedExpression;
+  }
+
+  public boolean equals(Object obj) {
+    if (obj != null && obj.getClass() == getClass()) {
+      return interpretedExpression.equals(((CompiledValueExpression) obj).interpretedExpression);
+    }
+    return false;
+  }
+
+  public int hashCode() {
+    return interpretedExpression.hashCode();
+  }
+
+  public String toString() {
+    return "CompiledValueExpression(" + getExpressionString() + ")";
+  }
+
+  /**
+   * The evaluators are not serialized, a deserialized expression is interpreted.
+   */
+  protected Object writeReplace() {
+    return interpretedExpression;
+  }
+
+}
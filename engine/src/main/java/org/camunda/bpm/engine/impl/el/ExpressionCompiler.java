@@ -0,0 +1,646 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ELException;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+import org.camunda.bpm.engine.impl.javax.el.MethodNotFoundException;
+import org.camunda.bpm.engine.impl.javax.el.PropertyNotFoundException;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.AstBinary;
+import org.camunda.bpm.engine.impl.juel.AstBracket;
+import org.camunda.bpm.engine.impl.juel.AstChoice;
+import org.camunda.bpm.engine.impl.juel.AstComposite;
+import org.camunda.bpm.engine.impl.juel.AstDot;
+import org.camunda.bpm.engine.impl.juel.AstEval;
+import org.camunda.bpm.engine.impl.juel.AstIdentifier;
+import org.camunda.bpm.engine.impl.juel.AstLiteral;
+import org.camunda.bpm.engine.impl.juel.AstMethod;
+import org.camunda.bpm.engine.impl.juel.AstNested;
+import org.camunda.bpm.engine.impl.juel.AstNode;
+import org.camunda.bpm.engine.impl.juel.AstText;
+import org.camunda.bpm.engine.impl.juel.AstUnary;
+import org.camunda.bpm.engine.impl.juel.BooleanOperations;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+import org.camunda.bpm.engine.impl.juel.LocalMessages;
+import org.camunda.bpm.engine.impl.juel.Node;
+import org.camunda.bpm.engine.impl.juel.NumberOperations;
+import org.camunda.bpm.engine.impl.juel.TreeValueExpression;
+import org.camunda.bpm.engine.impl.juel.TypeConverter;
+import org.camunda.bpm.engine.test.mock.Mocks;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+
+/**
+ * <p>Compiles the parse tree of a JUEL value expression into a tree of evaluators which are
+ * specialized for their operation. Arithmetic, comparisons and boolean operators call the
+ * JUEL operations directly, operations on literals are evaluated once and the getters and
+ * methods of beans are remembered per node for the class of the last base object (inline cache).
+ * Nodes which cannot be compiled (e.g. functions) are evaluated by the interpreter.</p>
+ *
+ * <p>A remembered getter or method is only used if the bean resolver of the engine would resolve
+ * the property, i.e. if the expression is not evaluated in the context of a process application
+ * or with a {@link VariableContext}. EL resolvers which are added by subclasses of the
+ * {@link ExpressionManager} and resolve properties of non-null base objects are not consulted for beans
+ * with a remembered getter or method, so compilation should not be enabled together with such resolvers.</p>
+ *
+ * @see ExpressionManager#setExpressionCompiler(ExpressionCompiler)
+ */
+public class ExpressionCompiler {
+
+  /**
+   * @return a compiled expression if the given expression is an interpreted JUEL expression,
+   * otherwise the given expression
+   */
+  public ValueExpression compile(ValueExpression valueExpression) {
+    if (valueExpression instanceof TreeValueExpression && !valueExpression.isLiteralText()) {
+      TreeValueExpression treeValueExpression = (TreeValueExpression) valueExpression;
+      Bindings bindings = treeValueExpression.getBindings();
+      CompiledNode root = compile(treeValueExpression.getNode(), bindings);
+      return new CompiledValueExpression(treeValueExpression, root);
+    }
+    else {
+      return valueExpression;
+    }
+  }
+
+  protected CompiledNode compile(Node node, Bindings bindings) {
+    if (node instanceof AstEval || node instanceof AstNested) {
+      return compile(node.getChild(0), bindings);
+    }
+    else if (node instanceof AstLiteral || node instanceof AstText) {
+      return new ConstantNode(((AstNode) node).eval(bindings, null));
+    }
+    else if (node instanceof AstIdentifier && !bindings.isVariableBound(((AstIdentifier) node).getIndex())) {
+      return new IdentifierNode(((AstIdentifier) node).getName());
+    }
+    else if (node instanceof AstDot) {
+      AstDot dot = (AstDot) node;
+      return new PropertyNode(compile(dot.getChild(0), bindings), dot.getPropertyName());
+    }
+    else if (node instanceof AstBracket) {
+      AstBracket bracket = (AstBracket) node;
+      return new BracketNode(compile(bracket.getChild(0), bindings), compile(bracket.getChild(1), bindings), bracket.isStrict());
+    }
+    else if (node instanceof AstMethod && ((AstMethod) node).getChild(0) instanceof AstDot) {
+      AstDot dot = (AstDot) ((AstMethod) node).getChild(0);
+      Node parameters = ((AstMethod) node).getChild(1);
+      CompiledNode[] compiledParameters = new CompiledNode[parameters.getCardinality()];
+      for (int i = 0; i < compiledParameters.length; i++) {
+        compiledParameters[i] = compile(parameters.getChild(i), bindings);
+      }
+      return new MethodNode(compile(dot.getChild(0), bindings), dot.getChild(0), dot.getPropertyName(), compiledParameters);
+    }
+    else if (node instanceof AstComposite) {
+      CompiledNode[] children = new CompiledNode[node.getCardinality()];
+      for (int i = 0; i < children.length; i++) {
+        children[i] = compile(node.getChild(i), bindings);
+      }
+      return new CompositeNode(children, bindings);
+    }
+    else if (node instanceof AstChoice) {
+      CompiledNode question = compile(node.getChild(0), bindings);
+      CompiledNode yes = compile(node.getChild(1), bindings);
+      CompiledNode no = compile(node.getChild(2), bindings);
+      return fold(new ChoiceNode(question, yes, no, bindings), question, yes, no);
+    }
+    else if (node instanceof AstBinary) {
+      CompiledNode left = compile(node.getChild(0), bindings);
+      CompiledNode right = compile(node.getChild(1), bindings);
+      CompiledNode binaryNode = createBinaryNode(((AstBinary) node).getOperator(), left, right, bindings);
+      if (binaryNode != null) {
+        return fold(binaryNode, left, right);
+      }
+    }
+    else if (node instanceof AstUnary) {
+      CompiledNode child = compile(node.getChild(0), bindings);
+      CompiledNode unaryNode = createUnaryNode(((AstUnary) node).getOperator(), child, bindings);
+      if (unaryNode != null) {
+        return fold(unaryNode, child);
+      }
+    }
+
+    return new InterpretedNode((AstNode) node, bindings);
+  }
+
+  protected CompiledNode createBinaryNode(AstBinary.Operator operator, CompiledNode left, CompiledNode right, final TypeConverter converter) {
+    if (operator == AstBinary.AND) {
+      return new AndNode(left, right, converter);
+    }
+    else if (operator == AstBinary.OR) {
+      return new OrNode(left, right, converter);
+    }
+    else if (operator == AstBinary.EQ) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return BooleanOperations.eq(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.NE) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return BooleanOperations.ne(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.LT) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return BooleanOperations.lt(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.LE) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return BooleanOperations.le(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.GT) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return BooleanOperations.gt(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.GE) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return BooleanOperations.ge(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.ADD) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return NumberOperations.add(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.SUB) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return NumberOperations.sub(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.MUL) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return NumberOperations.mul(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.DIV) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return NumberOperations.div(converter, o1, o2);
+        }
+      };
+    }
+    else if (operator == AstBinary.MOD) {
+      return new BinaryNode(left, right) {
+        protected Object apply(Object o1, Object o2) {
+          return NumberOperations.mod(converter, o1, o2);
+        }
+      };
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected CompiledNode createUnaryNode(AstUnary.Operator operator, CompiledNode child, final TypeConverter converter) {
+    if (operator == AstUnary.NOT) {
+      return new UnaryNode(child) {
+        protected Object apply(Object o) {
+          return !converter.convert(o, Boolean.class);
+        }
+      };
+    }
+    else if (operator == AstUnary.EMPTY) {
+      return new UnaryNode(child) {
+        protected Object apply(Object o) {
+          return BooleanOperations.empty(converter, o);
+        }
+      };
+    }
+    else if (operator == AstUnary.NEG) {
+      return new UnaryNode(child) {
+        protected Object apply(Object o) {
+          return NumberOperations.neg(converter, o);
+        }
+      };
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * Evaluates an operation once if all of its operands are literals. If the evaluation
+   * fails, the operation is kept so that the failure is reported when the expression is evaluated.
+   */
+  protected CompiledNode fold(CompiledNode node, CompiledNode... operands) {
+    for (CompiledNode operand : operands) {
+      if (!(operand instanceof ConstantNode)) {
+        return node;
+      }
+    }
+    try {
+      return new ConstantNode(node.eval(null));
+    }
+    catch (RuntimeException e) {
+      return node;
+    }
+  }
+
+  /**
+   * @return true if the bean resolver at the end of the resolver chain of the {@link ExpressionManager}
+   * is responsible for the given property of the given bean
+   */
+  protected static boolean isResolvedByBeanResolver(ELContext context, Object property) {
+    return context.getContext(VariableContext.class) == null
+        && Context.getCurrentProcessApplication() == null
+        && Mocks.get(property) == null;
+  }
+
+  protected static Object resolveProperty(ELContext context, Object base, Object property) {
+    context.setPropertyResolved(false);
+    Object result = context.getELResolver().getValue(context, base, property);
+    if (!context.isPropertyResolved()) {
+      throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", property, base));
+    }
+    return result;
+  }
+
+  /**
+   * A public method of a bean class, or no method if the bean resolver cannot be bypassed for that class.
+   */
+  protected static class CachedMethod {
+
+    protected final Class<?> type;
+    protected final Method method;
+
+    public CachedMethod(Class<?> type, Method method) {
+      this.type = type;
+      this.method = method != null && Modifier.isPublic(method.getDeclaringClass().getModifiers()) ? method : null;
+    }
+
+    public static CachedMethod getter(Class<?> type, String property) {
+      Method readMethod = null;
+      if (isBeanClass(type)) {
+        try {
+          for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+            if (descriptor.getName().equals(property)) {
+              readMethod = descriptor.getReadMethod();
+              break;
+            }
+          }
+        }
+        catch (IntrospectionException e) {
+          // leave the property to the resolver chain
+        }
+      }
+      return new CachedMethod(type, readMethod);
+    }
+
+    /**
+     * Finds the method like the bean resolver does, but ignores variable arguments methods.
+     */
+    public static CachedMethod method(Class<?> type, String name, int parameterCount) {
+      Method method = null;
+      if (isBeanClass(type)) {
+        for (Method candidate : type.getMethods()) {
+          if (candidate.getName().equals(name) && !candidate.isVarArgs() && candidate.getParameterTypes().length == parameterCount) {
+            method = candidate;
+            break;
+          }
+        }
+      }
+      return new CachedMethod(type, method);
+    }
+
+    protected static boolean isBeanClass(Class<?> type) {
+      return !type.isArray() && !List.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type);
+    }
+
+    public Object invoke(Object base, Object... arguments) {
+      try {
+        return method.invoke(base, arguments);
+      }
+      catch (InvocationTargetException e) {
+        throw new ELException(e.getCause());
+      }
+      catch (IllegalAccessException e) {
+        throw new ELException(e);
+      }
+    }
+  }
+
+  public abstract static class CompiledNode {
+
+    public abstract Object eval(ELContext context);
+
+  }
+
+  protected static class ConstantNode extends CompiledNode {
+
+    protected final Object value;
+
+    public ConstantNode(Object value) {
+      this.value = value;
+    }
+
+    public Object eval(ELContext context) {
+      return value;
+    }
+  }
+
+  /**
+   * Evaluates an uncompiled node with the interpreter.
+   */
+  protected static class InterpretedNode extends CompiledNode {
+
+    protected final AstNode node;
+    protected final Bindings bindings;
+
+    public InterpretedNode(AstNode node, Bindings bindings) {
+      this.node = node;
+      this.bindings = bindings;
+    }
+
+    public Object eval(ELContext context) {
+      return node.eval(bindings, context);
+    }
+  }
+
+  protected static class IdentifierNode extends CompiledNode {
+
+    protected final String name;
+
+    public IdentifierNode(String name) {
+      this.name = name;
+    }
+
+    public Object eval(ELContext context) {
+      context.setPropertyResolved(false);
+      Object result = context.getELResolver().getValue(context, null, name);
+      if (!context.isPropertyResolved()) {
+        throw new PropertyNotFoundException(LocalMessages.get("error.identifier.property.notfound", name));
+      }
+      return result;
+    }
+  }
+
+  protected static class PropertyNode extends CompiledNode {
+
+    protected final CompiledNode prefix;
+    protected final String property;
+
+    protected volatile CachedMethod getter;
+
+    public PropertyNode(CompiledNode prefix, String property) {
+      this.prefix = prefix;
+      this.property = property;
+    }
+
+    public Object eval(ELContext context) {
+      Object base = prefix.eval(context);
+      if (base == null) {
+        return null;
+      }
+
+      CachedMethod cachedGetter = getter;
+      if (cachedGetter == null || cachedGetter.type != base.getClass()) {
+        Object result = resolveProperty(context, base, property);
+        getter = CachedMethod.getter(base.getClass(), property);
+        return result;
+      }
+      else if (cachedGetter.method != null && isResolvedByBeanResolver(context, property)) {
+        return cachedGetter.invoke(base);
+      }
+      else {
+        return resolveProperty(context, base, property);
+      }
+    }
+  }
+
+  protected static class BracketNode extends CompiledNode {
+
+    protected final CompiledNode prefix;
+    protected final CompiledNode property;
+    protected final boolean strict;
+
+    public BracketNode(CompiledNode prefix, CompiledNode property, boolean strict) {
+      this.prefix = prefix;
+      this.property = property;
+      this.strict = strict;
+    }
+
+    public Object eval(ELContext context) {
+      Object base = prefix.eval(context);
+      if (base == null) {
+        return null;
+      }
+      Object propertyValue = property.eval(context);
+      if (propertyValue == null && strict) {
+        return null;
+      }
+      return resolveProperty(context, base, propertyValue);
+    }
+  }
+
+  protected static class MethodNode extends CompiledNode {
+
+    protected final CompiledNode prefix;
+    protected final AstNode prefixNode;
+    protected final String name;
+    protected final CompiledNode[] parameters;
+
+    protected volatile CachedMethod method;
+
+    public MethodNode(CompiledNode prefix, AstNode prefixNode, String name, CompiledNode[] parameters) {
+      this.prefix = prefix;
+      this.prefixNode = prefixNode;
+      this.name = name;
+      this.parameters = parameters;
+    }
+
+    public Object eval(ELContext context) {
+      Object base = prefix.eval(context);
+      if (base == null) {
+        throw new PropertyNotFoundException(LocalMessages.get("error.property.base.null", prefixNode));
+      }
+      Object[] parameterValues = new Object[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        parameterValues[i] = parameters[i].eval(context);
+      }
+
+      CachedMethod cachedMethod = method;
+      if (cachedMethod == null || cachedMethod.type != base.getClass()) {
+        Object result = invokeMethod(context, base, parameterValues);
+        method = CachedMethod.method(base.getClass(), name, parameters.length);
+        return result;
+      }
+
+      ExpressionFactory expressionFactory = (ExpressionFactory) context.getContext(ExpressionFactory.class);
+      if (cachedMethod.method != null && expressionFactory != null && isResolvedByBeanResolver(context, name)) {
+        return cachedMethod.invoke(base, coerceParameters(expressionFactory, cachedMethod.method, parameterValues));
+      }
+      else {
+        return invokeMethod(context, base, parameterValues);
+      }
+    }
+
+    protected Object invokeMethod(ELContext context, Object base, Object[] parameterValues) {
+      context.setPropertyResolved(false);
+      Object result = context.getELResolver().invoke(context, base, name, null, parameterValues);
+      if (!context.isPropertyResolved()) {
+        throw new MethodNotFoundException(LocalMessages.get("error.property.method.notfound", name, base.getClass()));
+      }
+      return result;
+    }
+
+    protected Object[] coerceParameters(ExpressionFactory expressionFactory, Method method, Object[] parameterValues) {
+      Class<?>[] types = method.getParameterTypes();
+      Object[] arguments = new Object[types.length];
+      for (int i = 0; i < types.length; i++) {
+        if (parameterValues[i] != null || types[i].isPrimitive()) {
+          arguments[i] = expressionFactory.coerceToType(parameterValues[i], types[i]);
+        }
+      }
+      return arguments;
+    }
+  }
+
+  protected static class CompositeNode extends CompiledNode {
+
+    protected final CompiledNode[] children;
+    protected final TypeConverter converter;
+
+    public CompositeNode(CompiledNode[] children, TypeConverter converter) {
+      this.children = children;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      StringBuilder builder = new StringBuilder();
+      for (CompiledNode child : children) {
+        builder.append(converter.convert(child.eval(context), String.class));
+      }
+      return builder.toString();
+    }
+  }
+
+  protected static class ChoiceNode extends CompiledNode {
+
+    protected final CompiledNode question;
+    protected final CompiledNode yes;
+    protected final CompiledNode no;
+    protected final TypeConverter converter;
+
+    public ChoiceNode(CompiledNode question, CompiledNode yes, CompiledNode no, TypeConverter converter) {
+      this.question = question;
+      this.yes = yes;
+      this.no = no;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      Boolean value = converter.convert(question.eval(context), Boolean.class);
+      return value.booleanValue() ? yes.eval(context) : no.eval(context);
+    }
+  }
+
+  protected static class AndNode extends CompiledNode {
+
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+    protected final TypeConverter converter;
+
+    public AndNode(CompiledNode left, CompiledNode right, TypeConverter converter) {
+      this.left = left;
+      this.right = right;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      Boolean l = converter.convert(left.eval(context), Boolean.class);
+      return Boolean.TRUE.equals(l) ? converter.convert(right.eval(context), Boolean.class) : Boolean.FALSE;
+    }
+  }
+
+  protected static class OrNode extends CompiledNode {
+
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+    protected final TypeConverter converter;
+
+    public OrNode(CompiledNode left, CompiledNode right, TypeConverter converter) {
+      this.left = left;
+      this.right = right;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      Boolean l = converter.convert(left.eval(context), Boolean.class);
+      return Boolean.TRUE.equals(l) ? Boolean.TRUE : converter.convert(right.eval(context), Boolean.class);
+    }
+  }
+
+  protected abstract static class BinaryNode extends CompiledNode {
+
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+
+    public BinaryNode(CompiledNode left, CompiledNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object eval(ELContext context) {
+      return apply(left.eval(context), right.eval(context));
+    }
+
+    protected abstract Object apply(Object o1, Object o2);
+  }
+
+  protected abstract static class UnaryNode extends CompiledNode {
+
+    protected final CompiledNode child;
+
+    public UnaryNode(CompiledNode child) {
+      this.child = child;
+    }
+
+    public Object eval(ELContext context) {
+      return apply(child.eval(context));
+    }
+
+    protected abstract Object apply(Object o);
+  }
+
+}
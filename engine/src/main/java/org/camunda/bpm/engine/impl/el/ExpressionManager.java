@@ -58,6 +58,7 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ProcessEngineElContext(functionMappers);
   protected Map<Object, Object> beans;
   protected ELResolver elResolver;
+  protected ExpressionCompiler expressionCompiler;
 
   public ExpressionManager() {
     this(null);
@@ -75,7 +76,23 @@ public class ExpressionManager {
   }
 
   public ValueExpression createValueExpression(String expression) {
-    return expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
+    ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
+    if (expressionCompiler != null) {
+      valueExpression = expressionCompiler.compile(valueExpression);
+    }
+    return valueExpression;
+  }
+
+  public ExpressionCompiler getExpressionCompiler() {
+    return expressionCompiler;
+  }
+
+  /**
+   * @param expressionCompiler compiles the created expressions, if set.
+   * Otherwise the created expressions are interpreted.
+   */
+  public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+    this.expressionCompiler = expressionCompiler;
   }
 
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
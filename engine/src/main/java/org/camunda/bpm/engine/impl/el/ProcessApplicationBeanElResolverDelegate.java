@@ -27,12 +27,18 @@ import org.camunda.bpm.engine.impl.javax.el.ELResolver;
  * involved in expressions.</p>
  *
  * <p>If resolution is attempted outside the context of a process application,
- * then always a new resolver instance is returned (i.e. no caching in these cases).</p>
+ * then a {@link ProcessEngineBeanElResolver} is used which only caches the classes
+ * of the process engine.</p>
  *
  * @author Thorben Lindhauer
  */
 public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolverDelegate {
 
+  /**
+   * Resolves beans outside of a process application.
+   */
+  protected BeanELResolver beanElResolver = new ProcessEngineBeanElResolver();
+
   protected ELResolver getElResolverDelegate() {
 
     ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
@@ -47,7 +53,7 @@ public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolver
       }
 
     } else {
-      return new BeanELResolver();
+      return beanElResolver;
     }
 
   }
@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
+
+/**
+ * <p>{@link BeanELResolver} which lives as long as the process engine.</p>
+ *
+ * <p>It only caches classes which are loaded by the class loader of the process engine
+ * or by one of its parents. Classes of process applications are resolved without caching,
+ * so that the resolver does not keep their class loaders alive after they are undeployed.</p>
+ */
+public class ProcessEngineBeanElResolver extends BeanELResolver {
+
+  protected ClassLoader processEngineClassLoader = ProcessEngineBeanElResolver.class.getClassLoader();
+
+  @Override
+  protected boolean isCacheable(Class<?> beanClass) {
+    ClassLoader beanClassLoader = beanClass.getClassLoader();
+    if (beanClassLoader == null) {
+      // loaded by the bootstrap class loader
+      return true;
+    }
+
+    for (ClassLoader classLoader = processEngineClassLoader; classLoader != null; classLoader = classLoader.getParent()) {
+      if (classLoader == beanClassLoader) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
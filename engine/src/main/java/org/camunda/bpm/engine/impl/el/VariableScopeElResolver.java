@@ -15,6 +15,8 @@ package org.camunda.bpm.engine.impl.el;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.javax.el.ELResolver;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
@@ -60,6 +62,15 @@ public class VariableScopeElResolver extends ELResolver {
         } else if(LOGGED_IN_USER_KEY.equals(property)){
           context.setPropertyResolved(true);
           return Context.getCommandContext().getAuthenticatedUserId();
+        } else if (variableScope instanceof AbstractVariableScope) {
+          // look up the variable instance once instead of calling hasVariable() and getVariable(),
+          // which would both walk up the scope hierarchy
+          AbstractVariableScope abstractVariableScope = (AbstractVariableScope) variableScope;
+          CoreVariableInstance variableInstance = abstractVariableScope.getVariableInstance(variable);
+          if (variableInstance != null) {
+            context.setPropertyResolved(true);
+            return abstractVariableScope.getValueFromVariableInstance(true, variableInstance);
+          }
         } else {
           if (variableScope.hasVariable(variable)) {
             context.setPropertyResolved(true); // if not set, the next elResolver in the CompositeElResolver will be called
@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.form.type.AbstractFormFieldType;
 import org.camunda.bpm.engine.impl.form.type.FormTypes;
 import org.camunda.bpm.engine.impl.form.validator.FormFieldValidator;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -307,11 +308,35 @@ public class DefaultFormHandler implements FormHandler {
     Context.getCommandContext().setLogUserOperationEnabled(userOperationLogEnabled);
   }
 
+  /**
+   * Takes the history level declared by the process or user task of the variable scope into account.
+   */
+  protected boolean isFormPropertyUpdateProduced(HistoryLevel historyLevel, VariableScope variableScope) {
+    if (!historyLevel.isHistoryEventProduced(HistoryEventTypes.FORM_PROPERTY_UPDATE, variableScope)) {
+      return false;
+    }
+
+    ExecutionEntity execution = null;
+    String processDefinitionId = null;
+    String activityId = null;
+    if (variableScope instanceof ExecutionEntity) {
+      execution = (ExecutionEntity) variableScope;
+      processDefinitionId = execution.getProcessDefinitionId();
+    }
+    else if (variableScope instanceof TaskEntity) {
+      TaskEntity task = (TaskEntity) variableScope;
+      execution = task.getExecution();
+      processDefinitionId = task.getProcessDefinitionId();
+      activityId = task.getTaskDefinitionKey();
+    }
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.FORM_PROPERTY_UPDATE, variableScope, execution, processDefinitionId, activityId);
+  }
+
   protected void fireFormPropertyHistoryEvents(VariableMap properties, VariableScope variableScope) {
     final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
     HistoryLevel historyLevel = processEngineConfiguration.getHistoryLevel();
 
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.FORM_PROPERTY_UPDATE, variableScope)) {
+    if (isFormPropertyUpdateProduced(historyLevel, variableScope)) {
 
       // fire history events
       final ExecutionEntity executionEntity;
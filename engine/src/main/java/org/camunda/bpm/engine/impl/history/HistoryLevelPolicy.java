@@ -0,0 +1,178 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history;
+
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+
+/**
+ * <p>Restricts the history level of the process engine for single process definitions or activities.</p>
+ *
+ * <p>A process or an activity can declare a history level by the extension property
+ * <code>&lt;camunda:property name="historyLevel" value="none" /&gt;</code>. The value is the name of
+ * a history level known to the process engine. It is resolved once at parse time and stored in
+ * the {@link BpmnProperties#HISTORY_LEVEL} property. An activity without a history level inherits
+ * the history level of its closest enclosing scope which declares one, such as an embedded
+ * subprocess or the process.</p>
+ *
+ * <p>A history event is only produced if it is produced by the history level of the process engine
+ * as well as by the history level of the process definition or activity. Thus, the property can
+ * only reduce the history which is written.</p>
+ *
+ * @see HistoryLevel
+ */
+public class HistoryLevelPolicy {
+
+  /**
+   * The name of the extension property which declares the history level of a process or an activity.
+   */
+  public static final String HISTORY_LEVEL_PROPERTY = "historyLevel";
+
+  /**
+   * @return the history level declared by the given scope or by its closest enclosing flow scope,
+   * <code>null</code> if none is declared
+   */
+  public static HistoryLevel getHistoryLevel(ScopeImpl scope) {
+    ScopeImpl currentScope = scope;
+    while (currentScope != null) {
+      HistoryLevel historyLevel = currentScope.getProperties().get(BpmnProperties.HISTORY_LEVEL);
+      if (historyLevel != null) {
+        return historyLevel;
+      }
+      currentScope = currentScope.getFlowScope();
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns true if the history event is produced by the history level of the process engine and by the
+   * history level declared for the given scope.
+   *
+   * @param historyLevel the history level of the process engine
+   * @param eventType the type of the history event which is about to be produced
+   * @param entity the runtime structure used to produce the history event, can be <code>null</code>
+   * @param scope the process definition or activity the event belongs to, can be <code>null</code>
+   */
+  public static boolean isHistoryEventProduced(HistoryLevel historyLevel, HistoryEventType eventType, Object entity, ScopeImpl scope) {
+    if (!historyLevel.isHistoryEventProduced(eventType, entity)) {
+      return false;
+    }
+
+    return isHistoryEventProducedByScope(eventType, entity, scope);
+  }
+
+  /**
+   * Returns true if the history event is produced by the history level of the process engine and by the
+   * history level declared for the given process definition or activity. The process definition is only
+   * looked up if the history level of the process engine produces the event.
+   *
+   * @param historyLevel the history level of the process engine
+   * @param eventType the type of the history event which is about to be produced
+   * @param entity the runtime structure used to produce the history event, can be <code>null</code>
+   * @param processDefinitionId the id of the process definition the event belongs to, can be <code>null</code>
+   * @param activityId the id of the activity the event belongs to, can be <code>null</code>
+   */
+  public static boolean isHistoryEventProduced(HistoryLevel historyLevel, HistoryEventType eventType, Object entity, String processDefinitionId, String activityId) {
+    if (!historyLevel.isHistoryEventProduced(eventType, entity)) {
+      return false;
+    }
+
+    return isHistoryEventProducedByScope(eventType, entity, findScope(processDefinitionId, activityId));
+  }
+
+  /**
+   * Returns true if the history event is produced by the history level of the process engine and by the
+   * history level declared for the given activity. The activity is resolved from the process definition
+   * of the given execution, which the producer has already loaded, instead of looking up the process
+   * definition by its id.
+   *
+   * @param historyLevel the history level of the process engine
+   * @param eventType the type of the history event which is about to be produced
+   * @param entity the runtime structure used to produce the history event, can be <code>null</code>
+   * @param execution the execution the event belongs to, can be <code>null</code>
+   * @param processDefinitionId the id of the process definition the event belongs to, can be <code>null</code>
+   * @param activityId the id of the activity the event belongs to, can be <code>null</code>
+   */
+  public static boolean isHistoryEventProduced(HistoryLevel historyLevel, HistoryEventType eventType, Object entity, ExecutionEntity execution, String processDefinitionId, String activityId) {
+    if (!historyLevel.isHistoryEventProduced(eventType, entity)) {
+      return false;
+    }
+
+    ScopeImpl scope;
+    if (execution != null && execution.getProcessDefinitionId() != null && execution.getProcessDefinitionId().equals(processDefinitionId)) {
+      scope = findActivity(execution.getProcessDefinition(), activityId);
+    }
+    else {
+      scope = findScope(processDefinitionId, activityId);
+    }
+
+    return isHistoryEventProducedByScope(eventType, entity, scope);
+  }
+
+  protected static boolean isHistoryEventProducedByScope(HistoryEventType eventType, Object entity, ScopeImpl scope) {
+    if (scope != null) {
+      HistoryLevel scopeHistoryLevel = getHistoryLevel(scope);
+      return scopeHistoryLevel == null || scopeHistoryLevel.isHistoryEventProduced(eventType, entity);
+    }
+
+    return true;
+  }
+
+  /**
+   * @return the activity or, if the activity is unknown, the process definition with the given ids;
+   * <code>null</code> if the process definition does not exist (anymore)
+   */
+  protected static ScopeImpl findScope(String processDefinitionId, String activityId) {
+    if (processDefinitionId == null) {
+      return null;
+    }
+
+    DeploymentCache deploymentCache = Context.getProcessEngineConfiguration().getDeploymentCache();
+    ProcessDefinitionEntity processDefinition = deploymentCache.findProcessDefinitionFromCache(processDefinitionId);
+
+    if (processDefinition == null) {
+      processDefinition = Context.getCommandContext()
+        .getProcessDefinitionManager()
+        .findLatestProcessDefinitionById(processDefinitionId);
+
+      if (processDefinition == null) {
+        return null;
+      }
+      processDefinition = deploymentCache.resolveProcessDefinition(processDefinition);
+    }
+
+    return findActivity(processDefinition, activityId);
+  }
+
+  /**
+   * @return the activity with the given id or, if the activity is unknown, the process definition
+   */
+  protected static ScopeImpl findActivity(ProcessDefinitionImpl processDefinition, String activityId) {
+    if (activityId != null) {
+      ScopeImpl activity = processDefinition.findActivity(activityId);
+      if (activity != null) {
+        return activity;
+      }
+    }
+
+    return processDefinition;
+  }
+
+}
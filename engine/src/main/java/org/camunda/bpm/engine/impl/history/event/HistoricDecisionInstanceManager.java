@@ -96,6 +96,14 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricDecisionInstanceEntity.class, "deleteHistoricDecisionInstanceByProcessInstanceIds", processInstanceIds);
   }
 
+  public void deleteHistoricDecisionInstancesByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionInputInstanceByteArraysByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionOutputInstanceByteArraysByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricDecisionInputInstanceEntity.class, "deleteHistoricDecisionInputInstancesByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricDecisionOutputInstanceEntity.class, "deleteHistoricDecisionOutputInstancesByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricDecisionInstanceEntity.class, "deleteHistoricDecisionInstancesByRemovalTime", parameters);
+  }
+
   protected void deleteHistoricDecisionInputAndOutputInstances(String historicDecisionInstanceId) {
     Set<String> decisionInstanceIds = new HashSet<String>();
     decisionInstanceIds.add(historicDecisionInstanceId);
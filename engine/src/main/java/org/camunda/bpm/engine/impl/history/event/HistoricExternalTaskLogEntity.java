@@ -22,7 +22,7 @@ import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 
 import java.util.Date;
 
-import static org.camunda.bpm.engine.impl.util.ExceptionUtil.createExceptionByteArray;
+import static org.camunda.bpm.engine.impl.util.ExceptionUtil.createSharedExceptionByteArray;
 import static org.camunda.bpm.engine.impl.util.StringUtil.toByteArray;
 
 public class HistoricExternalTaskLogEntity extends HistoryEvent implements HistoricExternalTaskLog {
@@ -122,7 +122,8 @@ public class HistoricExternalTaskLogEntity extends HistoryEvent implements Histo
     EnsureUtil.ensureNotNull("exception", exception);
 
     byte[] exceptionBytes = toByteArray(exception);
-    ByteArrayEntity byteArray = createExceptionByteArray(EXCEPTION_NAME,exceptionBytes);
+    // repeated failures of the external task with the same error details share the byte array
+    ByteArrayEntity byteArray = createSharedExceptionByteArray(EXCEPTION_NAME, exceptionBytes, externalTaskId);
     errorDetailsByteArrayId = byteArray.getId();
   }
 
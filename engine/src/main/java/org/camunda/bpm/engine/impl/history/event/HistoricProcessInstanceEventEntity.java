@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.history.event;
 
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+
 /**
  * <p>{@link HistoryEvent} signifying a top-level event in a process instance.</p>
  *
@@ -123,6 +125,11 @@ public class HistoricProcessInstanceEventEntity extends HistoricScopeInstanceEve
     this.state = state;
   }
 
+  /** the cleanup partition of the history of this process instance, see {@link HistoryCleanupHelper#getCleanupPartition(String)} */
+  public int getCleanupPartition() {
+    return HistoryCleanupHelper.getCleanupPartition(processInstanceId);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
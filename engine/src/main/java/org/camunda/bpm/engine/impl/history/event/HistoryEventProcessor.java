@@ -75,6 +75,8 @@ public class HistoryEventProcessor {
     }
 
     List<HistoryEvent> eventList = creator.createHistoryEvents(historyEventProducer);
-    historyEventHandler.handleEvents(eventList);
+    if (!eventList.isEmpty()) {
+      historyEventHandler.handleEvents(eventList);
+    }
   }
 }
@@ -12,11 +12,13 @@
  */
 package org.camunda.bpm.engine.impl.history.handler;
 
+import java.util.Date;
 import java.util.List;
 
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -41,6 +43,11 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       insertHistoricDecisionEvaluationEvent((HistoricDecisionEvaluationEvent) historyEvent);
     } else {
       insertOrUpdate(historyEvent);
+
+      if (historyEvent instanceof HistoricProcessInstanceEventEntity
+          && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+        updateRemovalTimeOfChildren((HistoricProcessInstanceEventEntity) historyEvent);
+      }
     }
 
   }
@@ -135,6 +142,17 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
   }
 
 
+  /** stamps the removal time of a finished process instance on the history of its children */
+  protected void updateRemovalTimeOfChildren(HistoricProcessInstanceEventEntity historyEvent) {
+    Date removalTime = historyEvent.getRemovalTime();
+    if (removalTime != null) {
+      Context
+        .getCommandContext()
+        .getHistoricProcessInstanceManager()
+        .updateChildrenRemovalTimeByProcessInstanceId(historyEvent.getProcessInstanceId(), removalTime);
+    }
+  }
+
   protected void insertHistoricDecisionEvaluationEvent(HistoricDecisionEvaluationEvent event) {
 
     Context
@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.CoreExecutionContext;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.DmnHistoryEventProducer;
@@ -57,6 +58,9 @@ public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationL
 
         if (coreExecution instanceof ExecutionEntity) {
           ExecutionEntity execution = (ExecutionEntity) coreExecution;
+          if (!HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.DMN_DECISION_EVALUATE, decisionTable, execution.getActivity())) {
+            return null;
+          }
           return eventProducer.createDecisionEvaluatedEvt(execution, evaluationEvent);
         }
         else if (coreExecution instanceof CaseExecutionEntity) {
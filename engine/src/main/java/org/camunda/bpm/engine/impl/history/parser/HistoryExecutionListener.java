@@ -43,14 +43,14 @@ public abstract class HistoryExecutionListener implements ExecutionListener {
 
   public void notify(DelegateExecution execution) throws Exception {
 
-    // get the event handler
-    final HistoryEventHandler historyEventHandler = Context.getProcessEngineConfiguration()
-      .getHistoryEventHandler();
-
     // delegate creation of the history event to the producer
     HistoryEvent historyEvent = createHistoryEvent(execution);
 
     if(historyEvent != null) {
+      // get the event handler
+      final HistoryEventHandler historyEventHandler = Context.getProcessEngineConfiguration()
+        .getHistoryEventHandler();
+
       // pass the event to the handler
       historyEventHandler.handleEvent(historyEvent);
     }
@@ -20,6 +20,8 @@ import org.camunda.bpm.engine.delegate.TaskListener;
 import org.camunda.bpm.engine.impl.bpmn.behavior.UserTaskActivityBehavior;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
@@ -83,7 +85,7 @@ public class HistoryParseListener implements BpmnParseListener {
   }
 
   public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_END, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_END, processDefinition)) {
       processDefinition.addBuiltInListener(PvmEvent.EVENTNAME_END, PROCESS_INSTANCE_END_LISTENER);
     }
   }
@@ -119,7 +121,7 @@ public class HistoryParseListener implements BpmnParseListener {
   public void parseUserTask(Element userTaskElement, ScopeImpl scope, ActivityImpl activity) {
     addActivityHandlers(activity);
 
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, activity)) {
       TaskDefinition taskDefinition = ((UserTaskActivityBehavior) activity.getActivityBehavior()).getTaskDefinition();
       taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_ASSIGNMENT, USER_TASK_ASSIGNMENT_HANDLER);
       taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_CREATE, USER_TASK_ID_HANDLER);
@@ -230,12 +232,20 @@ public class HistoryParseListener implements BpmnParseListener {
   // helper methods ///////////////////////////////////////////////////////////
 
   protected void addActivityHandlers(ActivityImpl activity) {
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_START, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_START, activity)) {
       activity.addBuiltInListener(PvmEvent.EVENTNAME_START, ACTIVITY_INSTANCE_START_LISTENER, 0);
     }
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_END, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_END, activity)) {
       activity.addBuiltInListener(PvmEvent.EVENTNAME_END, ACTIVITY_INSTANCE_END_LISTENER);
     }
   }
 
+  /**
+   * Takes the history level declared by the process or activity into account,
+   * so that no listener is added for events which are never produced.
+   */
+  protected boolean isHistoryEventProduced(HistoryEventType eventType, ScopeImpl scope) {
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, null, scope);
+  }
+
 }
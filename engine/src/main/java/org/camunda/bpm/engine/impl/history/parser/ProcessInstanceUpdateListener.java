@@ -14,9 +14,11 @@ package org.camunda.bpm.engine.impl.history.parser;
 
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 
 /**
  * @author Askar Akhmerov
@@ -28,7 +30,8 @@ public class ProcessInstanceUpdateListener extends HistoryExecutionListener {
   }
 
   protected HistoryEvent createHistoryEvent(DelegateExecution execution) {
-    if(historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_UPDATE, execution)) {
+    if(HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.PROCESS_INSTANCE_UPDATE, execution,
+        (ExecutionEntity) execution, execution.getProcessDefinitionId(), null)) {
       return eventProducer.createProcessInstanceUpdateEvt(execution);
     } else {
       return null;
@@ -12,7 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.history.producer;
 
-import static org.camunda.bpm.engine.impl.util.ExceptionUtil.createJobExceptionByteArray;
+import static org.camunda.bpm.engine.impl.util.ExceptionUtil.JOB_EXCEPTION_BYTE_ARRAY_NAME;
+import static org.camunda.bpm.engine.impl.util.ExceptionUtil.createSharedExceptionByteArray;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +34,7 @@ import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.event.*;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContext;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContextEntry;
@@ -47,6 +49,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.pvm.PvmScope;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.runtime.CompensationBehavior;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.JobDefinition;
@@ -65,7 +68,8 @@ import static org.camunda.bpm.engine.impl.util.StringUtil.toByteArray;
 public class DefaultHistoryEventProducer implements HistoryEventProducer {
 
   protected void initActivityInstanceEvent(HistoricActivityInstanceEventEntity evt, ExecutionEntity execution, HistoryEventType eventType) {
-    PvmScope eventSource = execution.getActivity();
+    ActivityImpl activity = execution.getActivity();
+    PvmScope eventSource = activity;
     if (eventSource == null) {
       eventSource = (PvmScope) execution.getEventSource();
     }
@@ -74,7 +78,7 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     String parentActivityInstanceId = null;
     ExecutionEntity parentExecution = execution.getParent();
 
-    if (parentExecution != null && CompensationBehavior.isCompensationThrowing(parentExecution) && execution.getActivity() != null) {
+    if (parentExecution != null && activity != null && CompensationBehavior.isCompensationThrowing(parentExecution)) {
       parentActivityInstanceId = CompensationBehavior.getParentActivityInstanceId(execution);
     } else {
       parentActivityInstanceId = execution.getParentActivityInstanceId();
@@ -182,16 +186,21 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
 
   protected void initTaskInstanceEvent(HistoricTaskInstanceEventEntity evt, TaskEntity taskEntity, HistoryEventType eventType) {
 
+    String processDefinitionId = taskEntity.getProcessDefinitionId();
+    String processInstanceId = taskEntity.getProcessInstanceId();
+    String executionId = taskEntity.getExecutionId();
+
+    ExecutionEntity execution = taskEntity.getExecution();
+
     String processDefinitionKey = null;
-    ProcessDefinitionEntity definition = taskEntity.getProcessDefinition();
+    ProcessDefinitionEntity definition = getProcessDefinition(execution, processDefinitionId);
+    if (definition == null) {
+      definition = taskEntity.getProcessDefinition();
+    }
     if (definition != null) {
       processDefinitionKey = definition.getKey();
     }
 
-    String processDefinitionId = taskEntity.getProcessDefinitionId();
-    String processInstanceId = taskEntity.getProcessInstanceId();
-    String executionId = taskEntity.getExecutionId();
-
     String caseDefinitionKey = null;
     CaseDefinitionEntity caseDefinition = taskEntity.getCaseDefinition();
     if (caseDefinition != null) {
@@ -228,7 +237,6 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     evt.setTaskDefinitionKey(taskEntity.getTaskDefinitionKey());
     evt.setTenantId(tenantId);
 
-    ExecutionEntity execution = taskEntity.getExecution();
     if (execution != null) {
       evt.setActivityInstanceId(execution.getActivityInstanceId());
     }
@@ -347,9 +355,7 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     String sourceActivityInstanceId = null;
 
     if(variableInstance.getExecutionId() != null) {
-      ExecutionEntity scopeExecution = Context.getCommandContext()
-        .getDbEntityManager()
-        .selectById(ExecutionEntity.class, variableInstance.getExecutionId());
+      ExecutionEntity scopeExecution = variableInstance.getExecution();
 
       if (variableInstance.getTaskId() == null
           && !variableInstance.isConcurrentLocal()) {
@@ -402,6 +408,35 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
     return evt;
   }
 
+  // process definition ////////////////////////////
+
+  /**
+   * Returns the process definition of the execution if it is the expected one. This avoids
+   * a lookup in the deployment cache for entities which only know the id of their process definition.
+   */
+  protected ProcessDefinitionEntity getProcessDefinition(ExecutionEntity execution, String processDefinitionId) {
+    if (execution != null && processDefinitionId != null && processDefinitionId.equals(execution.getProcessDefinitionId())) {
+      return execution.getProcessDefinition();
+    }
+    return null;
+  }
+
+  /**
+   * Like {@link #getProcessDefinition(ExecutionEntity, String)}, but only considers the execution
+   * if it is already loaded in this command. The execution is never selected from the database.
+   */
+  protected ProcessDefinitionEntity getProcessDefinition(String executionId, String processDefinitionId) {
+    if (executionId == null) {
+      return null;
+    }
+
+    ExecutionEntity execution = Context
+        .getCommandContext()
+        .getDbEntityManager()
+        .getCachedEntity(ExecutionEntity.class, executionId);
+    return getProcessDefinition(execution, processDefinitionId);
+  }
+
   // event instance factory ////////////////////////
 
   protected HistoricProcessInstanceEventEntity newProcessInstanceEventEntity(ExecutionEntity execution) {
@@ -527,6 +562,12 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       evt.setDurationInMillis(evt.getEndTime().getTime()-evt.getStartTime().getTime());
     }
 
+    // set removal time for the history cleanup
+    ProcessDefinitionEntity definition = executionEntity.getProcessDefinition();
+    if (definition != null) {
+      evt.setRemovalTime(HistoryCleanupHelper.calculateRemovalTime(evt.getEndTime(), definition.getHistoryTimeToLive()));
+    }
+
     // set delete reason (if applicable).
     if (executionEntity.getDeleteReason() != null) {
       evt.setDeleteReason(executionEntity.getDeleteReason());
@@ -809,8 +850,12 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
 
       evt.setProcessDefinitionId(task.getProcessDefinitionId());
 
-      if (task.getProcessDefinition() != null) {
-        evt.setProcessDefinitionKey(task.getProcessDefinition().getKey());
+      ProcessDefinitionEntity definition = getProcessDefinition(task.getExecutionId(), task.getProcessDefinitionId());
+      if (definition == null) {
+        definition = task.getProcessDefinition();
+      }
+      if (definition != null) {
+        evt.setProcessDefinitionKey(definition.getKey());
       }
     }
 
@@ -898,7 +943,8 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       // stacktrace
       String exceptionStacktrace = getExceptionStacktrace(exception);
       byte[] exceptionBytes = toByteArray(exceptionStacktrace);
-      ByteArrayEntity byteArray = createJobExceptionByteArray(exceptionBytes);
+      // repeated failures of the job with the same stacktrace share the byte array
+      ByteArrayEntity byteArray = createSharedExceptionByteArray(JOB_EXCEPTION_BYTE_ARRAY_NAME, exceptionBytes, job.getId());
       event.setExceptionByteArrayId(byteArray.getId());
     }
 
@@ -128,6 +128,7 @@ public class BeanELResolver extends ELResolver {
 
 	private final boolean readOnly;
 	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+	private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Method>> methodCache;
 	
 	private ExpressionFactory defaultFactory;
 
@@ -144,6 +145,7 @@ public class BeanELResolver extends ELResolver {
 	public BeanELResolver(boolean readOnly) {
 		this.readOnly = readOnly;
 		this.cache = new ConcurrentHashMap<Class<?>, BeanProperties>();
+		this.methodCache = new ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, Method>>();
 	}
 
 	/**
@@ -487,16 +489,45 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
-  private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+	private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+		Class<?> baseClass = base.getClass();
 		if (types != null) {
 			try {
-				return findAccessibleMethod(base.getClass().getMethod(name, types));
+				return findAccessibleMethod(baseClass.getMethod(name, types));
 			} catch (NoSuchMethodException e) {
 				return null;
 			}
 		}
+		if (!isCacheable(baseClass)) {
+			return findMethod(baseClass, name, paramCount);
+		}
+		// remember the method found by name and parameter count, without introspecting the bean properties
+		ConcurrentHashMap<String, Method> methods = methodCache.get(baseClass);
+		if (methods == null) {
+			ConcurrentHashMap<String, Method> newMethods = new ConcurrentHashMap<String, Method>();
+			methods = methodCache.putIfAbsent(baseClass, newMethods);
+			if (methods == null) { // put succeeded, use new value
+				methods = newMethods;
+			}
+		}
+		String key = name + "#" + paramCount;
+		Method method = methods.get(key);
+		if (method == null) {
+			method = findMethod(baseClass, name, paramCount);
+			if (method != null) {
+				methods.put(key, method);
+			}
+		}
+		return method;
+	}
+
+	/**
+	 * Find a public method of the given class by name and parameter count. A matching varargs
+	 * method is only returned if there is no method with exactly the given parameter count.
+	 */
+	protected Method findMethod(Class<?> baseClass, String name, int paramCount) {
 		Method varArgsMethod = null;
-		for (Method method : base.getClass().getMethods()) {
+		for (Method method : baseClass.getMethods()) {
 			if (method.getName().equals(name)) {
 				int formalParamCount = method.getParameterTypes().length;
 				if (method.isVarArgs() && paramCount >= formalParamCount - 1) {
@@ -608,14 +639,7 @@ public class BeanELResolver extends ELResolver {
 	 *             if no BeanProperty can be found.
 	 */
 	private final BeanProperty toBeanProperty(Object base, Object property) {
-		BeanProperties beanProperties = cache.get(base.getClass());
-		if (beanProperties == null) {
-			BeanProperties newBeanProperties = new BeanProperties(base.getClass());
-			beanProperties = cache.putIfAbsent(base.getClass(), newBeanProperties);
-			if (beanProperties == null) { // put succeeded, use new value
-				beanProperties = newBeanProperties;
-			}
-		}
+		BeanProperties beanProperties = getBeanProperties(base.getClass());
 		BeanProperty beanProperty = property == null ? null : beanProperties.getBeanProperty(property.toString());
 		if (beanProperty == null) {
 			throw new PropertyNotFoundException("Could not find property " + property + " in " + base.getClass());
@@ -623,6 +647,37 @@ public class BeanELResolver extends ELResolver {
 		return beanProperty;
 	}
 
+	/**
+	 * Lookup the cached BeanProperties of the given class, introspect the class if it is not cached yet.
+	 */
+	private final BeanProperties getBeanProperties(Class<?> baseClass) {
+		if (!isCacheable(baseClass)) {
+			return new BeanProperties(baseClass);
+		}
+		BeanProperties beanProperties = cache.get(baseClass);
+		if (beanProperties == null) {
+			BeanProperties newBeanProperties = new BeanProperties(baseClass);
+			beanProperties = cache.putIfAbsent(baseClass, newBeanProperties);
+			if (beanProperties == null) { // put succeeded, use new value
+				beanProperties = newBeanProperties;
+			}
+		}
+		return beanProperties;
+	}
+
+	/**
+	 * Decides whether the introspected properties and the resolved methods of the given class are
+	 * cached by this resolver. The cache keeps the class and thus its class loader alive for the
+	 * lifetime of the resolver. This implementation caches all classes.
+	 * 
+	 * @param beanClass
+	 *            The class of a bean.
+	 * @return true if the class may be cached by this resolver
+	 */
+	protected boolean isCacheable(Class<?> beanClass) {
+		return true;
+	}
+
 	/**
 	 * This method is not part of the API, though it can be used (reflectively) by clients of this
 	 * class to remove entries from the cache when the beans are being unloaded.
@@ -641,5 +696,11 @@ public class BeanELResolver extends ELResolver {
 				classes.remove();
 			}
 		}
+		classes = methodCache.keySet().iterator();
+		while (classes.hasNext()) {
+			if (loader == classes.next().getClassLoader()) {
+				classes.remove();
+			}
+		}
 	}
 }
@@ -6,9 +6,17 @@ package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 public class HistoryCleanupContext {
 
   private boolean immediatelyDue;
+  private int partitionFrom;
+  private int partitionTo;
 
-  public HistoryCleanupContext(boolean immediatelyDue) {
+  public HistoryCleanupContext(boolean immediatelyDue, int partitionFrom, int partitionTo) {
     this.immediatelyDue = immediatelyDue;
+    this.partitionFrom = partitionFrom;
+    this.partitionTo = partitionTo;
+  }
+
+  public HistoryCleanupContext(boolean immediatelyDue) {
+    this(immediatelyDue, 0, HistoryCleanupHelper.NUMBER_OF_CLEANUP_PARTITIONS - 1);
   }
 
   public boolean isImmediatelyDue() {
@@ -18,4 +26,20 @@ public class HistoryCleanupContext {
   public void setImmediatelyDue(boolean immediatelyDue) {
     this.immediatelyDue = immediatelyDue;
   }
+
+  public int getPartitionFrom() {
+    return partitionFrom;
+  }
+
+  public void setPartitionFrom(int partitionFrom) {
+    this.partitionFrom = partitionFrom;
+  }
+
+  public int getPartitionTo() {
+    return partitionTo;
+  }
+
+  public void setPartitionTo(int partitionTo) {
+    this.partitionTo = partitionTo;
+  }
 }
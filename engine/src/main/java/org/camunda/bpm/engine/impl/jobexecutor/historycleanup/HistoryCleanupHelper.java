@@ -16,6 +16,11 @@ public abstract class HistoryCleanupHelper {
 
   public static final SimpleDateFormat TIME_FORMAT_WITHOUT_SECONDS_WITH_TIMEZONE = new SimpleDateFormat("HH:mmZ");
 
+  /**
+   * Number of cleanup partitions the history of the process instances is spread over, see {@link #getCleanupPartition(String)}.
+   */
+  public static final int NUMBER_OF_CLEANUP_PARTITIONS = 60;
+
   public static Date getNextRunWithinBatchWindow(Date date, CommandContext commandContext) {
     return getNextRunWithinBatchWindow(date, getBatchWindowStartTime(commandContext));
   }
@@ -78,6 +83,17 @@ public abstract class HistoryCleanupHelper {
     return c.getTime();
   }
 
+  /**
+   * Calculates the time after which the history of a process instance that ended at the given time
+   * may be removed. Returns <code>null</code> if the history should be kept forever.
+   */
+  public static Date calculateRemovalTime(Date endTime, Integer historyTimeToLive) {
+    if (endTime != null && historyTimeToLive != null) {
+      return addDays(endTime, historyTimeToLive);
+    }
+    return null;
+  }
+
   private static Date addDays(Date date, int amount) {
     Calendar c = Calendar.getInstance();
     c.setTime(date);
@@ -85,6 +101,28 @@ public abstract class HistoryCleanupHelper {
     return c.getTime();
   }
 
+  /**
+   * Returns the cleanup partition of the history of the given process instance. The partition is stored
+   * together with the removal time, so that parallel history cleanup jobs can select their share of the
+   * history by an indexed column.
+   */
+  public static int getCleanupPartition(String processInstanceId) {
+    return (processInstanceId.hashCode() & Integer.MAX_VALUE) % NUMBER_OF_CLEANUP_PARTITIONS;
+  }
+
+  /**
+   * Splits the cleanup partitions into the given number of disjoint ranges, one for each parallel history cleanup job.
+   * @return array of <code>{partitionFrom, partitionTo}</code> pairs, both inclusive
+   */
+  public static int[][] listCleanupPartitionChunks(int numberOfChunks) {
+    int[][] partitionChunks = new int[numberOfChunks][2];
+    for (int i = 0; i < numberOfChunks; i++) {
+      partitionChunks[i][0] = i * NUMBER_OF_CLEANUP_PARTITIONS / numberOfChunks;
+      partitionChunks[i][1] = (i + 1) * NUMBER_OF_CLEANUP_PARTITIONS / numberOfChunks - 1;
+    }
+    return partitionChunks;
+  }
+
   public static Date parseTimeConfiguration(String time) throws ParseException {
     try {
       return TIME_FORMAT_WITHOUT_SECONDS_WITH_TIMEZONE.parse(time);
@@ -8,6 +8,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -31,8 +32,8 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
 
   @Override
   public void execute(HistoryCleanupJobHandlerConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
-    //find JobEntity
-    JobEntity jobEntity = commandContext.getJobManager().findJobByHandlerType(getType());
+    //there may be several history cleanup jobs, each responsible for its own range of cleanup partitions
+    JobEntity jobEntity = commandContext.getCurrentJob();
 
     boolean rescheduled = false;
 
@@ -40,22 +41,15 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
         || (commandContext.getProcessEngineConfiguration().isEnableAutoHistoryCleanup()
             && HistoryCleanupHelper.isBatchWindowConfigured(commandContext)
             && HistoryCleanupHelper.isWithinBatchWindow(ClockUtil.getCurrentTime(), commandContext)) ) {
-      //find data to delete
-      List<String> processInstanceIds = getProcessInstanceIds(commandContext);
-      if (!processInstanceIds.isEmpty() && processInstanceIds.size() >= getBatchSizeThreshold(commandContext)) {
-
-        //delete bunch of data
-        commandContext.getHistoricProcessInstanceManager().deleteHistoricProcessInstanceByIds(processInstanceIds);
-
+      //find and delete data
+      int deletedCount = deleteHistoricProcessInstances(configuration, commandContext);
+      reportMetrics(deletedCount, commandContext);
+      if (deletedCount > 0 && deletedCount >= getBatchSizeThreshold(commandContext)) {
         //reschedule now
         commandContext.getJobManager().reschedule(jobEntity, ClockUtil.getCurrentTime());
         rescheduled = true;
         cancelCountEmptyRuns(configuration, jobEntity);
       } else {
-        //still have something to delete
-        if (!processInstanceIds.isEmpty()) {
-          commandContext.getHistoricProcessInstanceManager().deleteHistoricProcessInstanceByIds(processInstanceIds);
-        }
         //not enough data for cleanup was found
         if (HistoryCleanupHelper.isWithinBatchWindow(ClockUtil.getCurrentTime(), commandContext)) {
           //reschedule after some delay
@@ -97,8 +91,59 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
     jobEntity.setJobHandlerConfiguration(configuration);
   }
 
-  private List<String> getProcessInstanceIds(CommandContext commandContext) {
-    return commandContext.getHistoricProcessInstanceManager().findHistoricProcessInstanceIdsForCleanup(getBatchSize(commandContext));
+  /**
+   * Deletes one batch of historic process instances: first by a range delete before the removal time
+   * of the last process instance of the batch, then the process instances of the batch with this last
+   * removal time by id, and finally process instances without a removal time by id.
+   */
+  private int deleteHistoricProcessInstances(HistoryCleanupJobHandlerConfiguration configuration, CommandContext commandContext) {
+    HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+    int batchSize = getBatchSize(commandContext);
+
+    List<Date> removalTimes = historicProcessInstanceManager.findHistoricProcessInstanceRemovalTimesForCleanup(batchSize,
+        configuration.getPartitionFrom(), configuration.getPartitionTo());
+    if (!removalTimes.isEmpty()) {
+      Date lastRemovalTime = removalTimes.get(removalTimes.size() - 1);
+      // the batch contains all process instances with an earlier removal time, but possibly
+      // not all with the last one, so these are deleted by id to not exceed the batch size
+      historicProcessInstanceManager.deleteHistoricProcessInstancesByRemovalTime(lastRemovalTime,
+          configuration.getPartitionFrom(), configuration.getPartitionTo());
+
+      int lastRemovalTimeCount = countLastRemovalTime(removalTimes);
+      List<String> processInstanceIds = historicProcessInstanceManager.findHistoricProcessInstanceIdsForCleanupByRemovalTime(lastRemovalTime,
+          lastRemovalTimeCount, configuration.getPartitionFrom(), configuration.getPartitionTo());
+      if (!processInstanceIds.isEmpty()) {
+        historicProcessInstanceManager.deleteHistoricProcessInstanceByIds(processInstanceIds);
+      }
+    }
+
+    int deletedCount = removalTimes.size();
+    if (deletedCount < batchSize) {
+      List<String> processInstanceIds = historicProcessInstanceManager.findHistoricProcessInstanceIdsForCleanup(batchSize - deletedCount,
+          configuration.getPartitionFrom(), configuration.getPartitionTo());
+      if (!processInstanceIds.isEmpty()) {
+        historicProcessInstanceManager.deleteHistoricProcessInstanceByIds(processInstanceIds);
+      }
+      deletedCount += processInstanceIds.size();
+    }
+
+    return deletedCount;
+  }
+
+  private int countLastRemovalTime(List<Date> removalTimes) {
+    Date lastRemovalTime = removalTimes.get(removalTimes.size() - 1);
+    int count = 0;
+    for (int i = removalTimes.size() - 1; i >= 0 && lastRemovalTime.equals(removalTimes.get(i)); i--) {
+      count++;
+    }
+    return count;
+  }
+
+  private void reportMetrics(int deletedCount, CommandContext commandContext) {
+    if (deletedCount > 0 && commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
+      commandContext.getProcessEngineConfiguration().getMetricsRegistry()
+        .markOccurrence(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, deletedCount);
+    }
   }
 
   @Override
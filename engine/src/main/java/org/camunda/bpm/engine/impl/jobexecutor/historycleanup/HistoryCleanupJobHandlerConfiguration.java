@@ -27,6 +27,8 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
 
   public static final String JOB_CONFIG_COUNT_EMPTY_RUNS = "countEmptyRuns";
   public static final String JOB_CONFIG_EXECUTE_AT_ONCE = "immediatelyDue";
+  public static final String JOB_CONFIG_PARTITION_FROM = "partitionFrom";
+  public static final String JOB_CONFIG_PARTITION_TO = "partitionTo";
 
   /**
    * Counts runs without data. Is used within batch window to calculate the delay between two job runs in case no data for cleanup was found.
@@ -38,6 +40,15 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
    */
   private boolean immediatelyDue;
 
+  /**
+   * Together with {@link #partitionTo} the range of cleanup partitions of the historic process instances
+   * this job cleans up. Parallel history cleanup jobs work on disjoint partition ranges.
+   * @see HistoryCleanupHelper#getCleanupPartition(String)
+   */
+  private int partitionFrom = 0;
+
+  private int partitionTo = HistoryCleanupHelper.NUMBER_OF_CLEANUP_PARTITIONS - 1;
+
   public HistoryCleanupJobHandlerConfiguration() {
   }
 
@@ -46,6 +57,8 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
     JSONObject json = new JSONObject();
     json.put(JOB_CONFIG_COUNT_EMPTY_RUNS, countEmptyRuns);
     json.put(JOB_CONFIG_EXECUTE_AT_ONCE, immediatelyDue);
+    json.put(JOB_CONFIG_PARTITION_FROM, partitionFrom);
+    json.put(JOB_CONFIG_PARTITION_TO, partitionTo);
     return json.toString();
   }
 
@@ -57,6 +70,12 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
     if (jsonObject.has(JOB_CONFIG_EXECUTE_AT_ONCE)) {
       config.setImmediatelyDue(jsonObject.getBoolean(JOB_CONFIG_EXECUTE_AT_ONCE));
     }
+    if (jsonObject.has(JOB_CONFIG_PARTITION_FROM)) {
+      config.setPartitionFrom(jsonObject.getInt(JOB_CONFIG_PARTITION_FROM));
+    }
+    if (jsonObject.has(JOB_CONFIG_PARTITION_TO)) {
+      config.setPartitionTo(jsonObject.getInt(JOB_CONFIG_PARTITION_TO));
+    }
     return config;
   }
 
@@ -93,5 +112,20 @@ public class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfigur
     this.immediatelyDue = immediatelyDue;
   }
 
-}
+  public int getPartitionFrom() {
+    return partitionFrom;
+  }
 
+  public void setPartitionFrom(int partitionFrom) {
+    this.partitionFrom = partitionFrom;
+  }
+
+  public int getPartitionTo() {
+    return partitionTo;
+  }
+
+  public void setPartitionTo(int partitionTo) {
+    this.partitionTo = partitionTo;
+  }
+
+}
@@ -72,6 +72,10 @@ public abstract class AstProperty extends AstNode {
 	public final boolean isLeftValue() {
 		return lvalue;
 	}
+
+	public final boolean isStrict() {
+		return strict;
+	}
 	
 	public boolean isMethodInvocation() {
 		return false;
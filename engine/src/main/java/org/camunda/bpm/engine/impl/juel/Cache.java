@@ -15,71 +15,172 @@
  */ 
 package org.camunda.bpm.engine.impl.juel;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.WeakHashMap;
-
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Simple (thread-safe) LRU cache.
- * After the cache size reached a certain limit, the least recently used entry is removed,
- * when adding a new entry.
+ * Simple (thread-safe) cache without locking.
+ * After the cache size reached a certain limit, the entry which was added first is removed,
+ * when adding a new entry. Lookups do not reorder the entries, so they never block each other.
+ * <p>
+ * By default, a removed entry is kept in a weak second level as long as its tree is still
+ * referenced, e.g. by the expressions of a deployed process definition. A lookup which finds
+ * the tree in the second level adds it to the cache again, so trees which are in use are not
+ * parsed again although the eviction order is first in, first out.
  *
  * @author Christoph Beck
  */
 public final class Cache implements TreeCache {
-  private final Map<String,Tree> primary;
-  private final Map<String,Tree> secondary;
-
-  /**
-   * Constructor.
-   * Use a {@link WeakHashMap} as secondary map.
-   * @param size maximum primary cache size
-   */
-	public Cache(int size) {
-		this(size, new WeakHashMap<String,Tree>());
+	private final ConcurrentMap<String,Tree> map;
+	private final ConcurrentLinkedQueue<String> queue;
+	private final AtomicInteger size;
+	private final int capacity;
+	private final Map<String,Tree> secondary;
+	private final ConcurrentMap<String,TreeReference> weakSecondary;
+	private final ReferenceQueue<Tree> collectedTrees;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 * Removed entries are kept in a weak second level.
+	 * @param capacity maximum cache size
+	 */
+	public Cache(int capacity) {
+		this(capacity, 16);
 	}
 
 	/**
 	 * Constructor.
-	 * If the least recently used entry is removed from the primary cache, it is added to
-	 * the secondary map.
-   * @param size maximum primary cache size
+	 * Removed entries are kept in a weak second level.
+	 * @param capacity maximum cache size
+	 * @param concurrencyLevel the estimated number of threads which update the cache concurrently
+	 */
+	public Cache(int capacity, int concurrencyLevel) {
+		this(capacity, concurrencyLevel, true);
+	}
+
+	/**
+	 * Constructor.
+	 * @param capacity maximum cache size
+	 * @param concurrencyLevel the estimated number of threads which update the cache concurrently
+	 * @param weakSecondLevel if <code>true</code>, removed entries are kept as long as their trees are referenced
+	 */
+	public Cache(int capacity, int concurrencyLevel, boolean weakSecondLevel) {
+		this(capacity, concurrencyLevel, null, weakSecondLevel);
+	}
+
+	/**
+	 * Constructor.
+	 * If an entry is removed from the cache, it is added to the secondary map.
+	 * @param capacity maximum cache size
 	 * @param secondary the secondary map (may be <code>null</code>)
+	 * @deprecated the secondary map is accessed under a global lock, use {@link #Cache(int)}
 	 */
-	@SuppressWarnings("serial")
-	public Cache(final int size, Map<String,Tree> secondary) {
-		this.primary = Collections.synchronizedMap(new LinkedHashMap<String,Tree>(16, 0.75f, true) {
-			@Override
-			protected boolean removeEldestEntry(Entry<String,Tree> eldest) {
-				if (size() > size) {
-					if (Cache.this.secondary != null) { // move to secondary cache
-						Cache.this.secondary.put(eldest.getKey(), eldest.getValue());
-					}
-					return true;
-				}
-				return false;
-			}
-		});
+	@Deprecated
+	public Cache(int capacity, Map<String,Tree> secondary) {
+		this(capacity, 16, secondary, false);
+	}
+
+	private Cache(int capacity, int concurrencyLevel, Map<String,Tree> secondary, boolean weakSecondLevel) {
+		this.map = new ConcurrentHashMap<String,Tree>(16, 0.75f, concurrencyLevel);
+		this.queue = new ConcurrentLinkedQueue<String>();
+		this.size = new AtomicInteger();
+		this.capacity = capacity;
 		this.secondary = secondary == null ? null : Collections.synchronizedMap(secondary);
+		if (weakSecondLevel) {
+			this.weakSecondary = new ConcurrentHashMap<String,TreeReference>(16, 0.75f, concurrencyLevel);
+			this.collectedTrees = new ReferenceQueue<Tree>();
+		} else {
+			this.weakSecondary = null;
+			this.collectedTrees = null;
+		}
+	}
+
+	public int size() {
+		return size.get();
 	}
 
 	public Tree get(String expression) {
-		if (secondary == null) {
-			return primary.get(expression);
-		} else {
-			Tree tree = primary.get(expression);
-			if (tree == null) {
-				tree = secondary.get(expression);
+		Tree tree = map.get(expression);
+		if (tree == null && secondary != null) {
+			tree = secondary.get(expression);
+		}
+		if (tree == null && weakSecondary != null) {
+			TreeReference reference = weakSecondary.get(expression);
+			tree = reference == null ? null : reference.get();
+			if (tree != null) { // the tree is still in use, add it to the cache again
+				weakSecondary.remove(expression, reference);
+				put(expression, tree);
 			}
-			return tree;
 		}
+		if (tree == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return tree;
 	}
 
 	public void put(String expression, Tree tree) {
-		primary.put(expression, tree);
+		if (map.putIfAbsent(expression, tree) == null) {
+			queue.offer(expression);
+			if (size.incrementAndGet() > capacity) {
+				size.decrementAndGet();
+				String eldest = queue.poll();
+				if (eldest != null) {
+					Tree eldestTree = map.remove(eldest);
+					if (eldestTree != null && secondary != null) { // move to secondary cache
+						secondary.put(eldest, eldestTree);
+					}
+					if (eldestTree != null && weakSecondary != null) { // move to weak second level
+						purgeCollectedTrees();
+						weakSecondary.put(eldest, new TreeReference(eldest, eldestTree, collectedTrees));
+					}
+				}
+			}
+		}
+	}
+
+	private void purgeCollectedTrees() {
+		Reference<? extends Tree> reference;
+		while ((reference = collectedTrees.poll()) != null) {
+			weakSecondary.remove(((TreeReference) reference).expression, reference);
+		}
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the ratio of lookups which found a parsed tree, <code>0</code> if there was no lookup yet
+	 */
+	public double getHitRate() {
+		long hitCount = hits.get();
+		long lookups = hitCount + misses.get();
+		return lookups == 0 ? 0 : (double) hitCount / lookups;
+	}
+
+	private static final class TreeReference extends WeakReference<Tree> {
+		private final String expression;
+
+		TreeReference(String expression, Tree tree, ReferenceQueue<Tree> queue) {
+			super(tree, queue);
+			this.expression = expression;
+		}
 	}
 }
@@ -413,6 +413,13 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 		return null;
 	}
 
+	/**
+	 * @return the tree store used to parse and cache parse trees
+	 */
+	public TreeStore getTreeStore() {
+		return store;
+	}
+
 	@Override
 	public final Object coerceToType(Object obj, Class<?> targetType) {
 		return converter.convert(obj, targetType);
@@ -151,6 +151,20 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
 		return node.getValueReference(bindings, context);
 	}
 
+	/**
+	 * @return the root node of the parse tree
+	 */
+	public ExpressionNode getNode() {
+		return node;
+	}
+
+	/**
+	 * @return the bindings of the functions and variables of the parse tree
+	 */
+	public Bindings getBindings() {
+		return bindings;
+	}
+
 	/**
 	 * Answer <code>true</code> if this could be used as an lvalue.
 	 * This is the case for eval expressions consisting of a simple identifier or
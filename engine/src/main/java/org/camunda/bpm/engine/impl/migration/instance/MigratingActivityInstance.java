@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -350,7 +351,7 @@ public class MigratingActivityInstance extends MigratingScopeInstance implements
 
   protected void migrateProcessInstanceHistory(final DelegateExecution execution) {
     HistoryLevel historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
-    if (!historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_MIGRATE, this)) {
+    if (!HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.PROCESS_INSTANCE_MIGRATE, this, targetScope.getProcessDefinition())) {
       return;
     }
 
@@ -364,7 +365,7 @@ public class MigratingActivityInstance extends MigratingScopeInstance implements
 
   protected void migrateActivityInstanceHistory(final DelegateExecution execution) {
     HistoryLevel historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
-    if (!historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_MIGRATE, this)) {
+    if (!HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.ACTIVITY_INSTANCE_MIGRATE, this, targetScope)) {
       return;
     }
 
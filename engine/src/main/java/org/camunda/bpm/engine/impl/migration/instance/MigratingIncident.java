@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.migration.instance;
 
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -67,7 +68,7 @@ public class MigratingIncident implements MigratingInstance {
   protected void migrateHistory() {
     HistoryLevel historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
 
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.INCIDENT_MIGRATE, this)) {
+    if (HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.INCIDENT_MIGRATE, this, targetScope)) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -14,12 +14,14 @@ package org.camunda.bpm.engine.impl.migration.instance;
 
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
 
 /**
@@ -75,7 +77,7 @@ public class MigratingVariableInstance implements MigratingInstance {
   protected void migrateHistory() {
     HistoryLevel historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
 
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_MIGRATE, this)) {
+    if (HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.VARIABLE_INSTANCE_MIGRATE, this, getProcessDefinition())) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -85,6 +87,11 @@ public class MigratingVariableInstance implements MigratingInstance {
     }
   }
 
+  protected ProcessDefinitionImpl getProcessDefinition() {
+    ExecutionEntity execution = variable.getExecution();
+    return execution != null ? execution.getProcessDefinition() : null;
+  }
+
   @Override
   public void migrateDependentEntities() {
     // nothing to do
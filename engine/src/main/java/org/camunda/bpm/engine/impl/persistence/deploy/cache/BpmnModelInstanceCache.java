@@ -33,6 +33,10 @@ public class BpmnModelInstanceCache extends ModelInstanceCache<BpmnModelInstance
     super(factory, cacheCapacity, definitionCache);
   }
 
+  public BpmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<ProcessDefinitionEntity> definitionCache, boolean softReferences) {
+    super(factory, cacheCapacity, definitionCache, softReferences);
+  }
+
   @Override
   protected void throwLoadModelException(String definitionId, Exception e) {
     throw LOG.loadModelException("BPMN", "process", definitionId, e);
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.io.Serializable;
+
+/**
+ * Tells the deployment caches of other process engines that a definition was removed
+ * and must not be served from their caches anymore.
+ *
+ * @see CacheInvalidationTransport
+ */
+public class CacheInvalidation implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String PROCESS_DEFINITION = "process-definition";
+  public static final String CASE_DEFINITION = "case-definition";
+  public static final String DECISION_DEFINITION = "decision-definition";
+  public static final String DECISION_REQUIREMENTS_DEFINITION = "decision-requirements-definition";
+
+  protected String definitionType;
+  protected String definitionId;
+
+  public CacheInvalidation(String definitionType, String definitionId) {
+    this.definitionType = definitionType;
+    this.definitionId = definitionId;
+  }
+
+  public String getDefinitionType() {
+    return definitionType;
+  }
+
+  public String getDefinitionId() {
+    return definitionId;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[definitionType=" + definitionType
+           + ", definitionId=" + definitionId
+           + "]";
+  }
+
+}
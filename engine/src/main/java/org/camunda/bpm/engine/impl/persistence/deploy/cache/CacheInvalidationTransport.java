@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * <p>Distributes {@link CacheInvalidation}s between the deployment caches of process engines
+ * which share a database, e.g. the nodes of a cluster.</p>
+ *
+ * <p>When a definition is removed, the deployment cache of the process engine which removed it
+ * publishes an invalidation after the transaction was committed. The transport delivers it to
+ * all other registered deployment caches by calling {@link DeploymentCache#invalidate(CacheInvalidation)}.
+ * Implementations can be based on a message broker. Process engines in the same JVM can share a
+ * {@link LocalCacheInvalidationTransport}; process engines which only share a database can use a
+ * {@link DatabaseCacheInvalidationTransport}, which looks up the removed definitions instead of
+ * receiving them.</p>
+ */
+public interface CacheInvalidationTransport {
+
+  /**
+   * Registers the deployment cache to receive the invalidations published by other caches.
+   */
+  void register(DeploymentCache deploymentCache);
+
+  /**
+   * Stops the delivery of invalidations to the given deployment cache.
+   */
+  void unregister(DeploymentCache deploymentCache);
+
+  /**
+   * Delivers the invalidation to all registered deployment caches except the given source.
+   */
+  void publish(DeploymentCache source, CacheInvalidation invalidation);
+
+}
@@ -0,0 +1,28 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * Estimates the memory which is retained by a value of the deployment cache.
+ *
+ * @see WeightedCache
+ */
+public interface CacheWeigher {
+
+  /**
+   * @param value the value which is put into the cache
+   * @return the estimated weight of the value, must be at least 1
+   */
+  int weigh(Object value);
+
+}
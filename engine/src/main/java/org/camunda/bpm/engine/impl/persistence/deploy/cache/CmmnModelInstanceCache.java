@@ -30,6 +30,10 @@ public class CmmnModelInstanceCache extends ModelInstanceCache<CmmnModelInstance
     super(factory, cacheCapacity, definitionCache);
   }
 
+  public CmmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<CaseDefinitionEntity> definitionCache, boolean softReferences) {
+    super(factory, cacheCapacity, definitionCache, softReferences);
+  }
+
   @Override
   protected void throwLoadModelException(String definitionId, Exception e) {
     throw LOG.loadModelException("CMMN", "case", definitionId, e);
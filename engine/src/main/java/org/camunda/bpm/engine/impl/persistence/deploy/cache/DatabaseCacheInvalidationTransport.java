@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
+
+/**
+ * <p>Invalidates the deployment caches of process engines which only share a database, e.g. the
+ * nodes of a cluster. Nothing is sent to the other process engines: each registered deployment cache
+ * periodically looks up its cached definitions in the database and evicts the ones which were removed.</p>
+ *
+ * <p>A definition which was removed by another process engine is served from the cache until the next
+ * lookup, i.e. for at most one polling interval. Definitions removed by the same process engine are
+ * evicted immediately by the deployment cache itself.</p>
+ */
+public class DatabaseCacheInvalidationTransport implements CacheInvalidationTransport {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final long DEFAULT_POLLING_INTERVAL = 10000L;
+
+  /**
+   * Keeps the size of the id lists below the limit of some databases for <code>in</code> clauses.
+   */
+  protected static final int MAX_IDS_PER_QUERY = 1000;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected long pollingInterval;
+
+  protected List<DeploymentCache> deploymentCaches = new CopyOnWriteArrayList<DeploymentCache>();
+  protected Timer timer;
+
+  public DatabaseCacheInvalidationTransport(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this(processEngineConfiguration, DEFAULT_POLLING_INTERVAL);
+  }
+
+  public DatabaseCacheInvalidationTransport(ProcessEngineConfigurationImpl processEngineConfiguration, long pollingInterval) {
+    this.processEngineConfiguration = processEngineConfiguration;
+    this.pollingInterval = pollingInterval;
+  }
+
+  public synchronized void register(DeploymentCache deploymentCache) {
+    deploymentCaches.add(deploymentCache);
+
+    if (timer == null) {
+      timer = new Timer("camunda-deployment-cache-invalidation", true);
+      timer.schedule(new TimerTask() {
+        public void run() {
+          evictRemovedDefinitions();
+        }
+      }, pollingInterval, pollingInterval);
+    }
+  }
+
+  public synchronized void unregister(DeploymentCache deploymentCache) {
+    deploymentCaches.remove(deploymentCache);
+
+    if (deploymentCaches.isEmpty() && timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  /**
+   * The removal of a definition is published by committing it to the database.
+   */
+  public void publish(DeploymentCache source, CacheInvalidation invalidation) {
+    // nothing to do
+  }
+
+  public void evictRemovedDefinitions() {
+    for (DeploymentCache deploymentCache : deploymentCaches) {
+      try {
+        evictRemovedDefinitions(deploymentCache);
+      }
+      catch (Exception e) {
+        // try again with the next lookup
+        LOG.evictRemovedDefinitionsFailure(e);
+      }
+    }
+  }
+
+  protected void evictRemovedDefinitions(DeploymentCache deploymentCache) {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+
+    for (String[] ids : partition(deploymentCache.getProcessDefinitionCache().keySet())) {
+      evictRemovedDefinitions(deploymentCache, CacheInvalidation.PROCESS_DEFINITION, ids,
+          new ProcessDefinitionQueryImpl(commandExecutor).processDefinitionIdIn(ids).list());
+    }
+
+    for (String[] ids : partition(deploymentCache.getCaseDefinitionCache().keySet())) {
+      evictRemovedDefinitions(deploymentCache, CacheInvalidation.CASE_DEFINITION, ids,
+          new CaseDefinitionQueryImpl(commandExecutor).caseDefinitionIdIn(ids).list());
+    }
+
+    for (String[] ids : partition(deploymentCache.getDecisionDefinitionCache().keySet())) {
+      evictRemovedDefinitions(deploymentCache, CacheInvalidation.DECISION_DEFINITION, ids,
+          new DecisionDefinitionQueryImpl(commandExecutor).decisionDefinitionIdIn(ids).list());
+    }
+
+    for (String[] ids : partition(deploymentCache.getDecisionRequirementsDefinitionCache().keySet())) {
+      evictRemovedDefinitions(deploymentCache, CacheInvalidation.DECISION_REQUIREMENTS_DEFINITION, ids,
+          new DecisionRequirementsDefinitionQueryImpl(commandExecutor).decisionRequirementsDefinitionIdIn(ids).list());
+    }
+  }
+
+  protected void evictRemovedDefinitions(DeploymentCache deploymentCache, String definitionType, String[] cachedIds,
+      List<? extends ResourceDefinition> existingDefinitions) {
+
+    Set<String> existingIds = new HashSet<String>();
+    for (ResourceDefinition existingDefinition : existingDefinitions) {
+      existingIds.add(existingDefinition.getId());
+    }
+
+    for (String cachedId : cachedIds) {
+      if (!existingIds.contains(cachedId)) {
+        deploymentCache.invalidate(new CacheInvalidation(definitionType, cachedId));
+      }
+    }
+  }
+
+  protected List<String[]> partition(Set<String> ids) {
+    List<String[]> partitions = new ArrayList<String[]>();
+    List<String> idList = new ArrayList<String>(ids);
+
+    for (int i = 0; i < idList.size(); i += MAX_IDS_PER_QUERY) {
+      List<String> partition = idList.subList(i, Math.min(i + MAX_IDS_PER_QUERY, idList.size()));
+      partitions.add(partition.toArray(new String[partition.size()]));
+    }
+
+    return partitions;
+  }
+
+  public long getPollingInterval() {
+    return pollingInterval;
+  }
+
+}
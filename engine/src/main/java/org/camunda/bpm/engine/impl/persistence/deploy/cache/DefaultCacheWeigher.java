@@ -0,0 +1,72 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.Reference;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.core.model.CoreActivity;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.instance.DomElement;
+
+/**
+ * <p>Weighs the values of the deployment cache by the number of elements they consist of:
+ * a parsed process or case definition by its number of activities and a model instance
+ * by its number of XML elements. Referenced values are weighed by their referent. All
+ * other values have the weight 1.</p>
+ *
+ * <p>The values are not weighed by the byte length of their deployment resource. The cached
+ * values do not hold their resource, so weighing by it would mean loading the resource from
+ * the database again on every put. Besides, the retained memory of a parsed value grows with
+ * its number of elements rather than with the size of its XML, which also contains whitespace,
+ * documentation and diagram interchange elements that are not part of a parsed definition.
+ * A custom {@link CacheWeigher} can be set on the {@link WeightedCacheFactory} if a different
+ * estimate is needed.</p>
+ */
+public class DefaultCacheWeigher implements CacheWeigher {
+
+  public int weigh(Object value) {
+    if (value instanceof Reference) {
+      Object referent = ((Reference<?>) value).get();
+      return referent != null ? weigh(referent) : 1;
+    }
+    else if (value instanceof CoreActivity) {
+      return countActivities((CoreActivity) value);
+    }
+    else if (value instanceof ModelInstance) {
+      DomElement rootElement = ((ModelInstance) value).getDocument().getRootElement();
+      return rootElement != null ? countElements(rootElement) : 1;
+    }
+    else {
+      return 1;
+    }
+  }
+
+  protected int countActivities(CoreActivity activity) {
+    int count = 1;
+    for (CoreActivity childActivity : activity.getActivities()) {
+      count += countActivities(childActivity);
+    }
+    return count;
+  }
+
+  protected int countElements(DomElement element) {
+    int count = 1;
+    List<DomElement> childElements = element.getChildElements();
+    for (DomElement childElement : childElements) {
+      count += countElements(childElement);
+    }
+    return count;
+  }
+
+}
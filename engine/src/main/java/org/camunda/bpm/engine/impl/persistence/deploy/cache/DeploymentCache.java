@@ -15,10 +15,14 @@ package org.camunda.bpm.engine.impl.persistence.deploy.cache;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -47,16 +51,24 @@ public class DeploymentCache {
   protected CmmnModelInstanceCache cmmnModelInstanceCache;
   protected DmnModelInstanceCache dmnModelInstanceCache;
   protected CacheDeployer cacheDeployer = new CacheDeployer();
+  protected CacheInvalidationTransport invalidationTransport;
 
   public DeploymentCache(CacheFactory factory, int cacheCapacity) {
+    this(factory, cacheCapacity, true);
+  }
+
+  /**
+   * @param softReferencedModelInstances if true, the model instances are held through soft references
+   */
+  public DeploymentCache(CacheFactory factory, int cacheCapacity, boolean softReferencedModelInstances) {
     processDefinitionEntityCache = new ProcessDefinitionCache(factory, cacheCapacity, cacheDeployer);
     caseDefinitionCache = new CaseDefinitionCache(factory, cacheCapacity, cacheDeployer);
     decisionDefinitionCache = new DecisionDefinitionCache(factory, cacheCapacity, cacheDeployer);
     decisionRequirementsDefinitionCache = new DecisionRequirementsDefinitionCache(factory, cacheCapacity, cacheDeployer);
 
-    bpmnModelInstanceCache = new BpmnModelInstanceCache(factory, cacheCapacity, processDefinitionEntityCache);
-    cmmnModelInstanceCache = new CmmnModelInstanceCache(factory, cacheCapacity, caseDefinitionCache);
-    dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache);
+    bpmnModelInstanceCache = new BpmnModelInstanceCache(factory, cacheCapacity, processDefinitionEntityCache, softReferencedModelInstances);
+    cmmnModelInstanceCache = new CmmnModelInstanceCache(factory, cacheCapacity, caseDefinitionCache, softReferencedModelInstances);
+    dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache, softReferencedModelInstances);
   }
 
   public void deploy(final DeploymentEntity deployment) {
@@ -114,6 +126,11 @@ public class DeploymentCache {
   }
 
   public void removeProcessDefinition(String processDefinitionId) {
+    evictProcessDefinition(processDefinitionId);
+    publishInvalidation(CacheInvalidation.PROCESS_DEFINITION, processDefinitionId);
+  }
+
+  protected void evictProcessDefinition(String processDefinitionId) {
     processDefinitionEntityCache.removeDefinitionFromCache(processDefinitionId);
     bpmnModelInstanceCache.remove(processDefinitionId);
   }
@@ -174,6 +191,11 @@ public class DeploymentCache {
   }
 
   public void removeCaseDefinition(String caseDefinitionId) {
+    evictCaseDefinition(caseDefinitionId);
+    publishInvalidation(CacheInvalidation.CASE_DEFINITION, caseDefinitionId);
+  }
+
+  protected void evictCaseDefinition(String caseDefinitionId) {
     caseDefinitionCache.removeDefinitionFromCache(caseDefinitionId);
     cmmnModelInstanceCache.remove(caseDefinitionId);
   }
@@ -226,6 +248,11 @@ public class DeploymentCache {
   }
 
   public void removeDecisionDefinition(String decisionDefinitionId) {
+    evictDecisionDefinition(decisionDefinitionId);
+    publishInvalidation(CacheInvalidation.DECISION_DEFINITION, decisionDefinitionId);
+  }
+
+  protected void evictDecisionDefinition(String decisionDefinitionId) {
     decisionDefinitionCache.removeDefinitionFromCache(decisionDefinitionId);
     dmnModelInstanceCache.remove(decisionDefinitionId);
   }
@@ -258,11 +285,71 @@ public class DeploymentCache {
   }
 
   public void removeDecisionRequirementsDefinition(String decisionRequirementsDefinitionId) {
+    evictDecisionRequirementsDefinition(decisionRequirementsDefinitionId);
+    publishInvalidation(CacheInvalidation.DECISION_REQUIREMENTS_DEFINITION, decisionRequirementsDefinitionId);
+  }
+
+  protected void evictDecisionRequirementsDefinition(String decisionRequirementsDefinitionId) {
     decisionRequirementsDefinitionCache.removeDefinitionFromCache(decisionRequirementsDefinitionId);
   }
 
+  // INVALIDATION ////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Removes the definition of the invalidation from this cache, without publishing it again.
+   */
+  public void invalidate(CacheInvalidation invalidation) {
+    String definitionType = invalidation.getDefinitionType();
+    String definitionId = invalidation.getDefinitionId();
+
+    if (CacheInvalidation.PROCESS_DEFINITION.equals(definitionType)) {
+      evictProcessDefinition(definitionId);
+    }
+    else if (CacheInvalidation.CASE_DEFINITION.equals(definitionType)) {
+      evictCaseDefinition(definitionId);
+    }
+    else if (CacheInvalidation.DECISION_DEFINITION.equals(definitionType)) {
+      evictDecisionDefinition(definitionId);
+    }
+    else if (CacheInvalidation.DECISION_REQUIREMENTS_DEFINITION.equals(definitionType)) {
+      evictDecisionRequirementsDefinition(definitionId);
+    }
+  }
+
+  /**
+   * Publishes the invalidation to the deployment caches of other process engines. Inside of a command,
+   * the invalidation is published after the transaction was committed, so that the other process engines
+   * do not load the definition again before its removal is visible in the database.
+   */
+  protected void publishInvalidation(String definitionType, String definitionId) {
+    if (invalidationTransport == null) {
+      return;
+    }
+
+    final CacheInvalidation invalidation = new CacheInvalidation(definitionType, definitionId);
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          invalidationTransport.publish(DeploymentCache.this, invalidation);
+        }
+      });
+    }
+    else {
+      invalidationTransport.publish(this, invalidation);
+    }
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
+  public CacheInvalidationTransport getInvalidationTransport() {
+    return invalidationTransport;
+  }
+
+  public void setInvalidationTransport(CacheInvalidationTransport invalidationTransport) {
+    this.invalidationTransport = invalidationTransport;
+  }
+
   public Cache<String, BpmnModelInstance> getBpmnModelInstanceCache() {
     return bpmnModelInstanceCache.getCache();
   }
@@ -311,7 +398,7 @@ public class DeploymentCache {
 
     for (DecisionRequirementsDefinition decisionRequirementsDefinition : allDefinitionsForDeployment) {
       try {
-        removeDecisionDefinition(decisionRequirementsDefinition.getId());
+        evictDecisionRequirementsDefinition(decisionRequirementsDefinition.getId());
       } catch (Exception e) {
         ProcessEngineLogger.PERSISTENCE_LOGGER
             .removeEntryFromDeploymentCacheFailure("decision requirement", decisionRequirementsDefinition.getId(), e);
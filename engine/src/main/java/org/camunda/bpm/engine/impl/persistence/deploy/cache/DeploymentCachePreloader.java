@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.repository.CaseDefinition;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * <p>Loads the latest version of every process, case and decision definition into the
+ * {@link DeploymentCache} when the process engine is started.</p>
+ *
+ * <p>Each definition is loaded in its own command by a fixed number of daemon threads, so
+ * that the definitions are fetched and parsed in parallel. The deployment cache only
+ * serializes loads of the same deployment resource, which is parsed once. A
+ * definition which fails to load or is not loaded within the configured timeout is logged
+ * and skipped; it is loaded again on its first usage.</p>
+ */
+public class DeploymentCachePreloader {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  public static final String THREAD_NAME_PREFIX = "deployment-cache-preloader-";
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public DeploymentCachePreloader(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  public void preload() {
+    long start = System.currentTimeMillis();
+
+    List<Command<?>> commands = createPreloadCommands();
+    if (commands.isEmpty()) {
+      return;
+    }
+
+    int threads = Math.max(1, Math.min(processEngineConfiguration.getDeploymentCachePreloadThreads(), commands.size()));
+    ExecutorService executorService = Executors.newFixedThreadPool(threads, createThreadFactory());
+
+    List<Future<?>> futures = new ArrayList<Future<?>>();
+    try {
+      for (Command<?> command : commands) {
+        futures.add(executorService.submit(createTask(command)));
+      }
+      executorService.shutdown();
+
+      long timeout = processEngineConfiguration.getDeploymentCachePreloadTimeout();
+      if (!executorService.awaitTermination(timeout, TimeUnit.SECONDS)) {
+        LOG.warnDeploymentCachePreloadTimedOut(timeout);
+      }
+    } catch (InterruptedException e) {
+      LOG.warnDeploymentCachePreloadInterrupted();
+      Thread.currentThread().interrupt();
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    int loaded = 0;
+    for (Future<?> future : futures) {
+      if (future.isDone() && !future.isCancelled()) {
+        try {
+          future.get();
+          loaded++;
+        } catch (ExecutionException e) {
+          LOG.warnDeploymentCachePreloadFailed(e.getCause());
+        } catch (InterruptedException e) {
+          // cannot happen since the future is done
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    LOG.debugDeploymentCachePreloaded(loaded, System.currentTimeMillis() - start);
+  }
+
+  protected ThreadFactory createThreadFactory() {
+    return new ThreadFactory() {
+
+      protected final AtomicInteger threadNumber = new AtomicInteger();
+
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+        // must not keep the JVM alive if a definition cannot be loaded in time
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  protected List<Command<?>> createPreloadCommands() {
+    RepositoryService repositoryService = processEngineConfiguration.getRepositoryService();
+    List<Command<?>> commands = new ArrayList<Command<?>>();
+
+    for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().latestVersion().list()) {
+      commands.add(new LoadProcessDefinitionCmd(processDefinition.getId()));
+    }
+
+    if (processEngineConfiguration.isCmmnEnabled()) {
+      for (CaseDefinition caseDefinition : repositoryService.createCaseDefinitionQuery().latestVersion().list()) {
+        commands.add(new LoadCaseDefinitionCmd(caseDefinition.getId()));
+      }
+    }
+
+    if (processEngineConfiguration.isDmnEnabled()) {
+      for (DecisionDefinition decisionDefinition : repositoryService.createDecisionDefinitionQuery().latestVersion().list()) {
+        commands.add(new LoadDecisionDefinitionCmd(decisionDefinition.getId()));
+      }
+    }
+
+    return commands;
+  }
+
+  protected Callable<Object> createTask(final Command<?> command) {
+    final CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    return new Callable<Object>() {
+      public Object call() throws Exception {
+        return commandExecutor.execute(command);
+      }
+    };
+  }
+
+  protected static class LoadProcessDefinitionCmd implements Command<Void> {
+
+    protected String processDefinitionId;
+
+    public LoadProcessDefinitionCmd(String processDefinitionId) {
+      this.processDefinitionId = processDefinitionId;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      commandContext.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findDeployedProcessDefinitionById(processDefinitionId);
+      return null;
+    }
+  }
+
+  protected static class LoadCaseDefinitionCmd implements Command<Void> {
+
+    protected String caseDefinitionId;
+
+    public LoadCaseDefinitionCmd(String caseDefinitionId) {
+      this.caseDefinitionId = caseDefinitionId;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      commandContext.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findDeployedCaseDefinitionById(caseDefinitionId);
+      return null;
+    }
+  }
+
+  protected static class LoadDecisionDefinitionCmd implements Command<Void> {
+
+    protected String decisionDefinitionId;
+
+    public LoadDecisionDefinitionCmd(String decisionDefinitionId) {
+      this.decisionDefinitionId = decisionDefinitionId;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      commandContext.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findDeployedDecisionDefinitionById(decisionDefinitionId);
+      return null;
+    }
+  }
+
+}
@@ -30,6 +30,10 @@ public class DmnModelInstanceCache extends ModelInstanceCache<DmnModelInstance,
     super(factory, cacheCapacity, definitionCache);
   }
 
+  public DmnModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DecisionDefinitionEntity> definitionCache, boolean softReferences) {
+    super(factory, cacheCapacity, definitionCache, softReferences);
+  }
+
   @Override
   protected void throwLoadModelException(String definitionId, Exception e) {
     throw LOG.loadModelException("DMN", "decision", definitionId, e);
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers invalidations synchronously to the deployment caches of the process engines
+ * in the same JVM which share an instance of this transport.
+ */
+public class LocalCacheInvalidationTransport implements CacheInvalidationTransport {
+
+  protected List<DeploymentCache> deploymentCaches = new CopyOnWriteArrayList<DeploymentCache>();
+
+  public void register(DeploymentCache deploymentCache) {
+    deploymentCaches.add(deploymentCache);
+  }
+
+  public void unregister(DeploymentCache deploymentCache) {
+    deploymentCaches.remove(deploymentCache);
+  }
+
+  public void publish(DeploymentCache source, CacheInvalidation invalidation) {
+    for (DeploymentCache deploymentCache : deploymentCaches) {
+      if (deploymentCache != source) {
+        deploymentCache.invalidate(invalidation);
+      }
+    }
+  }
+
+}
@@ -22,6 +22,7 @@ import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -36,7 +37,20 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   protected ResourceDefinitionCache<DefinitionType> definitionCache;
 
   public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
-    this.instanceCache = factory.createCache(cacheCapacity);
+    this(factory, cacheCapacity, definitionCache, true);
+  }
+
+  /**
+   * @param softReferences if true, the model instances are held through soft references, so that the
+   *   garbage collector can reclaim them; they are read again from the deployment resource on their next use
+   */
+  public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache, boolean softReferences) {
+    if (softReferences) {
+      this.instanceCache = new SoftReferenceCache<String, InstanceType>(factory.<SoftReference<InstanceType>>createCache(cacheCapacity));
+    }
+    else {
+      this.instanceCache = factory.createCache(cacheCapacity);
+    }
     this.definitionCache = definitionCache;
   }
 
@@ -21,6 +21,8 @@ import org.camunda.bpm.engine.repository.ResourceDefinition;
 import org.camunda.commons.utils.cache.Cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -31,6 +33,12 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinition> {
   protected Cache<String, T> cache;
   protected CacheDeployer cacheDeployer;
 
+  /**
+   * One lock per deployed resource which is currently loaded into the cache, so that a resource
+   * is parsed only once while different resources are parsed in parallel.
+   */
+  protected ConcurrentMap<String, Object> resourceLocks = new ConcurrentHashMap<String, Object>();
+
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     this.cache = factory.createCache(cacheCapacity);
     this.cacheDeployer = cacheDeployer;
@@ -98,23 +106,36 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinition> {
     String deploymentId = definition.getDeploymentId();
     T cachedDefinition = cache.get(definitionId);
     if (cachedDefinition == null) {
-      synchronized (this) {
-        cachedDefinition = cache.get(definitionId);
-        if (cachedDefinition == null) {
-          DeploymentEntity deployment = Context
-              .getCommandContext()
-              .getDeploymentManager()
-              .findDeploymentById(deploymentId);
-          deployment.setNew(false);
-          cacheDeployer.deployOnlyGivenResourcesOfDeployment(deployment, definition.getResourceName(), definition.getDiagramResourceName());
+      String resourceKey = deploymentId + "/" + definition.getResourceName();
+      Object resourceLock = getResourceLock(resourceKey);
+      try {
+        synchronized (resourceLock) {
           cachedDefinition = cache.get(definitionId);
+          if (cachedDefinition == null) {
+            DeploymentEntity deployment = Context
+                .getCommandContext()
+                .getDeploymentManager()
+                .findDeploymentById(deploymentId);
+            deployment.setNew(false);
+            cacheDeployer.deployOnlyGivenResourcesOfDeployment(deployment, definition.getResourceName(), definition.getDiagramResourceName());
+            cachedDefinition = cache.get(definitionId);
+          }
         }
       }
+      finally {
+        resourceLocks.remove(resourceKey, resourceLock);
+      }
       checkInvalidDefinitionWasCached(deploymentId, definitionId, cachedDefinition);
     }
     return cachedDefinition;
   }
 
+  protected Object getResourceLock(String resourceKey) {
+    Object resourceLock = new Object();
+    Object existingLock = resourceLocks.putIfAbsent(resourceKey, resourceLock);
+    return existingLock != null ? existingLock : resourceLock;
+  }
+
   public void addDefinition(T definition) {
     cache.put(definition.getId(), definition);
   }
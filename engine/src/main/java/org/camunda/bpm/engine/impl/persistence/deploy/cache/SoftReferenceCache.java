@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Set;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Holds the values of the underlying cache through {@link SoftReference}s, so that the
+ * garbage collector can reclaim them when the heap runs short. A value which was reclaimed
+ * is treated as missing. Its entry is removed from the underlying cache on access, and before
+ * the keys or the size of the cache are read.</p>
+ *
+ * <p>Used for values which are expensive in memory but can be rebuilt from the database,
+ * like model instances.</p>
+ */
+public class SoftReferenceCache<K, V> implements Cache<K, V> {
+
+  protected Cache<K, SoftReference<V>> cache;
+
+  /** receives the references whose values were reclaimed by the garbage collector */
+  protected ReferenceQueue<V> referenceQueue = new ReferenceQueue<V>();
+
+  public SoftReferenceCache(Cache<K, SoftReference<V>> cache) {
+    this.cache = cache;
+  }
+
+  public V get(K key) {
+    SoftReference<V> reference = cache.get(key);
+    if (reference == null) {
+      return null;
+    }
+
+    V value = reference.get();
+    if (value == null) {
+      cache.remove(key);
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    purgeClearedReferences();
+    cache.put(key, new KeyedSoftReference<K, V>(key, value, referenceQueue));
+  }
+
+  public void remove(K key) {
+    cache.remove(key);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public boolean isEmpty() {
+    purgeClearedReferences();
+    return cache.isEmpty();
+  }
+
+  public Set<K> keySet() {
+    purgeClearedReferences();
+    return cache.keySet();
+  }
+
+  public int size() {
+    purgeClearedReferences();
+    return cache.size();
+  }
+
+  /**
+   * Removes the entries whose values were reclaimed by the garbage collector.
+   */
+  @SuppressWarnings("unchecked")
+  protected void purgeClearedReferences() {
+    Reference<? extends V> reference;
+    while ((reference = referenceQueue.poll()) != null) {
+      K key = ((KeyedSoftReference<K, V>) reference).getKey();
+      // the key may have been mapped to a new value in the meantime
+      if (cache.get(key) == reference) {
+        cache.remove(key);
+      }
+    }
+  }
+
+  public Cache<K, SoftReference<V>> getCache() {
+    return cache;
+  }
+
+  protected static class KeyedSoftReference<K, V> extends SoftReference<V> {
+
+    protected K key;
+
+    public KeyedSoftReference(K key, V value, ReferenceQueue<? super V> referenceQueue) {
+      super(value, referenceQueue);
+      this.key = key;
+    }
+
+    public K getKey() {
+      return key;
+    }
+  }
+
+}
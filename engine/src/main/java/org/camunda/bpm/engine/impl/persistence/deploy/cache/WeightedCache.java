@@ -0,0 +1,304 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>A cache which is bounded by the estimated weight of its values. The weight of a value
+ * is determined by a {@link CacheWeigher} when the value is put into the cache.</p>
+ *
+ * <p>If the maximum weight is exceeded, the least frequently used values are evicted. Values
+ * which were used equally often are evicted in the order of their last usage. The usage
+ * frequencies are halved periodically, so that values which were used heavily in the past
+ * can be evicted eventually.</p>
+ *
+ * <p>Reading a value does not lock the cache. The usage of a value is recorded without
+ * synchronization, so that concurrent reads may lose increments of its frequency. The
+ * frequencies and usage order are approximate for that reason, which is sufficient to choose
+ * the values to evict. Putting and removing values is synchronized.</p>
+ *
+ * <p>If latest versions are pinned, the {@link ResourceDefinition} with the highest version of a
+ * key and tenant in the cache is never evicted. Hence, the cache can exceed its maximum weight
+ * if it contains pinned values only.</p>
+ *
+ * <p>Values are only put into the cache after they were parsed, so eviction does a linear scan of
+ * the cache which is cheap compared to the parsing.</p>
+ *
+ * <p>If a {@link MetricsRegistry} is given, hits, misses and evictions are reported as
+ * {@link Metrics#DEPLOYMENT_CACHE_HIT}, {@link Metrics#DEPLOYMENT_CACHE_MISS} and
+ * {@link Metrics#DEPLOYMENT_CACHE_EVICTION}.</p>
+ */
+public class WeightedCache<K, V> implements Cache<K, V> {
+
+  protected static final int MAX_FREQUENCY = 15;
+  protected static final int MIN_AGING_PERIOD = 100;
+
+  protected final long maxWeight;
+  protected final CacheWeigher weigher;
+  protected final boolean pinLatestVersions;
+  protected final MetricsRegistry metricsRegistry;
+
+  protected final ConcurrentHashMap<K, WeightedEntry<V>> entries = new ConcurrentHashMap<K, WeightedEntry<V>>();
+
+  /** guarded by the cache monitor */
+  protected final Map<String, Integer> latestVersions = new HashMap<String, Integer>();
+  protected long weight = 0;
+  protected long hitsAtLastAging = 0;
+
+  /** the logical time of the last usage of a value */
+  protected final AtomicLong clock = new AtomicLong();
+
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  public WeightedCache(long maxWeight, CacheWeigher weigher, boolean pinLatestVersions) {
+    this(maxWeight, weigher, pinLatestVersions, null);
+  }
+
+  public WeightedCache(long maxWeight, CacheWeigher weigher, boolean pinLatestVersions, MetricsRegistry metricsRegistry) {
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("Maximum weight of the cache must be greater than 0");
+    }
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+    this.pinLatestVersions = pinLatestVersions;
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public V get(K key) {
+    WeightedEntry<V> entry = entries.get(key);
+    if (entry == null) {
+      missCount.incrementAndGet();
+      markOccurrence(Metrics.DEPLOYMENT_CACHE_MISS);
+      return null;
+    }
+
+    hitCount.incrementAndGet();
+    markOccurrence(Metrics.DEPLOYMENT_CACHE_HIT);
+
+    int frequency = entry.frequency;
+    if (frequency < MAX_FREQUENCY) {
+      entry.frequency = frequency + 1;
+    }
+    entry.lastAccess = clock.incrementAndGet();
+    return entry.value;
+  }
+
+  public synchronized void put(K key, V value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+
+    WeightedEntry<V> entry = new WeightedEntry<V>(value, Math.max(1, weigher.weigh(value)));
+    entry.lastAccess = clock.incrementAndGet();
+    WeightedEntry<V> previousEntry = entries.put(key, entry);
+    if (previousEntry != null) {
+      weight -= previousEntry.weight;
+      entry.frequency = previousEntry.frequency;
+    }
+    weight += entry.weight;
+
+    if (pinLatestVersions && value instanceof ResourceDefinition) {
+      updateLatestVersion((ResourceDefinition) value);
+    }
+
+    ageFrequencies();
+    evictEntries(key);
+  }
+
+  public synchronized void remove(K key) {
+    WeightedEntry<V> entry = entries.remove(key);
+    if (entry != null) {
+      weight -= entry.weight;
+
+      if (pinLatestVersions && entry.value instanceof ResourceDefinition) {
+        removeLatestVersion((ResourceDefinition) entry.value);
+      }
+    }
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+    latestVersions.clear();
+    weight = 0;
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public Set<K> keySet() {
+    return new HashSet<K>(entries.keySet());
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public synchronized long getWeight() {
+    return weight;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  protected void evictEntries(K addedKey) {
+    int evicted = 0;
+    while (weight > maxWeight) {
+      K victim = findVictim(addedKey);
+      if (victim == null) {
+        // only pinned entries left
+        break;
+      }
+      weight -= entries.remove(victim).weight;
+      evicted++;
+    }
+
+    if (evicted > 0) {
+      evictionCount.addAndGet(evicted);
+      if (metricsRegistry != null) {
+        metricsRegistry.markOccurrence(Metrics.DEPLOYMENT_CACHE_EVICTION, evicted);
+      }
+    }
+  }
+
+  /**
+   * @return the least frequently used key, the least recently used one of those if several have
+   * the same frequency, or <code>null</code> if no entry can be evicted
+   */
+  protected K findVictim(K addedKey) {
+    K victim = null;
+    int victimFrequency = Integer.MAX_VALUE;
+    long victimLastAccess = Long.MAX_VALUE;
+
+    for (Map.Entry<K, WeightedEntry<V>> entry : entries.entrySet()) {
+      K key = entry.getKey();
+      WeightedEntry<V> weightedEntry = entry.getValue();
+      int frequency = weightedEntry.frequency;
+      long lastAccess = weightedEntry.lastAccess;
+
+      boolean lessUsed = frequency < victimFrequency || (frequency == victimFrequency && lastAccess < victimLastAccess);
+      if (lessUsed && !key.equals(addedKey) && !isPinned(weightedEntry.value)) {
+        victim = key;
+        victimFrequency = frequency;
+        victimLastAccess = lastAccess;
+      }
+    }
+
+    return victim;
+  }
+  protected boolean isPinned(V value) {
+    if (pinLatestVersions && value instanceof ResourceDefinition) {
+      ResourceDefinition definition = (ResourceDefinition) value;
+      Integer latestVersion = latestVersions.get(getVersionKey(definition));
+      return latestVersion != null && latestVersion == definition.getVersion();
+    }
+    return false;
+  }
+
+  protected void updateLatestVersion(ResourceDefinition definition) {
+    String versionKey = getVersionKey(definition);
+    Integer latestVersion = latestVersions.get(versionKey);
+    if (latestVersion == null || latestVersion < definition.getVersion()) {
+      latestVersions.put(versionKey, definition.getVersion());
+    }
+  }
+
+  /**
+   * Recalculates the latest version of the key and tenant of a removed definition from the
+   * remaining entries, so that the next lower version in the cache is pinned instead.
+   */
+  protected void removeLatestVersion(ResourceDefinition removedDefinition) {
+    String versionKey = getVersionKey(removedDefinition);
+    Integer latestVersion = latestVersions.get(versionKey);
+    if (latestVersion == null || latestVersion != removedDefinition.getVersion()) {
+      return;
+    }
+
+    latestVersions.remove(versionKey);
+    for (WeightedEntry<V> entry : entries.values()) {
+      if (entry.value instanceof ResourceDefinition) {
+        ResourceDefinition definition = (ResourceDefinition) entry.value;
+        if (versionKey.equals(getVersionKey(definition))) {
+          updateLatestVersion(definition);
+        }
+      }
+    }
+  }
+
+  protected String getVersionKey(ResourceDefinition definition) {
+    return definition.getKey() + ":" + definition.getTenantId();
+  }
+
+  /**
+   * Halves the frequencies once per aging period, which is counted in hits since the last aging.
+   * The frequencies are aged when a value is put, since they only matter for the eviction.
+   */
+  protected void ageFrequencies() {
+    long hits = hitCount.get();
+    long agingPeriod = Math.max(MIN_AGING_PERIOD, 10L * entries.size());
+    long periods = (hits - hitsAtLastAging) / agingPeriod;
+    if (periods > 0) {
+      int shift = (int) Math.min(periods, 4);
+      for (WeightedEntry<V> entry : entries.values()) {
+        entry.frequency >>= shift;
+      }
+      hitsAtLastAging = hits;
+    }
+  }
+
+  protected void markOccurrence(String name) {
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(name);
+    }
+  }
+
+  protected static class WeightedEntry<V> {
+
+    protected final V value;
+    protected final int weight;
+    protected volatile int frequency;
+    protected volatile long lastAccess;
+
+    public WeightedEntry(V value, int weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Creates {@link WeightedCache}s which are bounded by the estimated weight of their values
+ * instead of the number of values.</p>
+ *
+ * <p>If no maximum weight is set, the maximum weight of a cache is the configured cache capacity
+ * multiplied by {@link #DEFAULT_WEIGHT_PER_ELEMENT}.</p>
+ */
+public class WeightedCacheFactory implements CacheFactory {
+
+  public static final int DEFAULT_WEIGHT_PER_ELEMENT = 50;
+
+  protected long maxWeight = -1;
+  protected CacheWeigher weigher = new DefaultCacheWeigher();
+  protected boolean pinLatestVersions = false;
+  protected MetricsRegistry metricsRegistry;
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    long maxWeightOfCache = maxWeight > 0 ? maxWeight : (long) maxNumberOfElementsInCache * DEFAULT_WEIGHT_PER_ELEMENT;
+    return new WeightedCache<String, T>(maxWeightOfCache, weigher, pinLatestVersions, metricsRegistry);
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public void setMaxWeight(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public CacheWeigher getWeigher() {
+    return weigher;
+  }
+
+  public void setWeigher(CacheWeigher weigher) {
+    this.weigher = weigher;
+  }
+
+  public boolean isPinLatestVersions() {
+    return pinLatestVersions;
+  }
+
+  /**
+   * If set to true, the latest version of a definition is not evicted from the cache.
+   */
+  public void setPinLatestVersions(boolean pinLatestVersions) {
+    this.pinLatestVersions = pinLatestVersions;
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  /**
+   * Sets the registry to report the hits, misses and evictions of the created caches to.
+   * The process engine configuration sets its registry if metrics are enabled.
+   */
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+}
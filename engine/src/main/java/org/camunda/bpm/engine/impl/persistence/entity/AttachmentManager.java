@@ -71,6 +71,15 @@ public class AttachmentManager extends AbstractHistoricManager {
         .getDbEntityManager().deletePreserveOrder(AttachmentEntity.class, "deleteAttachmentByTaskProcessInstanceIds", processInstanceIds);
   }
 
+  public void deleteAttachmentsByRemovalTime(Map<String, Object> parameters) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    commandContext
+        .getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteAttachmentByteArraysByRemovalTime", parameters);
+    commandContext
+        .getDbEntityManager().deletePreserveOrder(AttachmentEntity.class, "deleteAttachmentsByRemovalTime", parameters);
+  }
+
   public Attachment findAttachmentByTaskIdAndAttachmentId(String taskId, String attachmentId) {
     checkHistoryEnabled();
 
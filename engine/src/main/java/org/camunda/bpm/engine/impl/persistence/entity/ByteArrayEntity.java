@@ -14,8 +14,11 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
 
 /**
  * @author Tom Baeyens
@@ -49,6 +52,25 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
     return bytes;
   }
 
+  /**
+   * @return the bytes as they are stored in the database, compressed if the
+   * process engine is configured to compress byte arrays. Uncompressed bytes are
+   * escaped, so they are read correctly after compression is enabled.
+   */
+  public byte[] getPersistentBytes() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isByteArrayCompressionEnabled()) {
+      return CompressionUtil.compress(bytes, processEngineConfiguration.getByteArrayCompressionThreshold());
+    }
+    else {
+      return CompressionUtil.escape(bytes);
+    }
+  }
+
+  public void setPersistentBytes(byte[] persistentBytes) {
+    this.bytes = CompressionUtil.decompress(persistentBytes);
+  }
+
   public Object getPersistentState() {
     return (bytes != null ? bytes : PERSISTENTSTATE_NULL);
   }
@@ -72,6 +72,10 @@ public class CommentManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(CommentEntity.class, "deleteCommentsByTaskProcessInstanceIds", processInstanceIds);
   }
 
+  public void deleteCommentsByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().deletePreserveOrder(CommentEntity.class, "deleteCommentsByRemovalTime", parameters);
+  }
+
   @SuppressWarnings("unchecked")
   public List<Comment> findCommentsByProcessInstanceId(String processInstanceId) {
     checkHistoryEnabled();
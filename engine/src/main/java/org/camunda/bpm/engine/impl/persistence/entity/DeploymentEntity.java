@@ -39,6 +39,7 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
   protected String id;
   protected String name;
   protected Map<String, ResourceEntity> resources;
+  protected Map<String, ResourceEntity> singleResources;
   protected Date deploymentTime;
   protected boolean validatingSchema = true;
   protected boolean isNew;
@@ -52,6 +53,9 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
   protected Map<Class<?>, List> deployedArtifacts;
 
   public ResourceEntity getResource(String resourceName) {
+    if (resources==null && id!=null) {
+      return getSingleResource(resourceName);
+    }
     return getResources().get(resourceName);
   }
 
@@ -79,10 +83,29 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
       for (ResourceEntity resource: resourcesList) {
         resources.put(resource.getName(), resource);
       }
+      singleResources = null;
     }
     return resources;
   }
 
+  /**
+   * Loads only the requested resource instead of all resources of the deployment,
+   * e.g. a script or form which is referenced by a deployed definition.
+   */
+  protected ResourceEntity getSingleResource(String resourceName) {
+    if (singleResources==null) {
+      singleResources = new HashMap<String, ResourceEntity>();
+    }
+    if (!singleResources.containsKey(resourceName)) {
+      ResourceEntity resource = Context
+        .getCommandContext()
+        .getResourceManager()
+        .findResourceByDeploymentIdAndResourceName(id, resourceName);
+      singleResources.put(resourceName, resource);
+    }
+    return singleResources.get(resourceName);
+  }
+
   public Object getPersistentState() {
     // properties of this entity are immutable
     // so always the same value is returned
@@ -41,13 +41,14 @@ import org.camunda.bpm.engine.impl.core.operation.CoreAtomicOperation;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEvent;
 import org.camunda.bpm.engine.impl.core.variable.scope.*;
-import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.SingleVariableProvider;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -91,7 +92,7 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Daniel Meyer
  * @author Falko Menge
  */
-public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, VariablesProvider<VariableInstanceEntity> {
+public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, SingleVariableProvider<VariableInstanceEntity> {
 
   private static final long serialVersionUID = 1L;
 
@@ -354,7 +355,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void fireHistoricActivityInstanceUpdate() {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE, this)) {
+    if (HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE, this, getActivity())) {
       // publish update event for current activity instance (containing the id
       // of the sub process/case)
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
@@ -486,7 +487,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     HistoryLevel historyLevel = configuration.getHistoryLevel();
     // TODO: This smells bad, as the rest of the history is done via the
     // ParseListener
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_START, processInstance)) {
+    if (HistoryLevelPolicy.isHistoryEventProduced(historyLevel, HistoryEventTypes.PROCESS_INSTANCE_START, processInstance, getProcessDefinition())) {
 
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -1224,6 +1225,15 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return Context.getCommandContext().getVariableInstanceManager().findVariableInstancesByExecutionId(id);
   }
 
+  public boolean isSingleVariableFetchingEnabled() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null && processEngineConfiguration.isSingleVariableFetchingEnabled();
+  }
+
+  public VariableInstanceEntity provideVariable(String variableName) {
+    return Context.getCommandContext().getVariableInstanceManager().findVariableInstanceByVariableScopeIdAndName(id, variableName);
+  }
+
   protected boolean isAutoFireHistoryEvents() {
     // as long as the process instance is starting (i.e. before activity instance
     // of the selected initial (start event) is created), the variable scope should
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -249,7 +250,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
       errorDetailsByteArrayId = byteArray.getId();
       errorDetailsByteArray = byteArray;
     }
-    else {
+    else if (!Arrays.equals(byteArray.getBytes(), exceptionBytes)) {
       byteArray.setBytes(exceptionBytes);
     }
   }
@@ -38,6 +38,10 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricActivityInstanceEntity.class, "deleteHistoricActivityInstancesByProcessInstanceIds", historicProcessInstanceIds);
   }
 
+  public void deleteHistoricActivityInstancesByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().deletePreserveOrder(HistoricActivityInstanceEntity.class, "deleteHistoricActivityInstancesByRemovalTime", parameters);
+  }
+
   public void insertHistoricActivityInstance(HistoricActivityInstanceEntity historicActivityInstance) {
     getDbEntityManager().insert(historicActivityInstance);
   }
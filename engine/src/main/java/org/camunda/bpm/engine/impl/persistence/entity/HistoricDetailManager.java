@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.history.HistoricDetail;
 import org.camunda.bpm.engine.impl.HistoricDetailQueryImpl;
@@ -49,6 +50,13 @@ public class HistoricDetailManager extends AbstractHistoricManager {
         .deletePreserveOrder(HistoricDetailEventEntity.class, "deleteHistoricDetailsByTaskProcessInstanceIds", historicProcessInstanceIds);
   }
 
+  public void deleteHistoricDetailsByRemovalTime(Map<String, Object> parameters) {
+    Context.getCommandContext().getDbEntityManager()
+        .deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDetailByteArraysByRemovalTime", parameters);
+    Context.getCommandContext().getDbEntityManager()
+        .deletePreserveOrder(HistoricDetailEventEntity.class, "deleteHistoricDetailsByRemovalTime", parameters);
+  }
+
   public void deleteHistoricDetailsByCaseInstanceId(String historicCaseInstanceId) {
     deleteHistoricDetailsByProcessCaseInstanceId(null, historicCaseInstanceId);
   }
@@ -19,6 +19,7 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.*;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
@@ -60,6 +61,11 @@ public class HistoricExternalTaskLogManager extends AbstractManager {
     getDbEntityManager().deletePreserveOrder(HistoricExternalTaskLogEntity.class, "deleteHistoricExternalTaskLogByProcessInstanceIds", processInstanceIds);
   }
 
+  public void deleteHistoricExternalTaskLogsByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteErrorDetailsByteArraysByIds", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricExternalTaskLogEntity.class, "deleteHistoricExternalTaskLogsByRemovalTime", parameters);
+  }
+
   // byte array delete ////////////////////////////////////////////////////////
 
   protected void deleteExceptionByteArrayByParameterMap(String key, Object value) {
@@ -120,7 +126,12 @@ public class HistoricExternalTaskLogManager extends AbstractManager {
   protected boolean isHistoryEventProduced(HistoryEventType eventType, ExternalTask externalTask) {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    return historyLevel.isHistoryEventProduced(eventType, externalTask);
+    if (!historyLevel.isHistoryEventProduced(eventType, externalTask)) {
+      return false;
+    }
+
+    ExecutionEntity execution = ((ExternalTaskEntity) externalTask).getExecution();
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, externalTask, execution, externalTask.getProcessDefinitionId(), externalTask.getActivityId());
   }
 
   protected void configureQuery(HistoricExternalTaskLogQueryImpl query) {
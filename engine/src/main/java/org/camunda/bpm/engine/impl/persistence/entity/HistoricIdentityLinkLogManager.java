@@ -1,6 +1,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.history.HistoricIdentityLinkLog;
 import org.camunda.bpm.engine.impl.HistoricIdentityLinkLogQueryImpl;
@@ -40,6 +41,10 @@ public class HistoricIdentityLinkLogManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricIdentityLinkLogEntity.class, "deleteHistoricIdentityLinksByTaskProcessInstanceIds", ProcessInstanceIds);
   }
 
+  public void deleteHistoricIdentityLinksLogByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().deletePreserveOrder(HistoricIdentityLinkLogEntity.class, "deleteHistoricIdentityLinksByRemovalTime", parameters);
+  }
+
   protected void configureQuery(HistoricIdentityLinkLogQueryImpl query) {
     getAuthorizationManager().configureHistoricIdentityLinkQuery(query);
     getTenantManager().configureQuery(query);
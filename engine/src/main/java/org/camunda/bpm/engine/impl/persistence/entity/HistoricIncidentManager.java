@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.impl.HistoricIncidentQueryImpl;
@@ -46,6 +47,10 @@ public class HistoricIncidentManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricIncidentEntity.class, "deleteHistoricIncidentsByProcessInstanceIds", processInstanceIds);
   }
 
+  public void deleteHistoricIncidentsByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().deletePreserveOrder(HistoricIncidentEntity.class, "deleteHistoricIncidentsByRemovalTime", parameters);
+  }
+
   public void deleteHistoricIncidentsByProcessDefinitionId(String processDefinitionId) {
     if (isHistoryLevelFullEnabled()) {
       getDbEntityManager().delete(HistoricIncidentEntity.class, "deleteHistoricIncidentsByProcessDefinitionId", processDefinitionId);
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
@@ -87,6 +88,11 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessInstanceIds", processInstanceIds);
   }
 
+  public void deleteHistoricJobLogsByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteExceptionByteArraysByIds", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricJobLogEventEntity.class, "deleteHistoricJobLogsByRemovalTime", parameters);
+  }
+
   public void deleteHistoricJobLogsByProcessDefinitionId(String processDefinitionId) {
     if (isHistoryEnabled()) {
       deleteExceptionByteArrayByParameterMap("processDefinitionId", processDefinitionId);
@@ -176,7 +182,12 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
   protected boolean isHistoryEventProduced(HistoryEventType eventType, Job job) {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    return historyLevel.isHistoryEventProduced(eventType, job);
+    if (!historyLevel.isHistoryEventProduced(eventType, job)) {
+      return false;
+    }
+
+    ExecutionEntity execution = ((JobEntity) job).getExecution();
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, job, execution, job.getProcessDefinitionId(), job.getActivityId());
   }
 
   protected void configureQuery(HistoricJobLogQueryImpl query) {
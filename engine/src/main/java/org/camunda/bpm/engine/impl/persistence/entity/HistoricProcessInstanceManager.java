@@ -14,6 +14,8 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,8 +24,13 @@ import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDetailEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricExternalTaskLogEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -139,17 +146,178 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     getTenantManager().configureQuery(query);
   }
 
-  public List<String> findHistoricProcessInstanceIdsForCleanup(Integer batchSize) {
-    ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
+  /**
+   * Returns the removal times of up to <code>batchSize</code> historic process instances which are
+   * due for cleanup, in ascending order. The history before the last returned removal time can be
+   * deleted by {@link #deleteHistoricProcessInstancesByRemovalTime(Date, Integer, Integer)}. The process
+   * instances with the last removal time are returned by
+   * {@link #findHistoricProcessInstanceIdsForCleanupByRemovalTime(Date, int, Integer, Integer)}.
+   * If a range of cleanup partitions is given, only process instances within these partitions are considered.
+   */
+  @SuppressWarnings("unchecked")
+  public List<Date> findHistoricProcessInstanceRemovalTimesForCleanup(Integer batchSize, Integer partitionFrom, Integer partitionTo) {
+    ListQueryParameterObject parameterObject = createCleanupParameterObject(partitionFrom, partitionTo);
+    parameterObject.setFirstResult(0);
+    parameterObject.setMaxResults(batchSize);
+    return getDbEntityManager().selectList("selectHistoricProcessInstanceRemovalTimesForCleanup", parameterObject);
+  }
+
+  /**
+   * Returns the ids of up to <code>maxResults</code> historic process instances with exactly the given removal time.
+   * If a range of cleanup partitions is given, only process instances within these partitions are considered.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsForCleanupByRemovalTime(Date removalTime, int maxResults, Integer partitionFrom, Integer partitionTo) {
+    ListQueryParameterObject parameterObject = createCleanupParameterObject(removalTime, partitionFrom, partitionTo);
+    parameterObject.setFirstResult(0);
+    parameterObject.setMaxResults(maxResults);
+    return getDbEntityManager().selectList("selectHistoricProcessInstanceIdsForCleanupByRemovalTime", parameterObject);
+  }
+
+  /**
+   * Returns the ids of historic process instances without a removal time which are due for cleanup
+   * according to the history time to live of their process definition. If a range of cleanup partitions
+   * is given, only process instances within these partitions are considered.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsForCleanup(Integer batchSize, Integer partitionFrom, Integer partitionTo) {
+    ListQueryParameterObject parameterObject = createCleanupParameterObject(partitionFrom, partitionTo);
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
-    return (List<String>) getDbEntityManager().selectList("selectHistoricProcessInstanceIdsForCleanup", parameterObject);
+    return getDbEntityManager().selectList("selectHistoricProcessInstanceIdsForCleanup", parameterObject);
   }
 
   public Long findHistoricProcessInstanceIdsForCleanupCount() {
+    ListQueryParameterObject parameterObject = createCleanupParameterObject(null, null);
+    Long countByRemovalTime = (Long) getDbEntityManager().selectOne("selectHistoricProcessInstanceIdsForCleanupByRemovalTimeCount", parameterObject);
+    Long countWithoutRemovalTime = (Long) getDbEntityManager().selectOne("selectHistoricProcessInstanceIdsForCleanupCount", parameterObject);
+    return countByRemovalTime + countWithoutRemovalTime;
+  }
+
+  protected ListQueryParameterObject createCleanupParameterObject(Integer partitionFrom, Integer partitionTo) {
+    return createCleanupParameterObject(null, partitionFrom, partitionTo);
+  }
+
+  protected ListQueryParameterObject createCleanupParameterObject(Date removalTime, Integer partitionFrom, Integer partitionTo) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    parameters.put("removalTime", removalTime);
+    parameters.put("partitionFrom", partitionFrom);
+    parameters.put("partitionTo", partitionTo);
+
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
-    return (Long) getDbEntityManager().selectOne("selectHistoricProcessInstanceIdsForCleanupCount", parameterObject);
+    parameterObject.setParameter(parameters);
+    return parameterObject;
+  }
+
+  /**
+   * Returns up to <code>batchSize</code> finished historic process instances which have no removal time yet
+   * although the history time to live of their process definition is set, e.g. because they were finished
+   * before the removal time was introduced.
+   */
+  @SuppressWarnings("unchecked")
+  public List<HistoricProcessInstanceEntity> findFinishedHistoricProcessInstancesWithoutRemovalTime(int batchSize) {
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject(null, 0, batchSize);
+    return getDbEntityManager().selectList("selectFinishedHistoricProcessInstancesWithoutRemovalTime", parameterObject);
+  }
+
+  /**
+   * Deletes all historic process instances and their related history with a removal time
+   * before the given one. Each table is cleaned up by a range delete on its removal time index.
+   * If a range of cleanup partitions is given, only history within these partitions is deleted.
+   */
+  public void deleteHistoricProcessInstancesByRemovalTime(Date removalTime, Integer partitionFrom, Integer partitionTo) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("partitionFrom", partitionFrom);
+    parameters.put("partitionTo", partitionTo);
+
+    commandContext.getHistoricDetailManager().deleteHistoricDetailsByRemovalTime(parameters);
+    commandContext.getHistoricVariableInstanceManager().deleteHistoricVariableInstancesByRemovalTime(parameters);
+    commandContext.getCommentManager().deleteCommentsByRemovalTime(parameters);
+    commandContext.getAttachmentManager().deleteAttachmentsByRemovalTime(parameters);
+    commandContext.getHistoricIdentityLinkManager().deleteHistoricIdentityLinksLogByRemovalTime(parameters);
+    commandContext.getHistoricTaskInstanceManager().deleteHistoricTaskInstancesByRemovalTime(parameters);
+    commandContext.getHistoricActivityInstanceManager().deleteHistoricActivityInstancesByRemovalTime(parameters);
+    commandContext.getHistoricIncidentManager().deleteHistoricIncidentsByRemovalTime(parameters);
+    commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByRemovalTime(parameters);
+    commandContext.getHistoricExternalTaskLogManager().deleteHistoricExternalTaskLogsByRemovalTime(parameters);
+
+    if (commandContext.getProcessEngineConfiguration().isDmnEnabled()) {
+      commandContext.getHistoricDecisionInstanceManager().deleteHistoricDecisionInstancesByRemovalTime(parameters);
+    }
+
+    commandContext.getDbEntityManager().deletePreserveOrder(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstancesByRemovalTime", parameters);
+  }
+
+  /**
+   * Stamps the given removal time and the cleanup partition of a finished process instance on the history of its children.
+   */
+  public void updateChildrenRemovalTimeByProcessInstanceId(String processInstanceId, Date removalTime) {
+    if (isHistoryEnabled()) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("processInstanceId", processInstanceId);
+      parameters.put("removalTime", removalTime);
+      parameters.put("cleanupPartition", HistoryCleanupHelper.getCleanupPartition(processInstanceId));
+      updateChildrenRemovalTime(parameters);
+    }
+  }
+
+  /**
+   * Stamps the given removal time on a finished historic process instance and the history of its children.
+   */
+  public void updateRemovalTimeByProcessInstanceId(String processInstanceId, Date removalTime) {
+    if (isHistoryEnabled()) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("processInstanceId", processInstanceId);
+      parameters.put("removalTime", removalTime);
+      parameters.put("cleanupPartition", HistoryCleanupHelper.getCleanupPartition(processInstanceId));
+      updateChildrenRemovalTime(parameters);
+      getDbEntityManager().update(HistoricProcessInstanceEntity.class, "updateHistoricProcessInstanceRemovalTime", parameters);
+    }
+  }
+
+  /**
+   * Recalculates the removal time of all finished process instances of the given process definition
+   * from their end time and the given history time to live. The history of their children takes over
+   * the new removal time of its process instance. Without a history time to live, the history is kept.
+   */
+  public void updateRemovalTimeByProcessDefinitionId(String processDefinitionId, Integer historyTimeToLive) {
+    if (isHistoryEnabled()) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("processInstanceId", null);
+      parameters.put("processDefinitionId", processDefinitionId);
+      parameters.put("historyTimeToLive", historyTimeToLive);
+      parameters.put("removalTime", null);
+
+      // the children read the removal time of their process instance, so it must be updated first
+      if (historyTimeToLive != null) {
+        getDbEntityManager().updatePreserveOrder(HistoricProcessInstanceEntity.class, "updateHistoricProcessInstanceRemovalTimeByProcessDefinitionId", parameters);
+      } else {
+        getDbEntityManager().updatePreserveOrder(HistoricProcessInstanceEntity.class, "updateHistoricProcessInstanceRemovalTime", parameters);
+      }
+      updateChildrenRemovalTime(parameters);
+    }
+  }
+
+  protected void updateChildrenRemovalTime(Map<String, Object> parameters) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    dbEntityManager.updatePreserveOrder(HistoricActivityInstanceEntity.class, "updateHistoricActivityInstanceRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricIdentityLinkLogEntity.class, "updateHistoricIdentityLinkRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricTaskInstanceEntity.class, "updateHistoricTaskInstanceRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricVariableInstanceEntity.class, "updateHistoricVariableInstanceRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricDetailEventEntity.class, "updateHistoricDetailRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(CommentEntity.class, "updateCommentRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(AttachmentEntity.class, "updateAttachmentRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricIncidentEntity.class, "updateHistoricIncidentRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricJobLogEventEntity.class, "updateHistoricJobLogRemovalTime", parameters);
+    dbEntityManager.updatePreserveOrder(HistoricExternalTaskLogEntity.class, "updateHistoricExternalTaskLogRemovalTime", parameters);
+
+    if (Context.getProcessEngineConfiguration().isDmnEnabled()) {
+      dbEntityManager.updatePreserveOrder(HistoricDecisionInstanceEntity.class, "updateHistoricDecisionInstanceRemovalTime", parameters);
+    }
   }
 }
@@ -26,8 +26,10 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -76,6 +78,14 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricTaskInstanceEntity.class, "deleteHistoricTaskInstanceByProcessInstanceIds", processInstanceIds);
   }
 
+  /**
+   * Deletes all historic task instances with a removal time up to the given <code>removalTime</code> parameter.
+   * The data related with the tasks carries the same removal time and is deleted separately.
+   */
+  public void deleteHistoricTaskInstancesByRemovalTime(Map<String, Object> parameters) {
+    getDbEntityManager().deletePreserveOrder(HistoricTaskInstanceEntity.class, "deleteHistoricTaskInstancesByRemovalTime", parameters);
+  }
+
   public void deleteHistoricTaskInstancesByCaseInstanceId(String caseInstanceId) {
     deleteHistoricTaskInstances("caseInstanceId", caseInstanceId);
   }
@@ -176,7 +186,7 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
 
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    if(historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_UPDATE, taskEntity)) {
+    if(isHistoryEventProduced(historyLevel, HistoryEventTypes.TASK_INSTANCE_UPDATE, taskEntity)) {
 
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -195,7 +205,7 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
         .selectById(TaskEntity.class, taskId);
 
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    if(historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_COMPLETE, taskEntity)) {
+    if(isHistoryEventProduced(historyLevel, HistoryEventTypes.TASK_INSTANCE_COMPLETE, taskEntity)) {
 
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -211,7 +221,7 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
 
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    if(historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, task)) {
+    if(isHistoryEventProduced(historyLevel, HistoryEventTypes.TASK_INSTANCE_CREATE, task)) {
 
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -223,6 +233,17 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     }
   }
 
+  /**
+   * Takes the history level declared by the user task or its process into account.
+   */
+  protected boolean isHistoryEventProduced(HistoryLevel historyLevel, HistoryEventType eventType, TaskEntity task) {
+    if (!historyLevel.isHistoryEventProduced(eventType, task)) {
+      return false;
+    }
+
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, task, task.getExecution(), task.getProcessDefinitionId(), task.getTaskDefinitionKey());
+  }
+
   protected void configureQuery(final HistoricTaskInstanceQueryImpl query) {
     getAuthorizationManager().configureHistoricTaskInstanceQuery(query);
     getTenantManager().configureQuery(query);
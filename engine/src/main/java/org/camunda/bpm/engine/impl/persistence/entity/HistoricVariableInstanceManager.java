@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
@@ -53,6 +54,15 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
         .getDbEntityManager().deletePreserveOrder(HistoricVariableInstanceEntity.class, "deleteHistoricVariableInstanceByTaskProcessInstanceIds", historicProcessInstanceIds);
   }
 
+  public void deleteHistoricVariableInstancesByRemovalTime(Map<String, Object> parameters) {
+    Context
+        .getCommandContext()
+        .getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricVariableInstanceByteArraysByRemovalTime", parameters);
+    Context
+        .getCommandContext()
+        .getDbEntityManager().deletePreserveOrder(HistoricVariableInstanceEntity.class, "deleteHistoricVariableInstancesByRemovalTime", parameters);
+  }
+
   public void deleteHistoricVariableInstanceByCaseInstanceId(String historicCaseInstanceId) {
     deleteHistoricVariableInstancesByProcessCaseInstanceId(null, historicCaseInstanceId);
   }
@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
@@ -196,7 +197,7 @@ public class IdentityLinkEntity implements Serializable, IdentityLink, DbEntity
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
 
     HistoryLevel historyLevel = processEngineConfiguration.getHistoryLevel();
-    if(historyLevel.isHistoryEventProduced(eventType, this)) {
+    if(isHistoryEventProduced(historyLevel, eventType)) {
 
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -213,6 +214,21 @@ public class IdentityLinkEntity implements Serializable, IdentityLink, DbEntity
 
     }
   }
+  /**
+   * Takes the history level declared by the user task or process of the identity link into account.
+   */
+  protected boolean isHistoryEventProduced(HistoryLevel historyLevel, HistoryEventType eventType) {
+    if (!historyLevel.isHistoryEventProduced(eventType, this)) {
+      return false;
+    }
+
+    if (taskId != null) {
+      TaskEntity task = getTask();
+      return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, this, task.getExecution(), task.getProcessDefinitionId(), task.getTaskDefinitionKey());
+    }
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, this, processDefId, null);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
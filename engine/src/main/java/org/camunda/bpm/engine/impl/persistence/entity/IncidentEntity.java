@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevelPolicy;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
@@ -208,7 +209,7 @@ public class IncidentEntity implements Incident, DbEntity, HasDbRevision, HasDbR
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
 
     HistoryLevel historyLevel = processEngineConfiguration.getHistoryLevel();
-    if(historyLevel.isHistoryEventProduced(eventType, this)) {
+    if(isHistoryEventProduced(historyLevel, eventType)) {
 
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
@@ -230,6 +231,17 @@ public class IncidentEntity implements Incident, DbEntity, HasDbRevision, HasDbR
     }
   }
 
+  /**
+   * Takes the history level declared by the activity or process of the incident into account.
+   */
+  protected boolean isHistoryEventProduced(HistoryLevel historyLevel, HistoryEventType eventType) {
+    if (!historyLevel.isHistoryEventProduced(eventType, this)) {
+      return false;
+    }
+
+    return HistoryLevelPolicy.isHistoryEventProduced(historyLevel, eventType, this, getExecution(), processDefinitionId, activityId);
+  }
+
   @Override
   public Set<String> getReferencedEntityIds() {
     Set<String> referenceIds = new HashSet<String>();
@@ -17,6 +17,7 @@ import static org.camunda.bpm.engine.impl.util.ExceptionUtil.createJobExceptionB
 import static org.camunda.bpm.engine.impl.util.StringUtil.toByteArray;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -455,7 +456,7 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
       exceptionByteArrayId = byteArray.getId();
       exceptionByteArray = byteArray;
     }
-    else {
+    else if (!Arrays.equals(byteArray.getBytes(), exceptionBytes)) {
       byteArray.setBytes(exceptionBytes);
     }
   }
@@ -217,6 +217,11 @@ public class JobManager extends AbstractManager {
     return (JobEntity)getDbEntityManager().selectOne("selectJobsByHandlerType", handlerType);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String handlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", handlerType);
+  }
+
   @SuppressWarnings("unchecked")
   public List<TimerEntity> findUnlockedTimersByDuedate(Date duedate, Page page) {
     final String query = "selectUnlockedTimersByDuedate";
@@ -14,7 +14,10 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.repository.Resource;
 
@@ -26,12 +29,15 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   private static final long serialVersionUID = 1L;
 
+  protected static final String HASH_ALGORITHM = "SHA-256";
+
   protected String id;
   protected String name;
   protected byte[] bytes;
   protected String deploymentId;
   protected boolean generated = false;
   protected String tenantId;
+  protected String hash;
 
   public String getId() {
     return id;
@@ -55,6 +61,7 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
 
   public void setBytes(byte[] bytes) {
     this.bytes = bytes;
+    this.hash = null;
   }
 
   public String getDeploymentId() {
@@ -89,6 +96,35 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
     this.tenantId = tenantId;
   }
 
+  /**
+   * @return the hex encoded SHA-256 hash of the resource content, which is computed from the bytes
+   * if it was not loaded from the database; <code>null</code> if neither the hash nor the bytes are available
+   */
+  public String getHash() {
+    if (hash == null && bytes != null) {
+      hash = computeHash(bytes);
+    }
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
+  protected static String computeHash(byte[] bytes) {
+    try {
+      byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(bytes);
+      StringBuilder hexString = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hexString.append(Character.forDigit((b >> 4) & 0xF, 16));
+        hexString.append(Character.forDigit(b & 0xF, 16));
+      }
+      return hexString.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot compute hash of resource: algorithm " + HASH_ALGORITHM + " is not available", e);
+    }
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
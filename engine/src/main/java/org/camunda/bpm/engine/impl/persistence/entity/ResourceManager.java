@@ -15,7 +15,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -87,4 +90,30 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * @return the names of those given resources whose content hash equals the hash of the latest
+   * (not generated) resource with the same name in a deployment with the given name
+   */
+  @SuppressWarnings("unchecked")
+  public Set<String> findLatestResourceNamesWithSameHashByDeploymentName(String deploymentName, Collection<ResourceEntity> resources, String source, String tenantId) {
+    if (resources.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    Set<String> resourceNames = new HashSet<String>();
+    for (ResourceEntity resource : resources) {
+      resourceNames.add(resource.getName());
+    }
+
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourceNames);
+    params.put("resources", resources);
+    params.put("source", source);
+    params.put("tenantId", tenantId);
+    params.put("generated", false);
+
+    return new HashSet<String>(getDbEntityManager().selectList("selectLatestResourceNamesWithSameHashByDeploymentName", params));
+  }
+
 }
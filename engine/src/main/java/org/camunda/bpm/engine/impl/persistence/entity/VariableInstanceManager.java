@@ -13,7 +13,9 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
@@ -36,6 +38,13 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByExecutionId", executionId);
   }
 
+  public VariableInstanceEntity findVariableInstanceByVariableScopeIdAndName(String variableScopeId, String name) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("variableScopeId", variableScopeId);
+    parameters.put("name", name);
+    return (VariableInstanceEntity) getDbEntityManager().selectOne("selectVariableByVariableScopeIdAndName", parameters);
+  }
+
   @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId) {
     return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
@@ -60,6 +60,15 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   protected boolean notifyOnImplicitUpdates = false;
   protected List<TypedValueUpdateListener> updateListeners;
 
+  /**
+   * The value fields written while checking the cached value for implicit updates.
+   * They are reused when the listeners set the same value again, so that an implicitly
+   * updated value is serialized only once.
+   */
+  protected TypedValue implicitlyUpdatedValue;
+  protected TypedValueSerializer<?> implicitlyUpdatedSerializer;
+  protected ValueFieldsImpl implicitlyUpdatedValueFields;
+
   public TypedValueField(ValueFields valueFields, boolean notifyOnImplicitUpdates) {
     this.valueFields = valueFields;
     this.notifyOnImplicitUpdates = notifyOnImplicitUpdates;
@@ -117,7 +126,13 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
     }
 
     // set new value
-    writeValue(value, valueFields);
+    if (implicitlyUpdatedValue != null && value == implicitlyUpdatedValue && serializer == implicitlyUpdatedSerializer) {
+      copyValueFields(implicitlyUpdatedValueFields, valueFields);
+    }
+    else {
+      writeValue(value, valueFields);
+    }
+    clearImplicitlyUpdatedValue();
 
     // cache the value
     cachedValue = value;
@@ -149,12 +164,31 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
 
       byte[] byteArrayAfter = tempValueFields.getByteArrayValue();
 
-      return !Arrays.equals(byteArray, byteArrayAfter);
+      if (!Arrays.equals(byteArray, byteArrayAfter)) {
+        implicitlyUpdatedValue = cachedValue;
+        implicitlyUpdatedSerializer = serializer;
+        implicitlyUpdatedValueFields = tempValueFields;
+        return true;
+      }
     }
 
     return false;
   }
 
+  protected void copyValueFields(ValueFields source, ValueFields target) {
+    target.setTextValue(source.getTextValue());
+    target.setTextValue2(source.getTextValue2());
+    target.setLongValue(source.getLongValue());
+    target.setDoubleValue(source.getDoubleValue());
+    target.setByteArrayValue(source.getByteArrayValue());
+  }
+
+  protected void clearImplicitlyUpdatedValue() {
+    implicitlyUpdatedValue = null;
+    implicitlyUpdatedSerializer = null;
+    implicitlyUpdatedValueFields = null;
+  }
+
   @SuppressWarnings("unchecked")
   protected void writeValue(TypedValue value, ValueFields valueFields) {
     ((TypedValueSerializer<TypedValue>) serializer).writeValue(value, valueFields);
@@ -163,8 +197,13 @@ public class TypedValueField implements DbEntityLifecycleAware, CommandContextLi
   @Override
   public void onCommandContextClose(CommandContext commandContext) {
     if (isValuedImplicitlyUpdated()) {
-      for (TypedValueUpdateListener typedValueImplicitUpdateListener : updateListeners) {
-        typedValueImplicitUpdateListener.onImplicitValueUpdate(cachedValue);
+      try {
+        for (TypedValueUpdateListener typedValueImplicitUpdateListener : updateListeners) {
+          typedValueImplicitUpdateListener.onImplicitValueUpdate(cachedValue);
+        }
+      }
+      finally {
+        clearImplicitlyUpdatedValue();
       }
     }
   }
@@ -44,6 +44,12 @@ public class ProcessDefinitionImpl extends ScopeImpl implements PvmProcessDefini
   protected List<LaneSet> laneSets;
   protected ParticipantProcess participantProcess;
 
+  /**
+   * all activities of this process definition (including nested ones) by their id;
+   * the scopes look up their child activities here instead of keeping their own index
+   */
+  protected Map<String, ActivityImpl> activitiesById = new HashMap<String, ActivityImpl>();
+
   public ProcessDefinitionImpl(String id) {
     super(id, null);
     processDefinition = this;
@@ -51,6 +57,19 @@ public class ProcessDefinitionImpl extends ScopeImpl implements PvmProcessDefini
     isSubProcessScope = true;
   }
 
+  /**
+   * Looks up the activity in the index of all activities of this process definition,
+   * instead of searching the scope hierarchy.
+   */
+  @Override
+  public ActivityImpl findActivity(String activityId) {
+    return activitiesById.get(activityId);
+  }
+
+  protected void registerActivity(ActivityImpl activity) {
+    activitiesById.put(activity.getId(), activity);
+  }
+
   protected void ensureDefaultInitialExists() {
     ensureNotNull("Process '" + name + "' has no default start activity (e.g. none start event), hence you cannot use 'startProcessInstanceBy...' but have to start it using one of the modeled start events (e.g. message start events)", "initial", initial);
   }
@@ -46,7 +46,6 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
 
   /** The activities for which the flow scope is this scope  */
   protected List<ActivityImpl> flowActivities = new ArrayList<ActivityImpl>();
-  protected Map<String, ActivityImpl> namedFlowActivities = new HashMap<String, ActivityImpl>();
 
   /** activities for which this is the event scope **/
   protected Set<ActivityImpl> eventActivities = new HashSet<ActivityImpl>();
@@ -58,8 +57,16 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
     this.processDefinition = processDefinition;
   }
 
+  /**
+   * Looks up the activity in the index of the process definition and checks
+   * that it is nested in this scope.
+   */
   public ActivityImpl findActivity(String activityId) {
-    return (ActivityImpl) super.findActivity(activityId);
+    ActivityImpl activity = processDefinition.findActivity(activityId);
+    if (activity != null && isAncestorFlowScopeOf(activity)) {
+      return activity;
+    }
+    return null;
   }
 
   public TransitionImpl findTransition(String transitionId) {
@@ -96,7 +103,11 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
 
   /** searches for the activity locally */
   public ActivityImpl getChildActivity(String activityId) {
-    return namedFlowActivities.get(activityId);
+    ActivityImpl activity = processDefinition.findActivity(activityId);
+    if (activity != null && activity.getFlowScope() == this) {
+      return activity;
+    }
+    return null;
   }
 
 
@@ -156,7 +167,7 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
       if (BACKLOG.containsKey(activityId)) {
         BACKLOG.remove(activityId);
       }
-      namedFlowActivities.put(activityId, activity);
+      processDefinition.registerActivity(activity);
     }
     activity.flowScope = this;
     flowActivities.add(activity);
@@ -179,15 +190,7 @@ public abstract class ScopeImpl extends CoreActivity implements PvmScope {
   }
 
   public boolean contains(ActivityImpl activity) {
-    if (namedFlowActivities.containsKey(activity.getId())) {
-      return true;
-    }
-    for (ActivityImpl nestedActivity : flowActivities) {
-      if (nestedActivity.contains(activity)) {
-        return true;
-      }
-    }
-    return false;
+    return findActivity(activity.getId()) != null;
   }
 
   // event listeners //////////////////////////////////////////////////////////
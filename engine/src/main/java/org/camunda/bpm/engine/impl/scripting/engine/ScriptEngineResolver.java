@@ -12,13 +12,21 @@
  */
 package org.camunda.bpm.engine.impl.scripting.engine;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
+import javax.script.SimpleScriptContext;
 
 /**
  * @author Thorben Lindhauer
@@ -30,6 +38,12 @@ public class ScriptEngineResolver {
 
   protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
 
+  /** idle script engines per language which are not cached but can be reused by one thread at a time */
+  protected ConcurrentMap<String, BlockingQueue<ScriptEngine>> pooledEngines = new ConcurrentHashMap<String, BlockingQueue<ScriptEngine>>();
+
+  /** the script engines which are owned by the pool, whether they are idle or borrowed */
+  protected Set<ScriptEngine> ownedPooledEngines = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<ScriptEngine, Boolean>()));
+
   public ScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
   }
@@ -80,6 +94,89 @@ public class ScriptEngineResolver {
     return scriptEngine;
   }
 
+  /**
+   * Takes an idle script engine of the given language from the pool.
+   *
+   * @param language the language (such as 'groovy' for the script engine)
+   * @return the engine or null if no idle engine is pooled for the given language
+   */
+  public ScriptEngine pollPooledScriptEngine(String language) {
+    BlockingQueue<ScriptEngine> pool = pooledEngines.get(language);
+    if (pool != null) {
+      return pool.poll();
+    }
+    return null;
+  }
+
+  /**
+   * Marks a script engine which is not shared as owned by the pool of this resolver, so that
+   * it is kept for reuse by {@link #returnScriptEngine(String, ScriptEngine, int)}. Groovy
+   * engines are configured like cached ones.
+   */
+  public void addPooledScriptEngine(String language, ScriptEngine scriptEngine) {
+    if (ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+      configureGroovyScriptEngine(scriptEngine);
+    }
+    ownedPooledEngines.add(scriptEngine);
+  }
+
+  /**
+   * Hands back a script engine which is owned by the pool of this resolver. Its default
+   * {@link ScriptContext} is replaced, so that the globals of the last script are not visible to
+   * the next one. The engine is kept for reuse if the pool of the language holds less than
+   * <code>poolSize</code> idle engines.
+   *
+   * @return true if the engine is owned by the pool of this resolver
+   */
+  public boolean returnScriptEngine(String language, ScriptEngine scriptEngine, int poolSize) {
+    if (!ownedPooledEngines.contains(scriptEngine)) {
+      return false;
+    }
+
+    if (poolSize > 0) {
+      resetScriptContext(language, scriptEngine);
+
+      BlockingQueue<ScriptEngine> pool = pooledEngines.get(language);
+      if (pool == null) {
+        pooledEngines.putIfAbsent(language, new LinkedBlockingQueue<ScriptEngine>(poolSize));
+        pool = pooledEngines.get(language);
+      }
+      if (!pool.contains(scriptEngine)) {
+        pool.offer(scriptEngine);
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Replaces the default context of the script engine by a context with new engine scope
+   * bindings, which drops the variables a script has declared globally.
+   */
+  protected void resetScriptContext(String language, ScriptEngine scriptEngine) {
+    ScriptContext scriptContext = scriptEngine.getContext();
+
+    SimpleScriptContext newScriptContext = new SimpleScriptContext();
+    newScriptContext.setBindings(scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+    newScriptContext.setBindings(scriptContext.getBindings(ScriptContext.GLOBAL_SCOPE), ScriptContext.GLOBAL_SCOPE);
+    newScriptContext.setReader(scriptContext.getReader());
+    newScriptContext.setWriter(scriptContext.getWriter());
+    newScriptContext.setErrorWriter(scriptContext.getErrorWriter());
+    scriptEngine.setContext(newScriptContext);
+
+    if (ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+      configureGroovyScriptEngine(scriptEngine);
+    }
+  }
+
+  /**
+   * Discards all idle script engines kept for reuse.
+   */
+  public void clearPooledScriptEngines() {
+    pooledEngines.clear();
+    ownedPooledEngines.clear();
+  }
+
   /**
    * Allows checking whether the script engine can be cached.
    *
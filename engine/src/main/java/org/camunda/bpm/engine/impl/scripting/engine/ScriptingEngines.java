@@ -36,7 +36,13 @@ import org.camunda.bpm.engine.impl.context.Context;
  * This class supports resolving a script engine for a given 'language name' (eg. 'groovy').
  * If the configuration option {@link #enableScriptEngineCaching} is set to true,
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
- * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
+ * 'cachable' if it declares to be threadsafe (see {@link ScriptEngineResolver#isCachable(ScriptEngine)})</p>
+ *
+ * <p><strong>Pooling script engines:</strong>
+ * Script engines which are not cached can be borrowed by {@link #borrowScriptEngineForLanguage(String)}
+ * and handed back by {@link #returnScriptEngine(String, ScriptEngine)}. Up to {@link #scriptEnginePoolSize}
+ * idle engines per language (and process application) are kept for reuse instead of creating a new
+ * engine for each script evaluation.</p>
  *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
@@ -55,6 +61,8 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
 
   protected boolean enableScriptEngineCaching = true;
 
+  protected int scriptEnginePoolSize = 0;
+
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
     this.scriptBindingsFactory = scriptBindingsFactory;
@@ -72,6 +80,17 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.enableScriptEngineCaching = enableScriptEngineCaching;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  /**
+   * Sets the maximum number of idle script engines kept per language. 0 disables pooling.
+   */
+  public void setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+  }
+
   public ScriptEngineManager getScriptEngineManager() {
     return scriptEngineResolver.getScriptEngineManager();
   }
@@ -111,6 +130,79 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     return engine;
   }
 
+  /**
+   * Borrows a script engine for the given language name. Unlike {@link #getScriptEngineForLanguage(String)},
+   * a script engine which is not cached may be taken from a pool of idle engines. The engine must be
+   * handed back by {@link #returnScriptEngine(String, ScriptEngine)} after use. If pooling is disabled,
+   * this is the same as {@link #getScriptEngineForLanguage(String)}.
+   *
+   * @param language the name of the script language to lookup an implementation for
+   * @return the script engine
+   * @throws ProcessEngineException if no such engine can be found.
+   */
+  public ScriptEngine borrowScriptEngineForLanguage(String language) {
+
+    if (scriptEnginePoolSize <= 0) {
+      return getScriptEngineForLanguage(language);
+    }
+
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    ProcessApplicationReference pa = Context.getCurrentProcessApplication();
+    ProcessEngineConfigurationImpl config = Context.getProcessEngineConfiguration();
+
+    ScriptEngine engine = null;
+    if (config.isEnableFetchScriptEngineFromProcessApplication()) {
+      if (pa != null) {
+        engine = borrowPaScriptEngine(language, pa);
+      }
+    }
+
+    if (engine == null) {
+      engine = scriptEngineResolver.pollPooledScriptEngine(language);
+    }
+
+    if (engine == null) {
+      engine = getGlobalScriptEngine(language);
+      if (isPoolable(engine)) {
+        scriptEngineResolver.addPooledScriptEngine(language, engine);
+      }
+    }
+
+    return engine;
+  }
+
+  /**
+   * Hands back a script engine borrowed by {@link #borrowScriptEngineForLanguage(String)}.
+   *
+   * @param language the name of the script language the engine was borrowed for
+   * @param scriptEngine the borrowed script engine
+   */
+  public void returnScriptEngine(String language, ScriptEngine scriptEngine) {
+
+    if (scriptEnginePoolSize <= 0) {
+      return;
+    }
+
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    ScriptEngineResolver paScriptEngineResolver = getCurrentPaScriptEngineResolver();
+    if (paScriptEngineResolver == null || !paScriptEngineResolver.returnScriptEngine(language, scriptEngine, scriptEnginePoolSize)) {
+      scriptEngineResolver.returnScriptEngine(language, scriptEngine, scriptEnginePoolSize);
+    }
+  }
+
+  /**
+   * Discards all idle script engines kept for reuse by the global script engine resolver.
+   */
+  public void clearPooledScriptEngines() {
+    scriptEngineResolver.clearPooledScriptEngines();
+  }
+
   protected ScriptEngine getPaScriptEngine(String language, ProcessApplicationReference pa) {
     try {
       ProcessApplicationInterface processApplication = pa.getProcessApplication();
@@ -127,6 +219,60 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     }
   }
 
+  /**
+   * Takes an idle engine from the pool of the process application or creates one through
+   * {@link AbstractProcessApplication#getScriptEngineForName(String, boolean)}, so that
+   * process applications which override the creation of script engines are respected.
+   */
+  protected ScriptEngine borrowPaScriptEngine(String language, ProcessApplicationReference pa) {
+    ScriptEngineResolver paScriptEngineResolver = getPaScriptEngineResolver(pa);
+    if (paScriptEngineResolver == null) {
+      return null;
+    }
+
+    ScriptEngine engine = paScriptEngineResolver.pollPooledScriptEngine(language);
+    if (engine == null) {
+      engine = getPaScriptEngine(language, pa);
+      if (engine != null && isPoolable(engine)) {
+        paScriptEngineResolver.addPooledScriptEngine(language, engine);
+      }
+    }
+    return engine;
+  }
+
+  /**
+   * @return true if the script engine is not shared by cache, so that it may be reused once the script is evaluated
+   */
+  protected boolean isPoolable(ScriptEngine scriptEngine) {
+    return !enableScriptEngineCaching || !scriptEngineResolver.isCachable(scriptEngine);
+  }
+
+  protected ScriptEngineResolver getCurrentPaScriptEngineResolver() {
+    ProcessApplicationReference pa = Context.getCurrentProcessApplication();
+    ProcessEngineConfigurationImpl config = Context.getProcessEngineConfiguration();
+
+    if (pa != null && config.isEnableFetchScriptEngineFromProcessApplication()) {
+      return getPaScriptEngineResolver(pa);
+    }
+    return null;
+  }
+
+  protected ScriptEngineResolver getPaScriptEngineResolver(ProcessApplicationReference pa) {
+    try {
+      ProcessApplicationInterface processApplication = pa.getProcessApplication();
+      ProcessApplicationInterface rawObject = processApplication.getRawObject();
+
+      if (rawObject instanceof AbstractProcessApplication) {
+        AbstractProcessApplication abstractProcessApplication = (AbstractProcessApplication) rawObject;
+        return abstractProcessApplication.getScriptEngineResolver();
+      }
+      return null;
+    }
+    catch (ProcessApplicationUnavailableException e) {
+      throw new ProcessEngineException("Process Application is unavailable.", e);
+    }
+  }
+
   protected ScriptEngine getGlobalScriptEngine(String language) {
 
     ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(language, enableScriptEngineCaching);
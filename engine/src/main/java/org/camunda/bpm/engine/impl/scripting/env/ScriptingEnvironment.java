@@ -75,12 +75,18 @@ public class ScriptingEnvironment {
   public Object execute(ExecutableScript script, VariableScope scope) {
 
     // get script engine
-    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(script.getLanguage());
+    String scriptLanguage = script.getLanguage();
+    ScriptEngine scriptEngine = scriptingEngines.borrowScriptEngineForLanguage(scriptLanguage);
 
-    // create bindings
-    Bindings bindings = scriptingEngines.createBindings(scriptEngine, scope);
+    try {
+      // create bindings
+      Bindings bindings = scriptingEngines.createBindings(scriptEngine, scope);
 
-    return execute(script, scope, bindings, scriptEngine);
+      return execute(script, scope, bindings, scriptEngine);
+    }
+    finally {
+      scriptingEngines.returnScriptEngine(scriptLanguage, scriptEngine);
+    }
   }
 
   public Object execute(ExecutableScript script, VariableScope scope, Bindings bindings, ScriptEngine scriptEngine) {
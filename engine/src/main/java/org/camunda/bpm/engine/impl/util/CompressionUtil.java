@@ -0,0 +1,192 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>Compresses byte arrays for storage with the {@link Deflater}.</p>
+ *
+ * <p>A compressed byte array starts with a header which consists of a magic number,
+ * the format and the length of the original bytes. Byte arrays without a header are
+ * returned unchanged by {@link #decompress(byte[])}, so values which were stored
+ * before compression was enabled stay readable. A value which happens to start with
+ * the magic number is stored with a header of format {@link #FORMAT_STORED}.</p>
+ */
+public class CompressionUtil {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  protected static final byte[] MAGIC = new byte[] { (byte) 0xCA, (byte) 0x3D, (byte) 0xB7 };
+
+  public static final byte FORMAT_STORED = 0;
+  public static final byte FORMAT_DEFLATE = 1;
+
+  protected static final int HEADER_LENGTH = MAGIC.length + 1 + 4;
+
+  /**
+   * @param bytes the bytes to compress, can be <code>null</code>
+   * @param threshold the minimum length of the bytes to be compressed
+   * @return the compressed bytes with header, or the given bytes if compressing them does not save space
+   */
+  public static byte[] compress(byte[] bytes, int threshold) {
+    if (bytes == null) {
+      return null;
+    }
+
+    if (bytes.length >= threshold) {
+      byte[] deflated = deflate(bytes);
+      if (HEADER_LENGTH + deflated.length < bytes.length) {
+        return withHeader(FORMAT_DEFLATE, bytes.length, deflated);
+      }
+    }
+
+    return escape(bytes);
+  }
+
+  /**
+   * Stores bytes without compressing them. Bytes which happen to start with the magic number
+   * get a header of format {@link #FORMAT_STORED}, so that {@link #decompress(byte[])} returns
+   * them unchanged. Uncompressed values must be stored this way as well, since compression
+   * may be enabled later on.
+   *
+   * @param bytes the bytes to store, can be <code>null</code>
+   * @return the given bytes or the bytes with header
+   */
+  public static byte[] escape(byte[] bytes) {
+    if (bytes != null && hasHeader(bytes)) {
+      return withHeader(FORMAT_STORED, bytes.length, bytes);
+    }
+    else {
+      return bytes;
+    }
+  }
+
+  /**
+   * @param bytes the stored bytes, can be <code>null</code>
+   * @return the original bytes
+   */
+  public static byte[] decompress(byte[] bytes) {
+    if (bytes == null || !hasHeader(bytes)) {
+      return bytes;
+    }
+
+    byte format = bytes[MAGIC.length];
+    int length = readLength(bytes);
+
+    if (format == FORMAT_STORED && bytes.length - HEADER_LENGTH == length) {
+      byte[] original = new byte[length];
+      System.arraycopy(bytes, HEADER_LENGTH, original, 0, length);
+      return original;
+    }
+    else if (format == FORMAT_DEFLATE) {
+      byte[] inflated = inflate(bytes, length);
+      if (inflated != null) {
+        return inflated;
+      }
+    }
+
+    // an uncompressed value which was stored before compression was enabled
+    return bytes;
+  }
+
+  protected static boolean hasHeader(byte[] bytes) {
+    if (bytes.length < HEADER_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected static byte[] withHeader(byte format, int length, byte[] content) {
+    byte[] result = new byte[HEADER_LENGTH + content.length];
+    System.arraycopy(MAGIC, 0, result, 0, MAGIC.length);
+    result[MAGIC.length] = format;
+    result[MAGIC.length + 1] = (byte) (length >>> 24);
+    result[MAGIC.length + 2] = (byte) (length >>> 16);
+    result[MAGIC.length + 3] = (byte) (length >>> 8);
+    result[MAGIC.length + 4] = (byte) length;
+    System.arraycopy(content, 0, result, HEADER_LENGTH, content.length);
+    return result;
+  }
+
+  protected static int readLength(byte[] bytes) {
+    return ((bytes[MAGIC.length + 1] & 0xFF) << 24)
+        | ((bytes[MAGIC.length + 2] & 0xFF) << 16)
+        | ((bytes[MAGIC.length + 3] & 0xFF) << 8)
+        | (bytes[MAGIC.length + 4] & 0xFF);
+  }
+
+  protected static byte[] deflate(byte[] bytes) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+      byte[] buffer = new byte[8 * 1024];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toByteArray();
+    }
+    finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * @return the inflated bytes or <code>null</code> if the content is not a deflate
+   * stream of the expected length
+   */
+  protected static byte[] inflate(byte[] bytes, int length) {
+    // deflate cannot compress by more than about 1:1032, a larger length is not a compressed value
+    if (length < 0 || length > (bytes.length - HEADER_LENGTH) * 1100L) {
+      return null;
+    }
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+      byte[] result = new byte[length];
+      int offset = 0;
+      while (offset < length) {
+        int count = inflater.inflate(result, offset, length - offset);
+        if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        offset += count;
+      }
+
+      return offset == length ? result : null;
+    }
+    catch (DataFormatException e) {
+      LOG.debugNotCompressed(e);
+      return null;
+    }
+    finally {
+      inflater.end();
+    }
+  }
+
+}
@@ -204,4 +204,10 @@ public class EngineUtilLogger extends ProcessEngineLogger {
         "Cannot parse duration '{}'.", expressions));
   }
 
+  public void debugNotCompressed(Exception e) {
+    logDebug(
+        "029",
+        "Byte array starts with the compression header but is not compressed, using it as it is: {}", e.getMessage());
+  }
+
 }
@@ -14,8 +14,14 @@ package org.camunda.bpm.engine.impl.util;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 
 /**
@@ -24,6 +30,10 @@ import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
  */
 public class ExceptionUtil {
 
+  public static final String JOB_EXCEPTION_BYTE_ARRAY_NAME = "job.exceptionByteArray";
+
+  protected static final String SHARED_BYTE_ARRAY_HASH_ALGORITHM = "SHA-256";
+
   public static String getExceptionStacktrace(Throwable exception) {
     StringWriter stringWriter = new StringWriter();
     exception.printStackTrace(new PrintWriter(stringWriter));
@@ -39,7 +49,7 @@ public class ExceptionUtil {
   }
 
   public static ByteArrayEntity createJobExceptionByteArray(byte[] byteArray) {
-    return createExceptionByteArray("job.exceptionByteArray", byteArray);
+    return createExceptionByteArray(JOB_EXCEPTION_BYTE_ARRAY_NAME, byteArray);
   }
 
   /**
@@ -66,4 +76,47 @@ public class ExceptionUtil {
     return result;
   }
 
+  /**
+   * find or create the ByteArrayEntity with specified name and payload of the
+   * specified owner. The id of the entity is a hash of owner, name and payload,
+   * so that identical exceptions of the same owner reference the same entity.
+   *
+   * used in historic job logs and historic external task logs, which delete
+   * a shared entity together with the last log entry referencing it
+   *
+   * @param name - type\source of the exception
+   * @param byteArray - payload of the exception
+   * @param ownerId - id of the job or external task the exception belongs to
+   * @return persisted entity
+   */
+  public static ByteArrayEntity createSharedExceptionByteArray(String name, byte[] byteArray, String ownerId) {
+    ByteArrayEntity result = null;
+
+    if (byteArray != null) {
+      String id = computeSharedByteArrayId(name, byteArray, ownerId);
+      DbEntityManager dbEntityManager = Context.getCommandContext().getDbEntityManager();
+
+      result = dbEntityManager.selectById(ByteArrayEntity.class, id);
+      if (result == null) {
+        result = new ByteArrayEntity(name, byteArray);
+        result.setId(id);
+        dbEntityManager.insert(result);
+      }
+    }
+
+    return result;
+  }
+
+  protected static String computeSharedByteArrayId(String name, byte[] byteArray, String ownerId) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(SHARED_BYTE_ARRAY_HASH_ALGORITHM);
+      digest.update((ownerId + "/" + name + "/").getBytes(Charset.forName("UTF-8")));
+      digest.update(byteArray);
+      // 64 hex digits, the length of the id columns
+      return String.format("%064x", new BigInteger(1, digest.digest()));
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot compute id of exception byte array: algorithm " + SHARED_BYTE_ARRAY_HASH_ALGORITHM + " is not available", e);
+    }
+  }
+
 }
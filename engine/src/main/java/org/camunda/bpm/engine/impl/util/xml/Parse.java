@@ -117,16 +117,17 @@ public class Parse extends DefaultHandler {
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      if (schemaResource == null) { // must be done before parser is created
-        parser.getSaxParserFactory().setNamespaceAware(false);
-        parser.getSaxParserFactory().setValidating(false);
-      }
-
-      SAXParser saxParser = parser.getSaxParser();
+      SAXParser saxParser;
       if (schemaResource != null) {
+        saxParser = parser.getSaxParser();
         saxParser.setProperty(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
         saxParser.setProperty(JAXP_SCHEMA_SOURCE, schemaResource);
       }
+      else {
+        // only skip the schema validation; the document must still be parsed namespace aware,
+        // and the shared factory must not be changed since other parses may use it concurrently
+        saxParser = parser.getNonValidatingSaxParser();
+      }
       saxParser.parse(inputStream, new ParseHandler(this));
 
     }
@@ -191,15 +192,21 @@ public class Parse extends DefaultHandler {
     throw LOG.exceptionDuringParsing(strb.toString());
   }
 
+  /**
+   * @param schemaResource the schema to validate the document against,
+   * <code>null</code> to parse it without schema validation
+   */
   public void setSchemaResource(String schemaResource) {
-    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-    }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
+    if (schemaResource != null) {
+      SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
+      saxParserFactory.setNamespaceAware(true);
+      saxParserFactory.setValidating(true);
+      try {
+        saxParserFactory.setFeature(Parser.NAMESPACE_PREFIXES_FEATURE, true);
+      }
+      catch (Exception e) {
+        LOG.unableToSetSchemaResource(e);
+      }
     }
     this.schemaResource = schemaResource;
   }
@@ -15,13 +15,23 @@ package org.camunda.bpm.engine.impl.util.xml;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
+
 
 /**
  * @author Tom Baeyens
  */
 public class Parser {
 
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  protected static final String NAMESPACE_PREFIXES_FEATURE = "http://xml.org/sax/features/namespace-prefixes";
+
   protected static SAXParserFactory defaultSaxParserFactory = SAXParserFactory.newInstance();
+
+  /** configured once and never changed afterwards, so it can be shared by concurrent parses */
+  protected static SAXParserFactory nonValidatingSaxParserFactory = createNonValidatingSaxParserFactory();
   
   public static final Parser INSTANCE = new Parser();
 
@@ -36,4 +46,28 @@ public class Parser {
   protected SAXParserFactory getSaxParserFactory() {
     return defaultSaxParserFactory;
   }
+
+  /**
+   * @return a namespace aware parser which does not validate against a schema
+   */
+  protected SAXParser getNonValidatingSaxParser() throws Exception {
+    return getNonValidatingSaxParserFactory().newSAXParser();
+  }
+
+  protected SAXParserFactory getNonValidatingSaxParserFactory() {
+    return nonValidatingSaxParserFactory;
+  }
+
+  protected static SAXParserFactory createNonValidatingSaxParserFactory() {
+    SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    saxParserFactory.setNamespaceAware(true);
+    saxParserFactory.setValidating(false);
+    try {
+      saxParserFactory.setFeature(NAMESPACE_PREFIXES_FEATURE, true);
+    }
+    catch (Exception e) {
+      LOG.unableToSetSchemaResource(e);
+    }
+    return saxParserFactory;
+  }
 }
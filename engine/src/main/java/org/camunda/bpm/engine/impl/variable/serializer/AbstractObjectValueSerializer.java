@@ -12,6 +12,16 @@
  */
 package org.camunda.bpm.engine.impl.variable.serializer;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.impl.value.ObjectValueImpl;
@@ -27,6 +37,33 @@ import org.camunda.bpm.engine.variable.value.ObjectValue;
  */
 public abstract class AbstractObjectValueSerializer extends AbstractSerializableValueSerializer<ObjectValue> {
 
+  /**
+   * Types which cannot be changed after construction. Values of these types are
+   * never checked for implicit updates.
+   */
+  public static final Set<String> DEFAULT_IMMUTABLE_OBJECT_TYPE_NAMES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+      String.class.getName(),
+      Boolean.class.getName(),
+      Character.class.getName(),
+      Byte.class.getName(),
+      Short.class.getName(),
+      Integer.class.getName(),
+      Long.class.getName(),
+      Float.class.getName(),
+      Double.class.getName(),
+      BigInteger.class.getName(),
+      BigDecimal.class.getName(),
+      UUID.class.getName(),
+      Locale.class.getName())));
+
+  protected boolean implicitUpdateDetectionEnabled = true;
+
+  /**
+   * Read by every command which accesses an object variable, so it is replaced by a new
+   * unmodifiable set on change instead of being modified.
+   */
+  protected volatile Set<String> immutableObjectTypeNames = DEFAULT_IMMUTABLE_OBJECT_TYPE_NAMES;
+
   public AbstractObjectValueSerializer(String serializationDataFormat) {
     super(ValueType.OBJECT, serializationDataFormat);
   }
@@ -80,8 +117,58 @@ public abstract class AbstractObjectValueSerializer extends AbstractSerializable
     return valueFields.getTextValue2();
   }
 
+  /**
+   * A deserialized value is mutable unless implicit update detection is disabled
+   * or its type is declared as immutable. Only mutable values are serialized again
+   * when the command context is closed to detect changes made to them.
+   */
   public boolean isMutableValue(ObjectValue typedValue) {
-    return typedValue.isDeserialized();
+    if (!implicitUpdateDetectionEnabled || !typedValue.isDeserialized()) {
+      return false;
+    }
+
+    Object value = typedValue.getValue();
+    return value == null || !immutableObjectTypeNames.contains(value.getClass().getName());
+  }
+
+  public boolean isImplicitUpdateDetectionEnabled() {
+    return implicitUpdateDetectionEnabled;
+  }
+
+  /**
+   * If disabled, deserialized values are not serialized again when the command context is
+   * closed. Changes made to an object without setting it as variable again are then lost.
+   */
+  public void setImplicitUpdateDetectionEnabled(boolean implicitUpdateDetectionEnabled) {
+    this.implicitUpdateDetectionEnabled = implicitUpdateDetectionEnabled;
+  }
+
+  public Set<String> getImmutableObjectTypeNames() {
+    return immutableObjectTypeNames;
+  }
+
+  /**
+   * Declares the (fully qualified) names of types whose instances are never changed after
+   * they are created. Values of these types are not checked for implicit updates.
+   */
+  public synchronized void setImmutableObjectTypeNames(Collection<String> immutableObjectTypeNames) {
+    this.immutableObjectTypeNames = Collections.unmodifiableSet(new HashSet<String>(immutableObjectTypeNames));
+  }
+
+  public void addImmutableObjectTypeName(String immutableObjectTypeName) {
+    addImmutableObjectTypeNames(Collections.singleton(immutableObjectTypeName));
+  }
+
+  public synchronized void addImmutableObjectTypeNames(Collection<String> immutableObjectTypeNames) {
+    Set<String> typeNames = new HashSet<String>(this.immutableObjectTypeNames);
+    typeNames.addAll(immutableObjectTypeNames);
+    this.immutableObjectTypeNames = Collections.unmodifiableSet(typeNames);
+  }
+
+  public synchronized void removeImmutableObjectTypeName(String immutableObjectTypeName) {
+    Set<String> typeNames = new HashSet<String>(immutableObjectTypeNames);
+    typeNames.remove(immutableObjectTypeName);
+    this.immutableObjectTypeNames = Collections.unmodifiableSet(typeNames);
   }
 
   // methods to be implemented by subclasses ////////////
@@ -0,0 +1,319 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import static org.camunda.bpm.engine.impl.variable.serializer.CompactBinaryObjectOutput.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * Reads one object graph written by the {@link CompactBinaryObjectOutput}.
+ */
+public class CompactBinaryObjectInput {
+
+  protected CompactBinaryObjectSerializer serializer;
+
+  protected DataInputStream in;
+
+  protected List<Object> readObjects = new ArrayList<Object>();
+  protected List<Class<?>> readClassNames = new ArrayList<Class<?>>();
+  protected Set<Class<?>> readSchemas = new HashSet<Class<?>>();
+
+  public CompactBinaryObjectInput(CompactBinaryObjectSerializer serializer, byte[] bytes) {
+    this.serializer = serializer;
+    this.in = new DataInputStream(new ByteArrayInputStream(bytes));
+  }
+
+  public Object read() throws Exception {
+    int version = in.readUnsignedByte();
+    if (version != VERSION) {
+      throw new ProcessEngineException("Cannot read values of version " + version + " of serializer '" + CompactBinaryObjectSerializer.NAME + "'");
+    }
+    return readValue();
+  }
+
+  protected Object readValue() throws Exception {
+    int tag = in.readUnsignedByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case REFERENCE:
+        return readObjects.get(readVarInt());
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case BYTE:
+        return in.readByte();
+      case SHORT:
+        return in.readShort();
+      case CHAR:
+        return in.readChar();
+      case INT:
+        return zigZag(readVarInt());
+      case LONG:
+        return zigZag(readVarLong());
+      case FLOAT:
+        return in.readFloat();
+      case DOUBLE:
+        return in.readDouble();
+      case STRING:
+        return readString();
+      case DATE:
+        return new Date(zigZag(readVarLong()));
+      case BIG_INTEGER:
+        return new BigInteger(readBytes());
+      case BIG_DECIMAL:
+        BigInteger unscaledValue = new BigInteger(readBytes());
+        return new BigDecimal(unscaledValue, zigZag(readVarInt()));
+      case UUID_VALUE:
+        return new UUID(in.readLong(), in.readLong());
+      case ENUM:
+        return readEnum();
+      case BYTE_ARRAY:
+        return addObject(readBytes());
+      case PRIMITIVE_ARRAY:
+        return readPrimitiveArray();
+      case OBJECT_ARRAY:
+        return readObjectArray();
+      case COLLECTION:
+        return readCollection();
+      case MAP:
+        return readMap();
+      case OBJECT:
+        return readObject();
+      default:
+        throw new ProcessEngineException("Cannot read value with unknown tag " + tag);
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  protected Object readEnum() throws Exception {
+    Class<?> type = readClass();
+    if (!type.isEnum()) {
+      throw new ProcessEngineException("Class '" + type.getName() + "' is not an enum");
+    }
+    if (!serializer.isRegistered(type) && serializer.isRegistrationRequired()) {
+      throw new ProcessEngineException("Class '" + type.getName() + "' is not registered for serializer '" + CompactBinaryObjectSerializer.NAME + "'");
+    }
+    return Enum.valueOf((Class<? extends Enum>) type, readString());
+  }
+
+  protected Object readPrimitiveArray() throws Exception {
+    Class<?> componentType = getPrimitiveClass(readString());
+    int length = readVarInt();
+    Object array = addObject(Array.newInstance(componentType, length));
+    for (int i = 0; i < length; i++) {
+      Array.set(array, i, readPrimitive(componentType));
+    }
+    return array;
+  }
+
+  protected Object readObjectArray() throws Exception {
+    Class<?> componentType = readClass();
+    Object[] array = (Object[]) addObject(Array.newInstance(componentType, readVarInt()));
+    for (int i = 0; i < array.length; i++) {
+      array[i] = readValue();
+    }
+    return array;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Object readCollection() throws Exception {
+    Collection<Object> collection;
+    int implementation = readVarInt();
+    if (implementation == WRITTEN_IMPLEMENTATION) {
+      collection = (Collection<Object>) newInstance(readClass(), Collection.class);
+    }
+    else if (implementation == DEFAULT_SET_IMPLEMENTATION) {
+      collection = new LinkedHashSet<Object>();
+    }
+    else {
+      collection = new ArrayList<Object>();
+    }
+    addObject(collection);
+
+    int size = readVarInt();
+    for (int i = 0; i < size; i++) {
+      collection.add(readValue());
+    }
+    return collection;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Object readMap() throws Exception {
+    Map<Object, Object> map;
+    if (readVarInt() == WRITTEN_IMPLEMENTATION) {
+      map = (Map<Object, Object>) newInstance(readClass(), Map.class);
+    }
+    else {
+      map = new LinkedHashMap<Object, Object>();
+    }
+    addObject(map);
+
+    int size = readVarInt();
+    for (int i = 0; i < size; i++) {
+      Object key = readValue();
+      map.put(key, readValue());
+    }
+    return map;
+  }
+
+  protected Object newInstance(Class<?> type, Class<?> expectedType) throws Exception {
+    if (!expectedType.isAssignableFrom(type)) {
+      throw new ProcessEngineException("Class '" + type.getName() + "' is not a " + expectedType.getName());
+    }
+    return type.getConstructor().newInstance();
+  }
+
+  protected Object readObject() throws Exception {
+    Class<?> type = readClass();
+    CompactBinarySchema schema = serializer.getSchema(type);
+    if (readSchemas.add(type) && in.readInt() != schema.getFingerprint()) {
+      throw new ProcessEngineException("Cannot read object of class '" + type.getName() + "': the fields of the class have changed");
+    }
+
+    Object object = addObject(schema.newInstance());
+    for (Field field : schema.getFields()) {
+      if (field.getType().isPrimitive()) {
+        field.set(object, readPrimitive(field.getType()));
+      }
+      else {
+        field.set(object, readValue());
+      }
+    }
+    return object;
+  }
+
+  protected Object readPrimitive(Class<?> type) throws IOException {
+    if (type == int.class) {
+      return zigZag(readVarInt());
+    }
+    else if (type == long.class) {
+      return zigZag(readVarLong());
+    }
+    else if (type == boolean.class) {
+      return in.readBoolean();
+    }
+    else if (type == double.class) {
+      return in.readDouble();
+    }
+    else if (type == float.class) {
+      return in.readFloat();
+    }
+    else if (type == short.class) {
+      return in.readShort();
+    }
+    else if (type == byte.class) {
+      return in.readByte();
+    }
+    else {
+      return in.readChar();
+    }
+  }
+
+  protected Class<?> getPrimitiveClass(String name) {
+    Class<?>[] primitiveClasses = {int.class, long.class, boolean.class, double.class, float.class, short.class, byte.class, char.class};
+    for (Class<?> primitiveClass : primitiveClasses) {
+      if (primitiveClass.getName().equals(name)) {
+        return primitiveClass;
+      }
+    }
+    throw new ProcessEngineException("Unknown primitive type '" + name + "'");
+  }
+
+  /**
+   * @see CompactBinaryObjectOutput#writeClass(Class)
+   */
+  protected Class<?> readClass() throws IOException {
+    int value = readVarInt();
+    if (value % 2 == 1) {
+      return ReflectUtil.loadClass(serializer.getRegisteredClassName(value / 2));
+    }
+    else if (value > 0) {
+      return readClassNames.get(value / 2 - 1);
+    }
+    else {
+      Class<?> type = ReflectUtil.loadClass(readString());
+      readClassNames.add(type);
+      return type;
+    }
+  }
+
+  protected Object addObject(Object object) {
+    readObjects.add(object);
+    return object;
+  }
+
+  protected String readString() throws IOException {
+    return new String(readBytes(), "UTF-8");
+  }
+
+  protected byte[] readBytes() throws IOException {
+    byte[] bytes = new byte[readVarInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  protected int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new ProcessEngineException("Malformed variable length integer");
+  }
+
+  protected long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new ProcessEngineException("Malformed variable length long");
+  }
+
+  protected static int zigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  protected static long zigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+}
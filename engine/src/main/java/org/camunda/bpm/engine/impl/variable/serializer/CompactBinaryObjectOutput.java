@@ -0,0 +1,380 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.UUID;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Writes one object graph in the format of the {@link CompactBinaryObjectSerializer}. Every value is
+ * written as a tag followed by its content, except for values of primitive fields which are written
+ * without a tag. Objects which are referenced more than once are written once and then referenced by
+ * their index.
+ *
+ * @see CompactBinaryObjectInput
+ */
+public class CompactBinaryObjectOutput {
+
+  public static final int VERSION = 1;
+
+  public static final int NULL = 0;
+  public static final int REFERENCE = 1;
+  public static final int TRUE = 2;
+  public static final int FALSE = 3;
+  public static final int BYTE = 4;
+  public static final int SHORT = 5;
+  public static final int CHAR = 6;
+  public static final int INT = 7;
+  public static final int LONG = 8;
+  public static final int FLOAT = 9;
+  public static final int DOUBLE = 10;
+  public static final int STRING = 11;
+  public static final int DATE = 12;
+  public static final int BIG_INTEGER = 13;
+  public static final int BIG_DECIMAL = 14;
+  public static final int UUID_VALUE = 15;
+  public static final int ENUM = 16;
+  public static final int BYTE_ARRAY = 17;
+  public static final int PRIMITIVE_ARRAY = 18;
+  public static final int OBJECT_ARRAY = 19;
+  public static final int COLLECTION = 20;
+  public static final int MAP = 21;
+  public static final int OBJECT = 22;
+
+  /** the implementation of a collection or map which cannot be created is not written */
+  public static final int DEFAULT_IMPLEMENTATION = 0;
+  public static final int WRITTEN_IMPLEMENTATION = 1;
+  public static final int DEFAULT_SET_IMPLEMENTATION = 2;
+
+  protected CompactBinaryObjectSerializer serializer;
+
+  protected ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+  protected DataOutputStream out = new DataOutputStream(bytes);
+
+  protected Map<Object, Integer> writtenObjects = new IdentityHashMap<Object, Integer>();
+  protected Map<Class<?>, Integer> writtenClassNames = new HashMap<Class<?>, Integer>();
+  protected Set<Class<?>> writtenSchemas = new HashSet<Class<?>>();
+
+  public CompactBinaryObjectOutput(CompactBinaryObjectSerializer serializer) {
+    this.serializer = serializer;
+  }
+
+  public byte[] write(Object object) throws IOException {
+    out.writeByte(VERSION);
+    writeValue(object);
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  protected void writeValue(Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    }
+    else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString((String) value);
+    }
+    else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    }
+    else if (value instanceof Integer) {
+      out.writeByte(INT);
+      writeVarInt(zigZag((Integer) value));
+    }
+    else if (value instanceof Long) {
+      out.writeByte(LONG);
+      writeVarLong(zigZag((Long) value));
+    }
+    else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    }
+    else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    }
+    else if (value instanceof Short) {
+      out.writeByte(SHORT);
+      out.writeShort((Short) value);
+    }
+    else if (value instanceof Byte) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    }
+    else if (value instanceof Character) {
+      out.writeByte(CHAR);
+      out.writeChar((Character) value);
+    }
+    else if (value.getClass() == Date.class) {
+      out.writeByte(DATE);
+      writeVarLong(zigZag(((Date) value).getTime()));
+    }
+    else if (value.getClass() == BigInteger.class) {
+      out.writeByte(BIG_INTEGER);
+      writeBytes(((BigInteger) value).toByteArray());
+    }
+    else if (value.getClass() == BigDecimal.class) {
+      BigDecimal bigDecimal = (BigDecimal) value;
+      out.writeByte(BIG_DECIMAL);
+      writeBytes(bigDecimal.unscaledValue().toByteArray());
+      writeVarInt(zigZag(bigDecimal.scale()));
+    }
+    else if (value instanceof UUID) {
+      UUID uuid = (UUID) value;
+      out.writeByte(UUID_VALUE);
+      out.writeLong(uuid.getMostSignificantBits());
+      out.writeLong(uuid.getLeastSignificantBits());
+    }
+    else if (value instanceof Enum) {
+      out.writeByte(ENUM);
+      writeSchemaClass(((Enum<?>) value).getDeclaringClass());
+      writeString(((Enum<?>) value).name());
+    }
+    else if (!writeReference(value)) {
+      writeObject(value);
+    }
+  }
+
+  /**
+   * Writes a reference if the object was already written, otherwise remembers the object.
+   *
+   * @return true if a reference was written
+   */
+  protected boolean writeReference(Object object) throws IOException {
+    Integer index = writtenObjects.get(object);
+    if (index != null) {
+      out.writeByte(REFERENCE);
+      writeVarInt(index);
+      return true;
+    }
+    else {
+      writtenObjects.put(object, writtenObjects.size());
+      return false;
+    }
+  }
+
+  protected void writeObject(Object object) throws IOException {
+    Class<?> type = object.getClass();
+
+    if (type == byte[].class) {
+      out.writeByte(BYTE_ARRAY);
+      writeBytes((byte[]) object);
+    }
+    else if (type.isArray() && type.getComponentType().isPrimitive()) {
+      out.writeByte(PRIMITIVE_ARRAY);
+      writeString(type.getComponentType().getName());
+      int length = Array.getLength(object);
+      writeVarInt(length);
+      for (int i = 0; i < length; i++) {
+        writePrimitive(type.getComponentType(), Array.get(object, i));
+      }
+    }
+    else if (type.isArray()) {
+      out.writeByte(OBJECT_ARRAY);
+      writeClass(type.getComponentType());
+      Object[] array = (Object[]) object;
+      writeVarInt(array.length);
+      for (Object element : array) {
+        writeValue(element);
+      }
+    }
+    else if (object instanceof Collection) {
+      Collection<?> collection = (Collection<?>) object;
+      if (collection instanceof SortedSet && ((SortedSet<?>) collection).comparator() != null) {
+        throw new ProcessEngineException("Cannot serialize sorted set with comparator of class '" + type.getName() + "'");
+      }
+      out.writeByte(COLLECTION);
+      writeImplementation(type);
+      writeVarInt(collection.size());
+      for (Object element : collection) {
+        writeValue(element);
+      }
+    }
+    else if (object instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) object;
+      if (map instanceof SortedMap && ((SortedMap<?, ?>) map).comparator() != null) {
+        throw new ProcessEngineException("Cannot serialize sorted map with comparator of class '" + type.getName() + "'");
+      }
+      out.writeByte(MAP);
+      writeImplementation(type);
+      writeVarInt(map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        writeValue(entry.getKey());
+        writeValue(entry.getValue());
+      }
+    }
+    else {
+      out.writeByte(OBJECT);
+      CompactBinarySchema schema = writeSchemaClass(type);
+      try {
+        for (Field field : schema.getFields()) {
+          if (field.getType().isPrimitive()) {
+            writePrimitive(field.getType(), field.get(object));
+          }
+          else {
+            writeValue(field.get(object));
+          }
+        }
+      }
+      catch (IllegalAccessException e) {
+        throw new ProcessEngineException("Cannot read fields of class '" + type.getName() + "'", e);
+      }
+    }
+  }
+
+  protected void writePrimitive(Class<?> type, Object value) throws IOException {
+    if (type == int.class) {
+      writeVarInt(zigZag((Integer) value));
+    }
+    else if (type == long.class) {
+      writeVarLong(zigZag((Long) value));
+    }
+    else if (type == boolean.class) {
+      out.writeBoolean((Boolean) value);
+    }
+    else if (type == double.class) {
+      out.writeDouble((Double) value);
+    }
+    else if (type == float.class) {
+      out.writeFloat((Float) value);
+    }
+    else if (type == short.class) {
+      out.writeShort((Short) value);
+    }
+    else if (type == byte.class) {
+      out.writeByte((Byte) value);
+    }
+    else {
+      out.writeChar((Character) value);
+    }
+  }
+
+  /**
+   * Writes the implementation class of a collection or map if it can be created by the reader.
+   * Otherwise a list, set or map is read into a default implementation.
+   */
+  protected void writeImplementation(Class<?> type) throws IOException {
+    if (Modifier.isPublic(type.getModifiers()) && hasPublicConstructorWithoutArguments(type)) {
+      writeVarInt(WRITTEN_IMPLEMENTATION);
+      writeClass(type);
+    }
+    else if (Set.class.isAssignableFrom(type)) {
+      writeVarInt(DEFAULT_SET_IMPLEMENTATION);
+    }
+    else {
+      writeVarInt(DEFAULT_IMPLEMENTATION);
+    }
+  }
+
+  protected boolean hasPublicConstructorWithoutArguments(Class<?> type) {
+    try {
+      type.getConstructor();
+      return true;
+    }
+    catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Writes a class which is serialized by its schema. The fingerprint of the schema is written
+   * with the first occurrence of the class.
+   */
+  protected CompactBinarySchema writeSchemaClass(Class<?> type) throws IOException {
+    CompactBinarySchema schema = type.isEnum() ? null : serializer.getSchema(type);
+    if (type.isEnum() && !serializer.isRegistered(type) && serializer.isRegistrationRequired()) {
+      throw new ProcessEngineException("Class '" + type.getName() + "' is not registered for serializer '" + CompactBinaryObjectSerializer.NAME + "'");
+    }
+
+    writeClass(type);
+    if (schema != null && writtenSchemas.add(type)) {
+      out.writeInt(schema.getFingerprint());
+    }
+    return schema;
+  }
+
+  /**
+   * Writes a registered class as odd number (the registration id * 2 + 1). Other classes are
+   * written by name (0) the first time and then as even number (the index of the name * 2 + 2).
+   */
+  protected void writeClass(Class<?> type) throws IOException {
+    Integer registrationId = serializer.getRegistrationId(type);
+    if (registrationId != null) {
+      writeVarInt(registrationId * 2 + 1);
+      return;
+    }
+
+    Integer nameIndex = writtenClassNames.get(type);
+    if (nameIndex != null) {
+      writeVarInt(nameIndex * 2 + 2);
+    }
+    else {
+      writtenClassNames.put(type, writtenClassNames.size());
+      writeVarInt(0);
+      writeString(type.getName());
+    }
+  }
+
+  protected void writeString(String value) throws IOException {
+    writeBytes(value.getBytes("UTF-8"));
+  }
+
+  protected void writeBytes(byte[] value) throws IOException {
+    writeVarInt(value.length);
+    out.write(value);
+  }
+
+  protected void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  protected void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  /** maps signed to unsigned numbers, so that small negative numbers are also written in few bytes */
+  protected static int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  protected static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+}
@@ -0,0 +1,182 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Serializes java objects field by field into a compact binary format. Unlike the
+ * {@link JavaObjectSerializer}, the objects do not have to implement {@link java.io.Serializable},
+ * but need a constructor without arguments.</p>
+ *
+ * <p>The serializer is not registered by default. It can be added to the
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setCustomPreVariableSerializers(List)
+ * custom pre variable serializers} and then handles the object values of the registered classes.
+ * Values of other classes are handled by the following serializers, unless the registration is not
+ * required.</p>
+ *
+ * <p>A registered class is written as the index of its registration instead of its name, so classes
+ * must always be registered in the same order. The fields of registered classes are looked up once and
+ * cached. A hash of the fields of each class is stored with the value, so that a value cannot be
+ * read into a class whose fields have changed since the value was written.</p>
+ *
+ * <p>Collections and maps are written with their elements. Implementations without a constructor without
+ * arguments, such as unmodifiable collections, are read as {@link java.util.ArrayList},
+ * {@link java.util.LinkedHashSet} or {@link java.util.LinkedHashMap}. Sorted collections with a comparator
+ * cannot be serialized.</p>
+ *
+ * @see #DATA_FORMAT
+ */
+public class CompactBinaryObjectSerializer extends AbstractObjectValueSerializer {
+
+  public static final String NAME = "compact-binary";
+
+  public static final String DATA_FORMAT = "application/x-compact-binary";
+
+  protected List<String> registeredClassNames = new CopyOnWriteArrayList<String>();
+
+  protected Map<String, Integer> registrationIds = new ConcurrentHashMap<String, Integer>();
+
+  /** the schemas of registered classes by class name */
+  protected Map<String, CompactBinarySchema> schemas = new ConcurrentHashMap<String, CompactBinarySchema>();
+
+  protected boolean registrationRequired = true;
+
+  public CompactBinaryObjectSerializer() {
+    super(DATA_FORMAT);
+  }
+
+  public CompactBinaryObjectSerializer(List<String> registeredClassNames) {
+    this();
+    setRegisteredClassNames(registeredClassNames);
+  }
+
+  public String getName() {
+    return NAME;
+  }
+
+  protected boolean isSerializationTextBased() {
+    return false;
+  }
+
+  protected byte[] serializeToByteArray(Object deserializedObject) throws Exception {
+    return new CompactBinaryObjectOutput(this).write(deserializedObject);
+  }
+
+  protected Object deserializeFromByteArray(byte[] bytes, String objectTypeName) throws Exception {
+    return new CompactBinaryObjectInput(this, bytes).read();
+  }
+
+  protected String getTypeNameForDeserialized(Object deserializedObject) {
+    return deserializedObject.getClass().getName();
+  }
+
+  protected boolean canSerializeValue(Object value) {
+    Class<?> type = value.getClass();
+    if (isRegistered(type)) {
+      return true;
+    }
+    else {
+      return !registrationRequired && !CompactBinarySchema.isPlatformClass(type);
+    }
+  }
+
+  // class registration ////////////////////////////////////
+
+  /**
+   * Registers a class which is written as the index of its registration. Classes must always be
+   * registered in the same order, otherwise values written before cannot be read anymore.
+   */
+  public synchronized void registerClassName(String className) {
+    if (!registrationIds.containsKey(className)) {
+      registeredClassNames.add(className);
+      registrationIds.put(className, registeredClassNames.size() - 1);
+    }
+  }
+
+  public void registerClass(Class<?> type) {
+    registerClassName(type.getName());
+  }
+
+  public List<String> getRegisteredClassNames() {
+    return Collections.unmodifiableList(new ArrayList<String>(registeredClassNames));
+  }
+
+  public void setRegisteredClassNames(Collection<String> registeredClassNames) {
+    for (String className : registeredClassNames) {
+      registerClassName(className);
+    }
+  }
+
+  public boolean isRegistered(Class<?> type) {
+    return registrationIds.containsKey(type.getName());
+  }
+
+  /**
+   * @return the index of the registration of the class or <code>null</code> if the class is not registered
+   */
+  public Integer getRegistrationId(Class<?> type) {
+    return registrationIds.get(type.getName());
+  }
+
+  public String getRegisteredClassName(int registrationId) {
+    if (registrationId < 0 || registrationId >= registeredClassNames.size()) {
+      throw new ProcessEngineException("No class is registered with id " + registrationId);
+    }
+    return registeredClassNames.get(registrationId);
+  }
+
+  public boolean isRegistrationRequired() {
+    return registrationRequired;
+  }
+
+  /**
+   * If required (default), only objects and enums of registered classes can be serialized. Otherwise
+   * the names of classes which are not registered are written with the value.
+   */
+  public void setRegistrationRequired(boolean registrationRequired) {
+    this.registrationRequired = registrationRequired;
+  }
+
+  // schemas ///////////////////////////////////////////////
+
+  /**
+   * Returns the schema of the class. The schemas of registered classes are cached, so that their
+   * fields and constructors are only looked up once.
+   */
+  public CompactBinarySchema getSchema(Class<?> type) {
+    if (!isRegistered(type)) {
+      if (registrationRequired) {
+        throw new ProcessEngineException("Class '" + type.getName() + "' is not registered for serializer '" + NAME + "'");
+      }
+      return new CompactBinarySchema(type);
+    }
+
+    CompactBinarySchema schema = schemas.get(type.getName());
+    // a class of a redeployed process application has the same name but is another class
+    if (schema == null || schema.getType() != type) {
+      schema = new CompactBinarySchema(type);
+      schemas.put(type.getName(), schema);
+    }
+    return schema;
+  }
+
+}
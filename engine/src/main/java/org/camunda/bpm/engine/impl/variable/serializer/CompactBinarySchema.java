@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * The fields and the constructor of a class serialized by the {@link CompactBinaryObjectSerializer}.
+ * Static and transient fields are not serialized.
+ */
+public class CompactBinarySchema {
+
+  protected static final Comparator<Field> FIELD_NAME_COMPARATOR = new Comparator<Field>() {
+    public int compare(Field field, Field otherField) {
+      return field.getName().compareTo(otherField.getName());
+    }
+  };
+
+  protected Class<?> type;
+  protected Constructor<?> constructor;
+  protected Field[] fields;
+  protected int fingerprint;
+
+  public CompactBinarySchema(Class<?> type) {
+    if (isPlatformClass(type) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+      throw new ProcessEngineException("Cannot serialize instances of class '" + type.getName() + "'");
+    }
+
+    this.type = type;
+    this.constructor = findConstructor(type);
+    this.fields = findFields(type);
+    this.fingerprint = calculateFingerprint(fields);
+  }
+
+  protected Constructor<?> findConstructor(Class<?> type) {
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return constructor;
+    }
+    catch (NoSuchMethodException e) {
+      throw new ProcessEngineException("Class '" + type.getName() + "' has no constructor without arguments", e);
+    }
+  }
+
+  /**
+   * @return the fields of the class and its super classes, ordered by class hierarchy and name
+   */
+  protected Field[] findFields(Class<?> type) {
+    List<Field> fields = new ArrayList<Field>();
+    if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+      fields.addAll(Arrays.asList(findFields(type.getSuperclass())));
+    }
+
+    Field[] declaredFields = type.getDeclaredFields();
+    Arrays.sort(declaredFields, FIELD_NAME_COMPARATOR);
+    for (Field field : declaredFields) {
+      int modifiers = field.getModifiers();
+      if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+        field.setAccessible(true);
+        fields.add(field);
+      }
+    }
+
+    return fields.toArray(new Field[fields.size()]);
+  }
+
+  protected int calculateFingerprint(Field[] fields) {
+    int fingerprint = 1;
+    for (Field field : fields) {
+      fingerprint = 31 * fingerprint + field.getName().hashCode();
+      fingerprint = 31 * fingerprint + field.getType().getName().hashCode();
+    }
+    return fingerprint;
+  }
+
+  public Object newInstance() throws Exception {
+    return constructor.newInstance();
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public Field[] getFields() {
+    return fields;
+  }
+
+  /**
+   * @return a hash of the names and types of the fields, to detect changes of the class
+   */
+  public int getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Classes of the java platform are not serialized by their fields, since their fields are
+   * implementation details which can differ between java versions.
+   */
+  public static boolean isPlatformClass(Class<?> type) {
+    String name = type.getName();
+    return type.isPrimitive() || type.isArray() || name.startsWith("java.") || name.startsWith("javax.");
+  }
+
+}
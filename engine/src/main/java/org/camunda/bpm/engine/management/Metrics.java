@@ -56,4 +56,24 @@ public class Metrics {
    */
   public final static String EXECUTED_DECISION_ELEMENTS = "executed-decision-elements";
 
+  /**
+   * Number of historic process instances removed by the history cleanup.
+   */
+  public final static String HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES = "history-cleanup-removed-process-instances";
+
+  /**
+   * Number of definitions found in a weight-bounded deployment cache.
+   */
+  public final static String DEPLOYMENT_CACHE_HIT = "deployment-cache-hit";
+
+  /**
+   * Number of definitions not found in a weight-bounded deployment cache.
+   */
+  public final static String DEPLOYMENT_CACHE_MISS = "deployment-cache-miss";
+
+  /**
+   * Number of definitions evicted from a weight-bounded deployment cache.
+   */
+  public final static String DEPLOYMENT_CACHE_EVICTION = "deployment-cache-eviction";
+
 }
@@ -28,6 +28,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ smallint check(GENERATED_ in (1,0)),
     TENANT_ID_ varchar(64),
+    HASH_ varchar(64),
     primary key (ID_)
 );
 
@@ -16,6 +16,8 @@ create table ACT_HI_PROCINST (
     DELETE_REASON_ varchar(4000),
     TENANT_ID_ varchar(64),
     STATE_ varchar(255),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -41,6 +43,8 @@ create table ACT_HI_ACTINST (
     ACT_INST_STATE_ integer,
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -69,6 +73,8 @@ create table ACT_HI_TASKINST (
     DUE_DATE_ timestamp,
     FOLLOW_UP_DATE_ timestamp,
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -93,6 +99,8 @@ create table ACT_HI_VARINST (
     TEXT_ varchar(4000),
     TEXT2_ varchar(4000),
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -122,6 +130,8 @@ create table ACT_HI_DETAIL (
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
     OPERATION_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -137,6 +147,8 @@ create table ACT_HI_IDENTITYLINK (
     ASSIGNER_ID_ varchar(64),
     PROC_DEF_KEY_ varchar(255),
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -151,6 +163,8 @@ create table ACT_HI_COMMENT (
     MESSAGE_ varchar(4000),
     FULL_MSG_ BLOB,
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -166,6 +180,8 @@ create table ACT_HI_ATTACHMENT (
     URL_ varchar(4000),
     CONTENT_ID_ varchar(64),
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -212,6 +228,8 @@ create table ACT_HI_INCIDENT (
   INCIDENT_STATE_ integer,
   TENANT_ID_ varchar(64),
   JOB_DEF_ID_ varchar(64),
+  REMOVAL_TIME_ timestamp,
+  CLEANUP_PARTITION_ integer,
   primary key (ID_)
 );
 
@@ -236,6 +254,8 @@ create table ACT_HI_JOB_LOG (
     DEPLOYMENT_ID_ varchar(64),
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -272,10 +292,13 @@ create table ACT_HI_EXT_TASK_LOG (
     PROC_DEF_KEY_ varchar(255),
     TENANT_ID_ varchar(64),
     STATE_ integer,
+    REMOVAL_TIME_ timestamp,
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
 create index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST(END_TIME_);
+create index ACT_IDX_HI_PRO_INST_RM_TIME on ACT_HI_PROCINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
 create index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST(BUSINESS_KEY_);
 create index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST(TENANT_ID_);
 create index ACT_IDX_HI_PRO_INST_PROC_DEF_KEY on ACT_HI_PROCINST(PROC_DEF_KEY_);
@@ -331,3 +354,14 @@ create index ACT_HI_EXT_TASK_LOG_TENANT_ID on ACT_HI_EXT_TASK_LOG(TENANT_ID_);
 
 create index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG(PROC_INST_ID_);
 create index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG(PROC_DEF_ID_);
+
+create index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_VARINST_RM_TIME on ACT_HI_VARINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_COMMENT_RM_TIME on ACT_HI_COMMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_ATTACHMENT_RM_TIME on ACT_HI_ATTACHMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_EXTTASKLOG_RM_TIME on ACT_HI_EXT_TASK_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
@@ -19,6 +19,8 @@ create table ACT_HI_DECINST (
     DEC_REQ_ID_ nvarchar(64),
     DEC_REQ_KEY_ nvarchar(255),
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -75,3 +77,5 @@ create index ACT_IDX_HI_DEC_IN_CLAUSE on ACT_HI_DEC_IN(DEC_INST_ID_, CLAUSE_ID_)
 
 create index ACT_IDX_HI_DEC_OUT_INST on ACT_HI_DEC_OUT(DEC_INST_ID_);
 create index ACT_IDX_HI_DEC_OUT_RULE on ACT_HI_DEC_OUT(RULE_ORDER_, CLAUSE_ID_);
+
+create index ACT_IDX_HI_DEC_INST_RM_TIME on ACT_HI_DECINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
@@ -16,6 +16,8 @@ create table ACT_HI_PROCINST (
     DELETE_REASON_ nvarchar(4000),
     TENANT_ID_ nvarchar(64),
     STATE_ nvarchar(255),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_),
     unique (PROC_INST_ID_)
 );
@@ -40,6 +42,8 @@ create table ACT_HI_ACTINST (
     ACT_INST_STATE_ tinyint,
     SEQUENCE_COUNTER_ numeric(19,0),
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -68,6 +72,8 @@ create table ACT_HI_TASKINST (
     DUE_DATE_ datetime2,
     FOLLOW_UP_DATE_ datetime2,
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -92,6 +98,8 @@ create table ACT_HI_VARINST (
     TEXT_ nvarchar(4000),
     TEXT2_ nvarchar(4000),
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -121,6 +129,8 @@ create table ACT_HI_DETAIL (
     SEQUENCE_COUNTER_ numeric(19,0),
     TENANT_ID_ nvarchar(64),
     OPERATION_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -136,6 +146,8 @@ create table ACT_HI_IDENTITYLINK (
     ASSIGNER_ID_ nvarchar(64),
     PROC_DEF_KEY_ nvarchar(255),
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 create table ACT_HI_COMMENT (
@@ -149,6 +161,8 @@ create table ACT_HI_COMMENT (
     MESSAGE_ nvarchar(4000),
     FULL_MSG_ image,
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -164,6 +178,8 @@ create table ACT_HI_ATTACHMENT (
     URL_ nvarchar(4000),
     CONTENT_ID_ nvarchar(64),
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -210,6 +226,8 @@ create table ACT_HI_INCIDENT (
   INCIDENT_STATE_ integer,
   TENANT_ID_ nvarchar(64),
   JOB_DEF_ID_ nvarchar(64),
+  REMOVAL_TIME_ datetime2,
+  CLEANUP_PARTITION_ int,
   primary key (ID_)
 );
 
@@ -234,6 +252,8 @@ create table ACT_HI_JOB_LOG (
     DEPLOYMENT_ID_ nvarchar(64),
     SEQUENCE_COUNTER_ numeric(19,0),
     TENANT_ID_ nvarchar(64),
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
@@ -270,10 +290,13 @@ create table ACT_HI_EXT_TASK_LOG (
     PROC_DEF_KEY_ nvarchar(255),
     TENANT_ID_ nvarchar(64),
     STATE_ integer,
+    REMOVAL_TIME_ datetime2,
+    CLEANUP_PARTITION_ int,
     primary key (ID_)
 );
 
 create index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST(END_TIME_);
+create index ACT_IDX_HI_PRO_INST_RM_TIME on ACT_HI_PROCINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
 create index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST(BUSINESS_KEY_);
 create index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST(TENANT_ID_);
 create index ACT_IDX_HI_PRO_INST_PROC_DEF_KEY on ACT_HI_PROCINST(PROC_DEF_KEY_);
@@ -326,3 +349,14 @@ create index ACT_HI_EXT_TASK_LOG_TENANT_ID on ACT_HI_EXT_TASK_LOG(TENANT_ID_);
 
 create index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG(PROC_INST_ID_);
 create index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG(PROC_DEF_ID_);
+
+create index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_VARINST_RM_TIME on ACT_HI_VARINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_COMMENT_RM_TIME on ACT_HI_COMMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_ATTACHMENT_RM_TIME on ACT_HI_ATTACHMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_EXTTASKLOG_RM_TIME on ACT_HI_EXT_TASK_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
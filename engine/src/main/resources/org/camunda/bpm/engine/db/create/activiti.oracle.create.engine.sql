@@ -28,6 +28,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ NUMBER(1,0) CHECK (GENERATED_ IN (1,0)),
     TENANT_ID_ NVARCHAR2(64),
+    HASH_ NVARCHAR2(64),
     primary key (ID_)
 );
 
@@ -16,6 +16,8 @@ create table ACT_HI_PROCINST (
     DELETE_REASON_ NVARCHAR2(2000),
     TENANT_ID_ NVARCHAR2(64),
     STATE_ NVARCHAR2(255),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_),
     unique (PROC_INST_ID_)
 );
@@ -40,6 +42,8 @@ create table ACT_HI_ACTINST (
     ACT_INST_STATE_ INTEGER,
     SEQUENCE_COUNTER_ NUMBER(19,0),
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -68,6 +72,8 @@ create table ACT_HI_TASKINST (
     DUE_DATE_ TIMESTAMP(6),
     FOLLOW_UP_DATE_ TIMESTAMP(6),
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -92,6 +98,8 @@ create table ACT_HI_VARINST (
     TEXT_ NVARCHAR2(2000),
     TEXT2_ NVARCHAR2(2000),
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -121,6 +129,8 @@ create table ACT_HI_DETAIL (
     SEQUENCE_COUNTER_ NUMBER(19,0),
     TENANT_ID_ NVARCHAR2(64),
     OPERATION_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -136,6 +146,8 @@ create table ACT_HI_IDENTITYLINK (
     ASSIGNER_ID_ NVARCHAR2(64),
     PROC_DEF_KEY_ NVARCHAR2(255),
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -150,6 +162,8 @@ create table ACT_HI_COMMENT (
     MESSAGE_ NVARCHAR2(2000),
     FULL_MSG_ BLOB,
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -165,6 +179,8 @@ create table ACT_HI_ATTACHMENT (
     URL_ NVARCHAR2(2000),
     CONTENT_ID_ NVARCHAR2(64),
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -211,6 +227,8 @@ create table ACT_HI_INCIDENT (
   INCIDENT_STATE_ INTEGER,
   TENANT_ID_ NVARCHAR2(64),
   JOB_DEF_ID_ NVARCHAR2(64),
+  REMOVAL_TIME_ TIMESTAMP(6),
+  CLEANUP_PARTITION_ integer,
   primary key (ID_)
 );
 
@@ -235,6 +253,8 @@ create table ACT_HI_JOB_LOG (
     DEPLOYMENT_ID_ NVARCHAR2(64),
     SEQUENCE_COUNTER_ NUMBER(19,0),
     TENANT_ID_ NVARCHAR2(64),
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -271,10 +291,13 @@ create table ACT_HI_EXT_TASK_LOG (
     PROC_DEF_KEY_ NVARCHAR2(255),
     TENANT_ID_ NVARCHAR2(64),
     STATE_ INTEGER,
+    REMOVAL_TIME_ TIMESTAMP(6),
+    CLEANUP_PARTITION_ integer,
     primary key (ID_)
 );
 
 create index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST(END_TIME_);
+create index ACT_IDX_HI_PRO_INST_RM_TIME on ACT_HI_PROCINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
 create index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST(BUSINESS_KEY_);
 create index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST(TENANT_ID_, 0);
 create index ACT_IDX_HI_PRO_INST_PROC_KEY on ACT_HI_PROCINST(PROC_DEF_KEY_);
@@ -327,3 +350,14 @@ create index ACT_HI_EXT_TASK_LOG_TENANT_ID on ACT_HI_EXT_TASK_LOG(TENANT_ID_);
 
 create index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG(PROC_INST_ID_);
 create index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG(PROC_DEF_ID_);
+
+create index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_VARINST_RM_TIME on ACT_HI_VARINST(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_COMMENT_RM_TIME on ACT_HI_COMMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_ATTACHMENT_RM_TIME on ACT_HI_ATTACHMENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
+create index ACT_IDX_HI_EXTTASKLOG_RM_TIME on ACT_HI_EXT_TASK_LOG(REMOVAL_TIME_, CLEANUP_PARTITION_);
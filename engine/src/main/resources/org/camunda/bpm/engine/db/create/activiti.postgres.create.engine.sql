@@ -28,6 +28,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ bytea,
     GENERATED_ boolean,
     TENANT_ID_ varchar(64),
+    HASH_ varchar(64),
     primary key (ID_)
 );
 
@@ -1,3 +1,4 @@
+drop index ACT_IDX_HI_DEC_INST_RM_TIME on ACT_HI_DECINST;
 drop index ACT_IDX_HI_DEC_INST_ID on ACT_HI_DECINST;
 drop index ACT_IDX_HI_DEC_INST_KEY on ACT_HI_DECINST;
 drop index ACT_IDX_HI_DEC_INST_PI on ACT_HI_DECINST;
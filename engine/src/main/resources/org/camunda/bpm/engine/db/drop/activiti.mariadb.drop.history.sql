@@ -1,4 +1,15 @@
 drop index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST;
+drop index ACT_IDX_HI_PRO_INST_RM_TIME on ACT_HI_PROCINST;
+drop index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST;
+drop index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST;
+drop index ACT_IDX_HI_VARINST_RM_TIME on ACT_HI_VARINST;
+drop index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL;
+drop index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK;
+drop index ACT_IDX_HI_COMMENT_RM_TIME on ACT_HI_COMMENT;
+drop index ACT_IDX_HI_ATTACHMENT_RM_TIME on ACT_HI_ATTACHMENT;
+drop index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT;
+drop index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG;
+drop index ACT_IDX_HI_EXTTASKLOG_RM_TIME on ACT_HI_EXT_TASK_LOG;
 drop index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_INST_PROC_DEF_KEY on ACT_HI_PROCINST;
@@ -1,4 +1,15 @@
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_END;
+drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_RM_TIME;
+drop index ACT_HI_ACTINST.ACT_IDX_HI_ACT_INST_RM_TIME;
+drop index ACT_HI_TASKINST.ACT_IDX_HI_TASK_INST_RM_TIME;
+drop index ACT_HI_VARINST.ACT_IDX_HI_VARINST_RM_TIME;
+drop index ACT_HI_DETAIL.ACT_IDX_HI_DETAIL_RM_TIME;
+drop index ACT_HI_IDENTITYLINK.ACT_IDX_HI_IDENT_LINK_RM_TIME;
+drop index ACT_HI_COMMENT.ACT_IDX_HI_COMMENT_RM_TIME;
+drop index ACT_HI_ATTACHMENT.ACT_IDX_HI_ATTACHMENT_RM_TIME;
+drop index ACT_HI_INCIDENT.ACT_IDX_HI_INCIDENT_RM_TIME;
+drop index ACT_HI_JOB_LOG.ACT_IDX_HI_JOB_LOG_RM_TIME;
+drop index ACT_HI_EXT_TASK_LOG.ACT_IDX_HI_EXTTASKLOG_RM_TIME;
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_I_BUSKEY;
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_TENANT_ID;
 drop index ACT_HI_PROCINST.ACT_IDX_HI_PRO_INST_PROC_DEF_KEY;
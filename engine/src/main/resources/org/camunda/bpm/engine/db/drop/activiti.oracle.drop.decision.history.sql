@@ -1,3 +1,4 @@
+drop index ACT_IDX_HI_DEC_INST_RM_TIME;
 drop index ACT_IDX_HI_DEC_INST_ID;
 drop index ACT_IDX_HI_DEC_INST_KEY;
 drop index ACT_IDX_HI_DEC_INST_PI;
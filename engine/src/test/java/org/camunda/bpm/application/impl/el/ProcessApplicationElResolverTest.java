@@ -13,6 +13,7 @@
 package org.camunda.bpm.application.impl.el;
 
 import org.camunda.bpm.container.RuntimeContainerDelegate;
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
@@ -66,6 +67,23 @@ public class ProcessApplicationElResolverTest extends PluggableProcessEngineTest
     assertEquals(CalledProcessApplication.STRING_VARIABLE_VALUE, outVariable);
   }
 
+  /**
+   * Tests that the bean resolver of a process application does not keep the
+   * classes of the application after it is undeployed.
+   */
+  public void testBeanElResolverIsReleasedOnRedeployment() {
+    // given a process application which has resolved beans
+    BeanELResolver beanElResolver = callingApp.getBeanElResolver();
+    assertSame(beanElResolver, callingApp.getBeanElResolver());
+
+    // when the application is redeployed
+    callingApp.undeploy();
+    callingApp.deploy();
+
+    // then it resolves beans with a new resolver
+    assertNotSame(beanElResolver, callingApp.getBeanElResolver());
+  }
+
   /**
    * Tests that an expression on an outgoing flow leaving a call activity
    * is resolved in the context of the calling process definition's application.
@@ -95,6 +95,7 @@ public class DatabaseTablePrefixTest {
       engine1.close();
       engine2.close();
       ProcessEngineConfigurationImpl.cachedSqlSessionFactory = null;
+      ProcessEngineConfigurationImpl.cachedSqlSessionFactoryDatabaseType = null;
     }
   }
 
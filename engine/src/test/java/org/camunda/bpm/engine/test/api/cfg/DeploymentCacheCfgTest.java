@@ -15,7 +15,12 @@ package org.camunda.bpm.engine.test.api.cfg;
 
 import org.camunda.bpm.engine.*;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCachePreloader;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SoftReferenceCache;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentBuilder;
@@ -36,8 +41,11 @@ import org.junit.Test;
 import org.junit.rules.RuleChain;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.*;
 
 /**
@@ -145,7 +153,7 @@ public class DeploymentCacheCfgTest {
   }
 
   @Test
-  public void testEnableQueryOfProcessDefinitionAddModelInstancesToDeploymentCache() {
+  public void testEnableQueryOfProcessDefinitionDoesNotAddModelInstancesToDeploymentCache() {
 
     // given
     deploy(ProcessModels.ONE_TASK_PROCESS_WITH_DOCUMENTATION);
@@ -161,7 +169,7 @@ public class DeploymentCacheCfgTest {
     // then
     DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
     BpmnModelInstance modelInstance = deploymentCache.getBpmnModelInstanceCache().get(pi.getProcessDefinitionId());
-    assertNotNull(modelInstance);
+    assertNull(modelInstance);
   }
 
   @Test
@@ -198,6 +206,38 @@ public class DeploymentCacheCfgTest {
     assertEquals("This is a documentation!", processDefinition.getDescription());
   }
 
+  @Test
+  public void testDescriptionIsReadFromResourceWhenProcessDefinitionIsNotCached() {
+
+    // given
+    deploy(ProcessModels.ONE_TASK_PROCESS_WITH_DOCUMENTATION);
+    processEngineConfiguration.setEnableFetchProcessDefinitionDescription(true);
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey(ProcessModels.PROCESS_KEY)
+        .singleResult();
+
+    // then
+    assertEquals("This is a documentation!", processDefinition.getDescription());
+    assertNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+    assertTrue(deploymentCache.getBpmnModelInstanceCache().isEmpty());
+  }
+
+  @Test
+  public void testModelInstancesAreNotSoftReferencedWhenDisabled() {
+
+    // when
+    DeploymentCache deploymentCache = new DeploymentCache(new DefaultCacheFactory(), 10, false);
+
+    // then
+    assertThat(deploymentCache.getBpmnModelInstanceCache(), not(instanceOf(SoftReferenceCache.class)));
+    assertThat(deploymentCache.getCmmnModelInstanceCache(), not(instanceOf(SoftReferenceCache.class)));
+    assertThat(deploymentCache.getDmnDefinitionCache(), not(instanceOf(SoftReferenceCache.class)));
+  }
+
   @Test
   public void testLoadProcessDefinitionsFromDBWhenNotExistingInCacheAnymore() {
 
@@ -216,6 +256,79 @@ public class DeploymentCacheCfgTest {
 
   }
 
+  @Test
+  public void testPreloadDeploymentCache() {
+
+    // given two deployed processes which are not cached anymore
+    deploy(createProcesses(2));
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    new DeploymentCachePreloader(processEngineConfiguration).preload();
+
+    // then both processes are loaded into the cache
+    for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().list()) {
+      assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+    }
+  }
+
+  @Test
+  public void testPreloadDeploymentCacheInParallel() {
+
+    // given two deployed processes which are not cached anymore
+    deploy(createProcesses(2));
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    final CountDownLatch bothDeploying = new CountDownLatch(2);
+    final List<Boolean> deployedConcurrently = Collections.synchronizedList(new ArrayList<Boolean>());
+    final List<Thread> preloadThreads = Collections.synchronizedList(new ArrayList<Thread>());
+
+    // the first deployer waits until the other resource is deployed by the cache at the same time
+    List<Deployer> deployers = new ArrayList<Deployer>();
+    deployers.add(new Deployer() {
+      public void deploy(DeploymentEntity deployment) {
+        preloadThreads.add(Thread.currentThread());
+        bothDeploying.countDown();
+        try {
+          deployedConcurrently.add(bothDeploying.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          deployedConcurrently.add(false);
+        }
+      }
+    });
+    deployers.addAll(processEngineConfiguration.getDeployers());
+    deploymentCache.setDeployers(deployers);
+
+    int preloadThreadsBefore = processEngineConfiguration.getDeploymentCachePreloadThreads();
+    processEngineConfiguration.setDeploymentCachePreloadThreads(2);
+
+    try {
+      // when
+      new DeploymentCachePreloader(processEngineConfiguration).preload();
+    }
+    finally {
+      processEngineConfiguration.setDeploymentCachePreloadThreads(preloadThreadsBefore);
+      deploymentCache.setDeployers(processEngineConfiguration.getDeployers());
+    }
+
+    // then both resources are parsed at the same time
+    assertEquals(Arrays.asList(true, true), deployedConcurrently);
+
+    // by named daemon threads
+    assertEquals(2, preloadThreads.size());
+    for (Thread preloadThread : preloadThreads) {
+      assertTrue(preloadThread.getName().startsWith(DeploymentCachePreloader.THREAD_NAME_PREFIX));
+      assertTrue(preloadThread.isDaemon());
+    }
+
+    // into the cache
+    for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().list()) {
+      assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+    }
+  }
+
   @Test
   public void testSequentialCallActivityCall() {
 
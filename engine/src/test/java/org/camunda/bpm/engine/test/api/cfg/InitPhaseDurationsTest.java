@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+public class InitPhaseDurationsTest {
+
+  protected ProcessEngine processEngine;
+
+  @After
+  public void closeProcessEngine() {
+    if (processEngine != null) {
+      processEngine.close();
+    }
+  }
+
+  @Test
+  public void shouldRecordDurationOfInitPhases() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) new StandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:init-phase-durations")
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+        .setProcessEngineName("initPhaseDurationsEngine");
+
+    // when
+    processEngine = configuration.buildProcessEngine();
+
+    // then
+    Map<String, Long> initPhaseDurations = configuration.getInitPhaseDurations();
+    assertTrue(initPhaseDurations.containsKey("preInit"));
+    assertTrue(initPhaseDurations.containsKey("persistence"));
+    assertTrue(initPhaseDurations.containsKey("processEngine"));
+    assertEquals("postProcessEngineBuild", lastPhase(initPhaseDurations));
+
+    for (Long duration : initPhaseDurations.values()) {
+      assertTrue(duration >= 0);
+    }
+  }
+
+  protected String lastPhase(Map<String, Long> initPhaseDurations) {
+    String lastPhase = null;
+    for (String phase : initPhaseDurations.keySet()) {
+      lastPhase = phase;
+    }
+    return lastPhase;
+  }
+
+}
@@ -35,6 +35,7 @@ public class SharedSqlSessionFactoryCfgTest {
   @After
   public void cleanCachedSessionFactory() {
     ProcessEngineConfigurationImpl.cachedSqlSessionFactory = null;
+    ProcessEngineConfigurationImpl.cachedSqlSessionFactoryDatabaseType = null;
   }
 
   @Test
@@ -85,6 +86,25 @@ public class SharedSqlSessionFactoryCfgTest {
     assertSame(existingSessionFactory, cfg.getSqlSessionFactory());
   }
 
+  @Test
+  public void shouldNotReuseCachedSqlSessionFactoryOfOtherDatabaseType() {
+    final TestEngineCfg cfg = new TestEngineCfg();
+    SqlSessionFactory existingSessionFactory = mock(SqlSessionFactory.class);
+
+    // given
+    ProcessEngineConfigurationImpl.cachedSqlSessionFactory = existingSessionFactory;
+    ProcessEngineConfigurationImpl.cachedSqlSessionFactoryDatabaseType = "postgres";
+    cfg.setUseSharedSqlSessionFactory(true);
+    cfg.setDatabaseType("h2");
+
+    // if
+    cfg.initSqlSessionFactory();
+
+    // then
+    assertSame(existingSessionFactory, ProcessEngineConfigurationImpl.cachedSqlSessionFactory);
+    assertNotSame(existingSessionFactory, cfg.getSqlSessionFactory());
+  }
+
   @Test
   public void shouldNotReuseCachedSqlSessionIfNotConfigured() {
     final TestEngineCfg cfg = new TestEngineCfg();
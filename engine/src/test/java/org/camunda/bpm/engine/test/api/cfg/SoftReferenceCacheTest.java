@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.SoftReference;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.SoftReferenceCache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SoftReferenceCacheTest {
+
+  protected SoftReferenceCache<String, String> cache;
+
+  @Before
+  public void createCache() {
+    cache = new SoftReferenceCache<String, String>(new ConcurrentLruCache<String, SoftReference<String>>(10));
+  }
+
+  @Test
+  public void testClearedReferenceIsNotCounted() {
+    // given
+    cache.put("a", "a");
+    cache.put("b", "b");
+
+    // when the garbage collector reclaims the value of "a"
+    reclaim("a");
+
+    // then
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.keySet().size());
+    assertFalse(cache.keySet().contains("a"));
+    assertNull(cache.get("a"));
+    assertEquals("b", cache.get("b"));
+  }
+
+  @Test
+  public void testCacheIsEmptyWhenAllReferencesAreCleared() {
+    // given
+    cache.put("a", "a");
+
+    // when
+    reclaim("a");
+
+    // then
+    assertTrue(cache.isEmpty());
+    assertTrue(cache.keySet().isEmpty());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testClearedReferenceDoesNotRemoveNewValue() {
+    // given
+    cache.put("a", "a");
+    SoftReference<String> reference = cache.getCache().get("a");
+
+    // when the key is mapped to a new value before the old reference is purged
+    cache.put("a", "new a");
+    reference.clear();
+    reference.enqueue();
+
+    // then
+    assertEquals(1, cache.size());
+    assertEquals("new a", cache.get("a"));
+  }
+
+  protected void reclaim(String key) {
+    SoftReference<String> reference = cache.getCache().get(key);
+    reference.clear();
+    reference.enqueue();
+  }
+
+}
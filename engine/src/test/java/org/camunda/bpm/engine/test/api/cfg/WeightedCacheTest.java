@@ -0,0 +1,213 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheWeigher;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.Test;
+
+public class WeightedCacheTest {
+
+  protected static final CacheWeigher FIXED_WEIGHER = new CacheWeigher() {
+    public int weigh(Object value) {
+      return 5;
+    }
+  };
+
+  @Test
+  public void testEvictLeastRecentlyUsedValueWhenMaxWeightIsExceeded() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>(10, FIXED_WEIGHER, false);
+    cache.put("a", "a");
+    cache.put("b", "b");
+
+    // when
+    cache.put("c", "c");
+
+    // then
+    assertNull(cache.get("a"));
+    assertNotNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+    assertEquals(10, cache.getWeight());
+  }
+
+  @Test
+  public void testEvictLeastFrequentlyUsedValue() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>(10, FIXED_WEIGHER, false);
+    cache.put("a", "a");
+    cache.put("b", "b");
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    // when
+    cache.put("c", "c");
+
+    // then
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+  }
+
+  @Test
+  public void testWeighValues() {
+    // given
+    CacheWeigher weigher = new CacheWeigher() {
+      public int weigh(Object value) {
+        return ((String) value).length();
+      }
+    };
+    WeightedCache<String, String> cache = new WeightedCache<String, String>(10, weigher, false);
+    cache.put("a", "aaaaaaaa");
+    cache.put("b", "b");
+
+    // when
+    cache.put("c", "cc");
+
+    // then the heavy value is evicted
+    assertNull(cache.get("a"));
+    assertEquals(2, cache.size());
+    assertEquals(3, cache.getWeight());
+  }
+
+  @Test
+  public void testPinLatestVersion() {
+    // given
+    WeightedCache<String, ProcessDefinitionEntity> cache = new WeightedCache<String, ProcessDefinitionEntity>(10, FIXED_WEIGHER, true);
+    cache.put("process:2", createProcessDefinition("process", 2));
+    cache.put("process:1", createProcessDefinition("process", 1));
+
+    // when
+    cache.put("anotherProcess:1", createProcessDefinition("anotherProcess", 1));
+
+    // then the older version is evicted although it was used more recently
+    assertNotNull(cache.get("process:2"));
+    assertNull(cache.get("process:1"));
+    assertNotNull(cache.get("anotherProcess:1"));
+  }
+
+  @Test
+  public void testPinPreviousVersionWhenLatestVersionIsRemoved() {
+    // given
+    WeightedCache<String, ProcessDefinitionEntity> cache = new WeightedCache<String, ProcessDefinitionEntity>(10, FIXED_WEIGHER, true);
+    cache.put("process:1", createProcessDefinition("process", 1));
+    cache.put("process:2", createProcessDefinition("process", 2));
+    cache.remove("process:2");
+    cache.put("anotherProcess:1", createProcessDefinition("anotherProcess", 1));
+
+    // when
+    cache.put("anotherProcess:2", createProcessDefinition("anotherProcess", 2));
+
+    // then the remaining version is pinned as the latest one
+    assertNotNull(cache.get("process:1"));
+    assertNull(cache.get("anotherProcess:1"));
+    assertNotNull(cache.get("anotherProcess:2"));
+  }
+
+  @Test
+  public void testMetrics() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>(10, FIXED_WEIGHER, false);
+    cache.put("a", "a");
+    cache.put("b", "b");
+    cache.put("c", "c");
+
+    // when
+    cache.get("a");
+    cache.get("b");
+    cache.get("c");
+
+    // then
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  public void testReportMetrics() {
+    // given
+    MetricsRegistry metricsRegistry = new MetricsRegistry();
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_HIT);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_MISS);
+    metricsRegistry.createMeter(Metrics.DEPLOYMENT_CACHE_EVICTION);
+
+    WeightedCache<String, String> cache = new WeightedCache<String, String>(10, FIXED_WEIGHER, false, metricsRegistry);
+    cache.put("a", "a");
+    cache.put("b", "b");
+    cache.put("c", "c");
+
+    // when
+    cache.get("a");
+    cache.get("b");
+    cache.get("c");
+
+    // then
+    assertEquals(2, metricsRegistry.getMeterByName(Metrics.DEPLOYMENT_CACHE_HIT).get());
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.DEPLOYMENT_CACHE_MISS).get());
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.DEPLOYMENT_CACHE_EVICTION).get());
+  }
+
+  @Test(timeout = 10000)
+  public void testGetDoesNotLockCache() throws Exception {
+    // given
+    final WeightedCache<String, String> cache = new WeightedCache<String, String>(10, FIXED_WEIGHER, false);
+    cache.put("a", "a");
+
+    final CountDownLatch locked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    Thread writer = new Thread() {
+      public void run() {
+        synchronized (cache) {
+          locked.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            // release the lock
+          }
+        }
+      }
+    };
+    writer.start();
+    locked.await();
+
+    try {
+      // when the cache is locked by another thread
+      // then the value can be read
+      assertEquals("a", cache.get("a"));
+      assertNull(cache.get("b"));
+    }
+    finally {
+      release.countDown();
+      writer.join();
+    }
+  }
+
+  protected ProcessDefinitionEntity createProcessDefinition(String key, int version) {
+    ProcessDefinitionEntity processDefinition = new ProcessDefinitionEntity();
+    processDefinition.setId(key + ":" + version);
+    processDefinition.setKey(key);
+    processDefinition.setVersion(version);
+    return processDefinition;
+  }
+
+}
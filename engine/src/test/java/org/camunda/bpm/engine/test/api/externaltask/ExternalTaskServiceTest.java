@@ -25,6 +25,10 @@ import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
@@ -1112,6 +1116,41 @@ public class ExternalTaskServiceTest extends PluggableProcessEngineTestCase {
     Assert.assertThat(task.getErrorDetails(),is(exceptionStackTrace));
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testHandleFailureWithSameErrorDetailsDoesNotUpdateByteArray() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    LockedExternalTask task = externalTaskService.fetchAndLock(5, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute()
+        .get(0);
+
+    String errorDetails = "a stacktrace";
+    externalTaskService.handleFailure(task.getId(), WORKER_ID, "errorMessage", errorDetails, 5, 0L);
+
+    task = externalTaskService.fetchAndLock(5, WORKER_ID)
+        .topic(TOPIC_NAME, LOCK_TIME)
+        .execute()
+        .get(0);
+
+    // when the task fails again with the same error details
+    externalTaskService.handleFailure(task.getId(), WORKER_ID, "errorMessage", errorDetails, 4, 0L);
+
+    // then the byte array holding the error details is not rewritten
+    final String externalTaskId = task.getId();
+    ByteArrayEntity byteArray = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ByteArrayEntity>() {
+      public ByteArrayEntity execute(CommandContext commandContext) {
+        ExternalTaskEntity externalTask = commandContext.getExternalTaskManager().findExternalTaskById(externalTaskId);
+        return (ByteArrayEntity) commandContext.getDbEntityManager()
+            .selectOne("selectByteArray", externalTask.getErrorDetailsByteArrayId());
+      }
+    });
+
+    assertEquals(1, byteArray.getRevision());
+    assertEquals(errorDetails, externalTaskService.getExternalTaskErrorDetails(externalTaskId));
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
   public void testHandleFailureZeroRetries() {
     // given
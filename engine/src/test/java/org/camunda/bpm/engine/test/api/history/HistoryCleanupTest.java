@@ -18,7 +18,9 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TimeZone;
 import org.apache.commons.lang.time.DateUtils;
 import org.camunda.bpm.engine.HistoryService;
@@ -26,20 +28,25 @@ import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.ExecuteJobHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricIncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -102,11 +109,9 @@ public class HistoryCleanupTest {
       public Void execute(CommandContext commandContext) {
 
         List<Job> jobs = engineRule.getManagementService().createJobQuery().list();
-        if (jobs.size() > 0) {
-          assertEquals(1, jobs.size());
-          String jobId = jobs.get(0).getId();
-          commandContext.getJobManager().deleteJob((JobEntity) jobs.get(0));
-          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(jobId);
+        for (Job job : jobs) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(job.getId());
         }
 
         List<HistoricIncident> historicIncidents = engineRule.getHistoryService().createHistoricIncidentQuery().list();
@@ -127,6 +132,7 @@ public class HistoryCleanupTest {
 
     clearMetrics();
 
+    engineRule.getProcessEngineConfiguration().setHistoryCleanupDegreeOfParallelism(1);
   }
 
   protected void clearMetrics() {
@@ -251,6 +257,114 @@ public class HistoryCleanupTest {
     assertEquals(15, historyService.createHistoricProcessInstanceQuery().processDefinitionKey("twoTasksProcess").count());
   }
 
+  @Test
+  public void testRemovalTimeIsSetOnProcessInstanceEnd() {
+    //given
+    prepareData(1);
+
+    //then
+    HistoricProcessInstanceEntity historicProcessInstance = (HistoricProcessInstanceEntity) historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey(ONE_TASK_PROCESS).singleResult();
+    assertEquals(DateUtils.addDays(historicProcessInstance.getEndTime(), 5), historicProcessInstance.getRemovalTime());
+  }
+
+  @Test
+  public void testHistoryCleanupAfterIncreasedTTL() {
+    //given
+    prepareData(15);
+
+    String id = engineRule.getRepositoryService().createProcessDefinitionQuery().processDefinitionKey(ONE_TASK_PROCESS).singleResult().getId();
+    engineRule.getRepositoryService().updateProcessDefinitionHistoryTimeToLive(id, 10);
+
+    ClockUtil.setCurrentTime(new Date());
+    //when
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    managementService.executeJob(jobId);
+
+    //then
+    assertEquals(15, historyService.createHistoricProcessInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+    assertEquals(15, historyService.createHistoricTaskInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+    for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).list()) {
+      assertEquals(DateUtils.addDays(historicProcessInstance.getEndTime(), 10), ((HistoricProcessInstanceEntity) historicProcessInstance).getRemovalTime());
+    }
+  }
+
+  @Test
+  public void testHistoryCleanupAfterDecreasedTTL() {
+    //given
+    String id = engineRule.getRepositoryService().createProcessDefinitionQuery().processDefinitionKey(ONE_TASK_PROCESS).singleResult().getId();
+    engineRule.getRepositoryService().updateProcessDefinitionHistoryTimeToLive(id, 10);
+
+    prepareData(15);
+
+    engineRule.getRepositoryService().updateProcessDefinitionHistoryTimeToLive(id, 5);
+
+    ClockUtil.setCurrentTime(new Date());
+    //when
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    managementService.executeJob(jobId);
+
+    //then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processDefinitionId(id).count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+  }
+
+  @Test
+  public void testRemovalTimeIsPropagatedToChildren() {
+    //given
+    prepareData(5);
+
+    ClockUtil.setCurrentTime(new Date());
+    //when
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    managementService.executeJob(jobId);
+
+    //then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().processDefinitionId(getOneTaskProcessDefinitionId()).count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+  }
+
+  @Test
+  public void testCalculateRemovalTimes() {
+    //given
+    prepareData(5);
+
+    // resets the removal time of the finished process instances
+    String id = getOneTaskProcessDefinitionId();
+    engineRule.getRepositoryService().updateProcessDefinitionHistoryTimeToLive(id, 5);
+
+    //when
+    int firstBatch = historyService.calculateHistoricProcessInstanceRemovalTimes(3);
+    int secondBatch = historyService.calculateHistoricProcessInstanceRemovalTimes(3);
+    int thirdBatch = historyService.calculateHistoricProcessInstanceRemovalTimes(3);
+
+    //then
+    assertEquals(3, firstBatch);
+    assertEquals(2, secondBatch);
+    assertEquals(0, thirdBatch);
+
+    List<HistoricProcessInstance> historicProcessInstances = historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey(ONE_TASK_PROCESS).list();
+    for (HistoricProcessInstance historicProcessInstance : historicProcessInstances) {
+      assertEquals(DateUtils.addDays(historicProcessInstance.getEndTime(), 5), ((HistoricProcessInstanceEntity) historicProcessInstance).getRemovalTime());
+    }
+
+    ClockUtil.setCurrentTime(new Date());
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    managementService.executeJob(jobId);
+
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+  }
+
   @Test
   public void testFindHistoryCleanupJob() {
     //given
@@ -265,6 +379,187 @@ public class HistoryCleanupTest {
   }
 
 
+  @Test
+  public void testHistoryCleanupJobsWithDegreeOfParallelism() {
+    //given
+    engineRule.getProcessEngineConfiguration().setHistoryCleanupDegreeOfParallelism(3);
+
+    //when
+    historyService.cleanUpHistoryAsync(true);
+
+    //then
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(3, historyCleanupJobs.size());
+    assertEquals(historyCleanupJobs.get(0).getId(), historyService.findHistoryCleanupJob().getId());
+
+    int nextPartitionFrom = 0;
+    for (Job historyCleanupJob : historyCleanupJobs) {
+      HistoryCleanupJobHandlerConfiguration configuration = getConfiguration((JobEntity) historyCleanupJob);
+      assertEquals(nextPartitionFrom, configuration.getPartitionFrom());
+      assertTrue(configuration.getPartitionTo() >= configuration.getPartitionFrom());
+      nextPartitionFrom = configuration.getPartitionTo() + 1;
+    }
+    assertEquals(HistoryCleanupHelper.NUMBER_OF_CLEANUP_PARTITIONS, nextPartitionFrom);
+  }
+
+  @Test
+  public void testHistoryCleanupJobsAfterDecreasedDegreeOfParallelism() {
+    //given
+    engineRule.getProcessEngineConfiguration().setHistoryCleanupDegreeOfParallelism(3);
+    historyService.cleanUpHistoryAsync(true);
+
+    //when
+    engineRule.getProcessEngineConfiguration().setHistoryCleanupDegreeOfParallelism(1);
+    historyService.cleanUpHistoryAsync(true);
+
+    //then
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(1, historyCleanupJobs.size());
+    HistoryCleanupJobHandlerConfiguration configuration = getConfiguration((JobEntity) historyCleanupJobs.get(0));
+    assertEquals(0, configuration.getPartitionFrom());
+    assertEquals(HistoryCleanupHelper.NUMBER_OF_CLEANUP_PARTITIONS - 1, configuration.getPartitionTo());
+  }
+
+  @Test
+  public void testHistoryCleanupWithDegreeOfParallelism() {
+    //given
+    prepareData(15);
+    engineRule.getProcessEngineConfiguration().setHistoryCleanupDegreeOfParallelism(4);
+    assertEquals(15, historyService.getHistoryCleanupBacklogCount());
+
+    ClockUtil.setCurrentTime(new Date());
+
+    historyService.cleanUpHistoryAsync(true);
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(4, historyCleanupJobs.size());
+
+    Set<String> remainingProcessInstanceIds = getHistoricProcessInstanceIds();
+    int jobsWithData = 0;
+
+    for (Job historyCleanupJob : historyCleanupJobs) {
+      HistoryCleanupJobHandlerConfiguration configuration = getConfiguration((JobEntity) historyCleanupJob);
+      Set<String> processInstanceIdsOfJob = new HashSet<String>();
+      for (String processInstanceId : remainingProcessInstanceIds) {
+        int partition = HistoryCleanupHelper.getCleanupPartition(processInstanceId);
+        if (partition >= configuration.getPartitionFrom() && partition <= configuration.getPartitionTo()) {
+          processInstanceIdsOfJob.add(processInstanceId);
+        }
+      }
+      if (!processInstanceIdsOfJob.isEmpty()) {
+        jobsWithData++;
+      }
+
+      //when
+      managementService.executeJob(historyCleanupJob.getId());
+
+      //then only the history of the partitions of the job is removed
+      remainingProcessInstanceIds.removeAll(processInstanceIdsOfJob);
+      assertEquals(remainingProcessInstanceIds, getHistoricProcessInstanceIds());
+      assertEquals(remainingProcessInstanceIds, getProcessInstanceIdsOfHistoricActivityInstances());
+    }
+
+    //the process instances were spread over several jobs
+    assertTrue(jobsWithData > 1);
+    assertEquals(0, historyService.getHistoryCleanupBacklogCount());
+  }
+
+  private Set<String> getHistoricProcessInstanceIds() {
+    Set<String> processInstanceIds = new HashSet<String>();
+    for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery().processDefinitionKey(ONE_TASK_PROCESS).list()) {
+      processInstanceIds.add(historicProcessInstance.getId());
+    }
+    return processInstanceIds;
+  }
+
+  private Set<String> getProcessInstanceIdsOfHistoricActivityInstances() {
+    Set<String> processInstanceIds = new HashSet<String>();
+    for (HistoricActivityInstance historicActivityInstance : historyService.createHistoricActivityInstanceQuery().list()) {
+      processInstanceIds.add(historicActivityInstance.getProcessInstanceId());
+    }
+    return processInstanceIds;
+  }
+
+  @Test
+  public void testHistoryCleanupDoesNotExceedBatchSizeForSameRemovalTime() {
+    //given all process instances end at the same time and therefore share their removal time
+    prepareData(30);
+    Set<String> processInstanceIds = getHistoricProcessInstanceIds();
+
+    ClockUtil.setCurrentTime(new Date());
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+
+    //when
+    managementService.executeJob(jobId);
+
+    //then only one batch is removed, together with its history
+    Set<String> remainingProcessInstanceIds = getHistoricProcessInstanceIds();
+    assertEquals(10, remainingProcessInstanceIds.size());
+    assertTrue(processInstanceIds.containsAll(remainingProcessInstanceIds));
+    assertEquals(remainingProcessInstanceIds, getProcessInstanceIdsOfHistoricActivityInstances());
+  }
+
+  @Test
+  public void testHistoryCleanupRemovesHistoryWrittenAfterProcessInstanceEnded() {
+    //given process instances with different removal times
+    Date oldCurrentTime = ClockUtil.getCurrentTime();
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < 5; i++) {
+      ClockUtil.setCurrentTime(DateUtils.addMinutes(DateUtils.addDays(oldCurrentTime, -6), i));
+      String processInstanceId = runtimeService.startProcessInstanceByKey(ONE_TASK_PROCESS).getId();
+      runtimeService.deleteProcessInstance(processInstanceId, null, true, true);
+      processInstanceIds.add(processInstanceId);
+    }
+    ClockUtil.setCurrentTime(oldCurrentTime);
+
+    //and comments which are added after the process instances ended
+    TaskService taskService = engineRule.getTaskService();
+    for (String processInstanceId : processInstanceIds) {
+      taskService.createComment(null, processInstanceId, "aComment");
+    }
+
+    //when
+    ClockUtil.setCurrentTime(new Date());
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+    managementService.executeJob(jobId);
+
+    //then
+    assertEquals(0, getHistoricProcessInstanceIds().size());
+    for (String processInstanceId : processInstanceIds) {
+      assertTrue(taskService.getProcessInstanceComments(processInstanceId).isEmpty());
+    }
+  }
+
+  @Test
+  public void testHistoryCleanupRemovedProcessInstancesMetric() {
+    //given
+    prepareData(15);
+
+    ClockUtil.setCurrentTime(new Date());
+
+    //when
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+    managementService.executeJob(jobId);
+
+    //then
+    engineRule.getProcessEngineConfiguration().getDbMetricsReporter().reportNow();
+    assertEquals(15, managementService.createMetricsQuery().name(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES).sum());
+  }
+
+  @Test
+  public void testInvalidDegreeOfParallelism() {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName() + "DegreeOfParallelism");
+    configuration.setHistoryCleanupDegreeOfParallelism(0);
+
+    try {
+      configuration.buildProcessEngine();
+      fail("Exception expected.");
+    } catch (ProcessEngineException ex) {
+      assertTrue(ex.getMessage().contains("historyCleanupDegreeOfParallelism"));
+    }
+  }
+
   @Test
   public void testRescheduleForNever() {
     //given
@@ -805,6 +1100,10 @@ public class HistoryCleanupTest {
   }
 
 
+  private String getOneTaskProcessDefinitionId() {
+    return engineRule.getRepositoryService().createProcessDefinitionQuery().processDefinitionKey(ONE_TASK_PROCESS).singleResult().getId();
+  }
+
   private void prepareData(int processInstanceCount) {
     prepareData(processInstanceCount, ONE_TASK_PROCESS);
   }
@@ -162,6 +162,7 @@ public class DeleteProcessDefinitionTest {
                                                   .processDefinitionKey("process")
                                                   .singleResult()
                                                   .getId();
+    repositoryService.getBpmnModelInstance(processDefinitionId);
 
     DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
 
@@ -42,7 +42,9 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.PvmActivity;
 import org.camunda.bpm.engine.impl.pvm.PvmTransition;
 import org.camunda.bpm.engine.impl.pvm.ReadOnlyProcessDefinition;
@@ -297,7 +299,8 @@ public class RepositoryServiceTest extends PluggableProcessEngineTestCase {
     // fetch definition ids
     String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
     String caseDefinitionId = repositoryService.createCaseDefinitionQuery().singleResult().getId();
-    // fetch CMMN model to be placed to in the cache
+    // fetch BPMN and CMMN model to be placed to in the cache
+    repositoryService.getBpmnModelInstance(processDefinitionId);
     repositoryService.getCmmnModelInstance(caseDefinitionId);
 
     DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
@@ -780,6 +783,58 @@ public class RepositoryServiceTest extends PluggableProcessEngineTestCase {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  public void testGetSingleResourceOfDeployment() {
+    final String deploymentId = repositoryService
+      .createDeployment()
+      .addString("org/camunda/bpm/engine/test/test/HelloWorld.string", "hello world")
+      .addString("org/camunda/bpm/engine/test/test/TheAnswer.string", "42")
+      .deploy()
+      .getId();
+
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        DeploymentEntity deployment = commandContext.getDeploymentManager().findDeploymentById(deploymentId);
+
+        ResourceEntity resource = deployment.getResource("org/camunda/bpm/engine/test/test/TheAnswer.string");
+
+        assertNotNull(resource);
+        assertTrue(Arrays.equals("42".getBytes(), resource.getBytes()));
+        // the other resource of the deployment is not loaded
+        List<ResourceEntity> loadedResources = commandContext.getDbEntityManager().getCachedEntitiesByType(ResourceEntity.class);
+        assertEquals(1, loadedResources.size());
+        assertSame(resource, deployment.getResource("org/camunda/bpm/engine/test/test/TheAnswer.string"));
+        return null;
+      }
+    });
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
+  public void testGetUnexistingSingleResourceOfDeployment() {
+    final String deploymentId = repositoryService
+      .createDeployment()
+      .addString("org/camunda/bpm/engine/test/test/HelloWorld.string", "hello world")
+      .deploy()
+      .getId();
+
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        DeploymentEntity deployment = commandContext.getDeploymentManager().findDeploymentById(deploymentId);
+
+        assertNull(deployment.getResource("org/camunda/bpm/engine/test/test/Unexisting.string"));
+        assertNull(deployment.getResource("org/camunda/bpm/engine/test/test/Unexisting.string"));
+        // all resources can still be loaded afterwards
+        assertEquals(1, deployment.getResources().size());
+        assertNotNull(deployment.getResource("org/camunda/bpm/engine/test/test/HelloWorld.string"));
+        return null;
+      }
+    });
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
   public void testProcessDefinitionPersistence() {
     String deploymentId = repositoryService
       .createDeployment()
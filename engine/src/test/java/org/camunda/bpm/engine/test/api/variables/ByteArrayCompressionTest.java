@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class ByteArrayCompressionTest extends PluggableProcessEngineTestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStoreByteArrayCompressed() {
+    byte[] bytes = new byte[16 * 1024];
+    Arrays.fill(bytes, (byte) 'a');
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValueTyped("bytes", Variables.byteArrayValue(bytes))).getId();
+
+    // the value is stored compressed
+    List<byte[]> storedByteArrays = getStoredByteArrays();
+    assertFalse(storedByteArrays.isEmpty());
+    for (byte[] storedBytes : storedByteArrays) {
+      assertTrue(storedBytes.length < bytes.length);
+    }
+
+    // and read transparently, also if compression is disabled in the meantime
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstanceId, "bytes")));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testReadUncompressedByteArray() {
+    byte[] bytes = new byte[16 * 1024];
+    Arrays.fill(bytes, (byte) 'a');
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValueTyped("bytes", Variables.byteArrayValue(bytes))).getId();
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstanceId, "bytes")));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testReadUncompressedByteArrayWhichStartsWithTheHeader() {
+    byte[] uncompressed = new byte[16 * 1024];
+    Arrays.fill(uncompressed, (byte) 'a');
+    // a raw value which looks like a compressed value
+    byte[] bytes = CompressionUtil.compress(uncompressed, 0);
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        Variables.createVariables().putValueTyped("bytes", Variables.byteArrayValue(bytes))).getId();
+
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+    assertTrue(Arrays.equals(bytes, (byte[]) runtimeService.getVariable(processInstanceId, "bytes")));
+  }
+
+  protected List<byte[]> getStoredByteArrays() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<byte[]>>() {
+      public List<byte[]> execute(CommandContext commandContext) {
+        String tablePrefix = commandContext.getProcessEngineConfiguration().getDatabaseTablePrefix();
+        List<byte[]> byteArrays = new ArrayList<byte[]>();
+        Statement statement = null;
+        ResultSet resultSet = null;
+        try {
+          statement = commandContext.getDbSqlSession().getSqlSession().getConnection().createStatement();
+          resultSet = statement.executeQuery("select BYTES_ from " + tablePrefix + "ACT_GE_BYTEARRAY where DEPLOYMENT_ID_ is null");
+          while (resultSet.next()) {
+            byteArrays.add(resultSet.getBytes(1));
+          }
+        } catch (SQLException e) {
+          throw new ProcessEngineException(e);
+        } finally {
+          try {
+            if (resultSet != null) {
+              resultSet.close();
+            }
+            if (statement != null) {
+              statement.close();
+            }
+          } catch (SQLException e) {
+            throw new ProcessEngineException(e);
+          }
+        }
+        return byteArrays;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bean which is not {@link java.io.Serializable} and only has a private constructor without arguments.
+ */
+public class CompactBinaryBean {
+
+  public enum State { ACTIVE, SUSPENDED }
+
+  protected int count;
+  protected long total = -1L;
+  protected boolean valid;
+  protected double ratio;
+  protected char category;
+  protected String name;
+  protected Integer boxedCount;
+  protected Date date;
+  protected State state;
+  protected int[] numbers;
+  protected String[] names;
+  protected List<String> items = new ArrayList<String>();
+  protected Map<String, Object> properties = new HashMap<String, Object>();
+  protected CompactBinaryBean child;
+  protected transient String cachedName;
+
+  private CompactBinaryBean() {
+  }
+
+  public CompactBinaryBean(String name) {
+    this.name = name;
+  }
+
+  public static CompactBinaryBean createBean() {
+    CompactBinaryBean bean = new CompactBinaryBean("aName");
+    bean.count = 42;
+    bean.total = Long.MIN_VALUE;
+    bean.valid = true;
+    bean.ratio = 0.5;
+    bean.category = 'c';
+    bean.boxedCount = -7;
+    bean.date = new Date(1000L);
+    bean.state = State.SUSPENDED;
+    bean.numbers = new int[] {1, -2, 300000};
+    bean.names = new String[] {"a", null, "ä"};
+    bean.items.addAll(Arrays.asList("first", "second"));
+    bean.properties.put("key", "value");
+    bean.properties.put("list", Arrays.asList(1L, 2L));
+    bean.child = new CompactBinaryBean("aChild");
+    bean.cachedName = "notSerialized";
+    return bean;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public boolean isValid() {
+    return valid;
+  }
+
+  public double getRatio() {
+    return ratio;
+  }
+
+  public char getCategory() {
+    return category;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Integer getBoxedCount() {
+    return boxedCount;
+  }
+
+  public Date getDate() {
+    return date;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public int[] getNumbers() {
+    return numbers;
+  }
+
+  public String[] getNames() {
+    return names;
+  }
+
+  public List<String> getItems() {
+    return items;
+  }
+
+  public Map<String, Object> getProperties() {
+    return properties;
+  }
+
+  public CompactBinaryBean getChild() {
+    return child;
+  }
+
+  public void setChild(CompactBinaryBean child) {
+    this.child = child;
+  }
+
+  public String getCachedName() {
+    return cachedName;
+  }
+
+}
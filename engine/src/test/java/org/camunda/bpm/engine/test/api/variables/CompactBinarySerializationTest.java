@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.variable.serializer.CompactBinaryObjectInput;
+import org.camunda.bpm.engine.impl.variable.serializer.CompactBinaryObjectOutput;
+import org.camunda.bpm.engine.impl.variable.serializer.CompactBinaryObjectSerializer;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+
+public class CompactBinarySerializationTest extends PluggableProcessEngineTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected CompactBinaryObjectSerializer serializer;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    serializer = new CompactBinaryObjectSerializer(Arrays.asList(
+        CompactBinaryBean.class.getName(),
+        CompactBinaryBean.State.class.getName()));
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getVariableSerializers().removeSerializer(serializer);
+    super.tearDown();
+  }
+
+  public void testWriteAndReadObject() throws Exception {
+    // given
+    CompactBinaryBean bean = CompactBinaryBean.createBean();
+
+    // when
+    CompactBinaryBean readBean = (CompactBinaryBean) read(write(bean));
+
+    // then
+    assertEquals(42, readBean.getCount());
+    assertEquals(Long.MIN_VALUE, readBean.getTotal());
+    assertTrue(readBean.isValid());
+    assertEquals(0.5, readBean.getRatio(), 0.0);
+    assertEquals('c', readBean.getCategory());
+    assertEquals("aName", readBean.getName());
+    assertEquals(Integer.valueOf(-7), readBean.getBoxedCount());
+    assertEquals(new Date(1000L), readBean.getDate());
+    assertEquals(CompactBinaryBean.State.SUSPENDED, readBean.getState());
+    assertTrue(Arrays.equals(new int[] {1, -2, 300000}, readBean.getNumbers()));
+    assertTrue(Arrays.equals(new String[] {"a", null, "ä"}, readBean.getNames()));
+    assertEquals(Arrays.asList("first", "second"), readBean.getItems());
+    assertEquals("value", readBean.getProperties().get("key"));
+    assertEquals(Arrays.asList(1L, 2L), readBean.getProperties().get("list"));
+    assertEquals("aChild", readBean.getChild().getName());
+    assertEquals(-1L, readBean.getChild().getTotal());
+    assertNull(readBean.getCachedName());
+  }
+
+  public void testWriteSharedReferencesOnce() throws Exception {
+    // given a bean which references itself and a list which contains the same bean twice
+    CompactBinaryBean bean = new CompactBinaryBean("aName");
+    bean.setChild(bean);
+    List<CompactBinaryBean> beans = new ArrayList<CompactBinaryBean>();
+    beans.add(bean);
+    beans.add(bean);
+    serializer.registerClass(ArrayList.class);
+
+    // when
+    @SuppressWarnings("unchecked")
+    List<CompactBinaryBean> readBeans = (List<CompactBinaryBean>) read(write(beans));
+
+    // then
+    assertSame(readBeans.get(0), readBeans.get(1));
+    assertSame(readBeans.get(0), readBeans.get(0).getChild());
+  }
+
+  public void testWriteRegisteredClassSmallerThanJavaSerialization() throws Exception {
+    // given
+    List<Object> values = new ArrayList<Object>();
+    for (int i = 0; i < 10; i++) {
+      values.add(new JavaSerializable("aProperty" + i));
+    }
+    serializer.registerClass(JavaSerializable.class);
+
+    // when
+    byte[] bytes = write(values);
+
+    // then
+    ByteArrayOutputStream javaBytes = new ByteArrayOutputStream();
+    new ObjectOutputStream(javaBytes).writeObject(values);
+    assertTrue(bytes.length < javaBytes.size());
+    assertEquals(values, read(bytes));
+  }
+
+  public void testCannotWriteUnregisteredClass() throws Exception {
+    assertFalse(serializer.canHandle(Variables.untypedValue(new JavaSerializable("foo"))));
+    assertFalse(serializer.canHandle(Variables.untypedValue("aString")));
+
+    CompactBinaryBean bean = new CompactBinaryBean("aName");
+    bean.getProperties().put("unregistered", new JavaSerializable("foo"));
+
+    try {
+      write(bean);
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTextPresent(JavaSerializable.class.getName(), e.getMessage());
+    }
+  }
+
+  public void testWriteUnregisteredClassIfRegistrationIsNotRequired() throws Exception {
+    // given
+    serializer.setRegistrationRequired(false);
+    JavaSerializable value = new JavaSerializable("foo");
+
+    // then
+    assertTrue(serializer.canHandle(Variables.untypedValue(value)));
+    assertFalse(serializer.canHandle(Variables.untypedValue("aString")));
+    assertFalse(serializer.canHandle(Variables.untypedValue(new ArrayList<String>())));
+    assertEquals(value, read(write(value)));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSetAndGetVariable() {
+    // given
+    processEngineConfiguration.getVariableSerializers().addSerializer(serializer, 0);
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    try {
+      // when
+      runtimeService.setVariable(instance.getId(), "bean", CompactBinaryBean.createBean());
+      runtimeService.setVariable(instance.getId(), "javaBean", new JavaSerializable("foo"));
+
+      // then
+      ObjectValue typedValue = runtimeService.getVariableTyped(instance.getId(), "bean");
+      assertEquals(CompactBinaryObjectSerializer.DATA_FORMAT, typedValue.getSerializationDataFormat());
+      assertEquals(CompactBinaryBean.class.getName(), typedValue.getObjectTypeName());
+      assertEquals("aName", typedValue.getValue(CompactBinaryBean.class).getName());
+
+      ObjectValue javaValue = runtimeService.getVariableTyped(instance.getId(), "javaBean");
+      assertEquals(Variables.SerializationDataFormats.JAVA.getName(), javaValue.getSerializationDataFormat());
+    }
+    finally {
+      // the variables are removed while the serializer is registered
+      runtimeService.deleteProcessInstance(instance.getId(), null);
+    }
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSetVariableWithRequestedDataFormat() {
+    // given
+    processEngineConfiguration.getVariableSerializers().addSerializer(serializer, 0);
+    serializer.registerClass(JavaSerializable.class);
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    try {
+      // when
+      runtimeService.setVariable(instance.getId(), "javaBean", objectValue(new JavaSerializable("foo"))
+          .serializationDataFormat(CompactBinaryObjectSerializer.DATA_FORMAT)
+          .create());
+
+      // then
+      ObjectValue typedValue = runtimeService.getVariableTyped(instance.getId(), "javaBean");
+      assertEquals(CompactBinaryObjectSerializer.DATA_FORMAT, typedValue.getSerializationDataFormat());
+      assertEquals(new JavaSerializable("foo"), typedValue.getValue());
+    }
+    finally {
+      runtimeService.deleteProcessInstance(instance.getId(), null);
+    }
+  }
+
+  protected byte[] write(Object value) throws Exception {
+    return new CompactBinaryObjectOutput(serializer).write(value);
+  }
+
+  protected Object read(byte[] bytes) throws Exception {
+    return new CompactBinaryObjectInput(serializer, bytes).read();
+  }
+
+}
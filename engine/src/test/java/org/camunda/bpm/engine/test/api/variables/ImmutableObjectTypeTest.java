@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.history.UpdateValueDelegate;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ImmutableObjectTypeTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setImmutableObjectTypeNames(Collections.singleton(SerializationCountingList.class.getName()));
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void initServices() {
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @Test
+  public void testConfiguredTypeIsImmutable() {
+    AbstractObjectValueSerializer serializer = (AbstractObjectValueSerializer) engineRule.getProcessEngineConfiguration()
+        .getVariableSerializers()
+        .getSerializerByName(JavaObjectSerializer.NAME);
+
+    assertTrue(serializer.getImmutableObjectTypeNames().contains(SerializationCountingList.class.getName()));
+    assertTrue(serializer.getImmutableObjectTypeNames().contains(String.class.getName()));
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/variables/ImplicitVariableUpdateTest.sequence.bpmn20.xml")
+  public void testNoUpdateOfImmutableType() {
+    SerializationCountingList.serializationCount = 0;
+
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("serviceTaskProcess",
+        Variables.createVariables()
+          .putValue("listVar", new SerializationCountingList())
+          .putValue("delegate", new UpdateValueDelegate()));
+
+    // the value is declared as immutable, so it is not serialized again at the end of the command
+    assertEquals(1, SerializationCountingList.serializationCount);
+
+    @SuppressWarnings("unchecked")
+    List<String> list = (List<String>) runtimeService.getVariable(instance.getId(), "listVar");
+    assertTrue(list.isEmpty());
+  }
+
+  @Test
+  public void testRemoveImmutableType() {
+    AbstractObjectValueSerializer serializer = new JavaObjectSerializer();
+
+    // when
+    serializer.addImmutableObjectTypeName(SerializationCountingList.class.getName());
+    serializer.removeImmutableObjectTypeName(String.class.getName());
+
+    // then
+    assertTrue(serializer.getImmutableObjectTypeNames().contains(SerializationCountingList.class.getName()));
+    assertFalse(serializer.getImmutableObjectTypeNames().contains(String.class.getName()));
+    // the defaults are not changed
+    assertTrue(AbstractObjectValueSerializer.DEFAULT_IMMUTABLE_OBJECT_TYPE_NAMES.contains(String.class.getName()));
+  }
+
+}
@@ -42,6 +42,23 @@ public class ImplicitVariableUpdateTest extends PluggableProcessEngineTestCase {
     assertEquals(UpdateValueDelegate.NEW_ELEMENT, list.get(0));
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/variables/ImplicitVariableUpdateTest.sequence.bpmn20.xml")
+  public void testUpdateSerializesValueOnce() {
+    SerializationCountingList.serializationCount = 0;
+
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("serviceTaskProcess",
+        Variables.createVariables()
+          .putValue("listVar", new SerializationCountingList())
+          .putValue("delegate", new UpdateValueDelegate()));
+
+    // the value is serialized when it is set and once more when the implicit update is detected
+    assertEquals(2, SerializationCountingList.serializationCount);
+
+    List<String> list = (List<String>) runtimeService.getVariable(instance.getId(), "listVar");
+    assertEquals(1, list.size());
+    assertEquals(UpdateValueDelegate.NEW_ELEMENT, list.get(0));
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/variables/ImplicitVariableUpdateTest.parallel.bpmn20.xml")
   public void testUpdateParallelFlow() {
     // should also work when execution tree is expanded between the implicit update
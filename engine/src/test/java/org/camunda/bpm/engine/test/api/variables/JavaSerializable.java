@@ -24,6 +24,10 @@ public class JavaSerializable implements Serializable {
 
   private String property;
 
+  /** used by the compact binary serialization */
+  private JavaSerializable() {
+  }
+
   public JavaSerializable(String property) {
     this.property = property;
   }
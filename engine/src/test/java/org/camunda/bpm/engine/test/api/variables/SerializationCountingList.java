@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+
+/**
+ * A list which counts how often it is serialized.
+ */
+public class SerializationCountingList extends ArrayList<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  public static int serializationCount = 0;
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    serializationCount++;
+    out.defaultWriteObject();
+  }
+
+}
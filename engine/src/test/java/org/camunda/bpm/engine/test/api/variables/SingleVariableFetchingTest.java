@@ -0,0 +1,118 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class SingleVariableFetchingTest extends PluggableProcessEngineTestCase {
+
+  protected static final int VARIABLE_COUNT = 10;
+
+  protected String processInstanceId;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setSingleVariableFetchingEnabled(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setSingleVariableFetchingEnabled(false);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testFetchSingleVariables() {
+    startProcessInstance();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+
+        assertEquals("value3", execution.getVariable("var3"));
+        assertNull(execution.getVariable("unknown"));
+        assertFalse(execution.hasVariable("unknown"));
+
+        // only the requested variable is fetched
+        assertEquals(1, getCachedVariables(commandContext).size());
+
+        return null;
+      }
+    });
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testFetchAllVariablesAfterLimit() {
+    startProcessInstance();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+
+        for (int i = 0; i <= VariableStore.SINGLE_VARIABLE_FETCH_LIMIT; i++) {
+          assertEquals("value" + i, execution.getVariable("var" + i));
+        }
+
+        assertEquals(VARIABLE_COUNT, getCachedVariables(commandContext).size());
+        assertEquals(VARIABLE_COUNT, execution.getVariableNames().size());
+
+        return null;
+      }
+    });
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testUpdateAndCreateVariables() {
+    startProcessInstance();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+
+        execution.setVariable("var1", "updatedValue");
+        execution.setVariable("newVar", "newValue");
+
+        return null;
+      }
+    });
+
+    assertEquals("updatedValue", runtimeService.getVariable(processInstanceId, "var1"));
+    assertEquals("newValue", runtimeService.getVariable(processInstanceId, "newVar"));
+    assertEquals(VARIABLE_COUNT + 1, runtimeService.getVariables(processInstanceId).size());
+  }
+
+  protected void startProcessInstance() {
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < VARIABLE_COUNT; i++) {
+      variables.putValue("var" + i, "value" + i);
+    }
+
+    processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+  }
+
+  protected List<VariableInstanceEntity> getCachedVariables(CommandContext commandContext) {
+    return commandContext.getDbEntityManager().getCachedEntitiesByType(VariableInstanceEntity.class);
+  }
+
+}
@@ -34,8 +34,10 @@ import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.api.variables.JavaSerializable;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
@@ -790,6 +792,37 @@ public class CallActivityTest extends PluggableProcessEngineTestCase {
     assertEquals(0, runtimeService.createExecutionQuery().list().size());
   }
 
+  @Deployment(resources = {
+    "org/camunda/bpm/engine/test/bpmn/callactivity/CallActivity.testSubProcessAllDataInputOutput.bpmn20.xml",
+    "org/camunda/bpm/engine/test/bpmn/callactivity/simpleSubProcess.bpmn20.xml"})
+  public void testSubProcessAllDataInputOutputWithObjectValue() {
+    JavaSerializable javaSerializable = new JavaSerializable("foo");
+    ObjectValue objectValue = Variables.objectValue(javaSerializable)
+        .serializationDataFormat(Variables.SerializationDataFormats.JAVA)
+        .create();
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("subProcessAllDataInputOutput",
+        Variables.createVariables().putValueTyped("objectVariable", objectValue)).getId();
+    ObjectValue superValue = runtimeService.getVariableTyped(processInstanceId, "objectVariable", false);
+
+    Task taskBeforeSubProcess = taskService.createTaskQuery().singleResult();
+    taskService.complete(taskBeforeSubProcess.getId());
+
+    // the object value is passed to the sub process in its serialized form
+    Task taskInSubProcess = taskService.createTaskQuery().singleResult();
+    ObjectValue subValue = runtimeService.getVariableTyped(taskInSubProcess.getProcessInstanceId(), "objectVariable", false);
+    assertEquals(superValue.getObjectTypeName(), subValue.getObjectTypeName());
+    assertEquals(superValue.getSerializationDataFormat(), subValue.getSerializationDataFormat());
+    assertEquals(superValue.getValueSerialized(), subValue.getValueSerialized());
+    assertEquals(javaSerializable, runtimeService.getVariable(taskInSubProcess.getProcessInstanceId(), "objectVariable"));
+
+    // and back to the super process
+    runtimeService.setVariable(taskInSubProcess.getProcessInstanceId(), "objectVariable", new JavaSerializable("bar"));
+    taskService.complete(taskInSubProcess.getId());
+
+    assertEquals(new JavaSerializable("bar"), runtimeService.getVariable(processInstanceId, "objectVariable"));
+  }
+
   /**
    * Test case for handing all over process variables to a sub process
    */
@@ -14,6 +14,8 @@
 package org.camunda.bpm.engine.test.bpmn.deployment;
 
 import java.io.InputStream;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -31,6 +33,8 @@ import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.Resource;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
@@ -91,6 +95,25 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     assertEquals(0, repositoryService.createDeploymentQuery().count());
   }
 
+  @Deployment
+  public void testReparseCamundaExtensions() {
+    // given the process definition is parsed again from the deployed resource, without schema validation
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("reparsedProcess");
+
+    // then the camunda:asyncBefore attribute is recognized
+    Job job = managementService.createJobQuery().singleResult();
+    assertNotNull(job);
+    assertNull(runtimeService.getVariable(processInstance.getId(), "invoked"));
+
+    // and the camunda:class attribute
+    managementService.executeJob(job.getId());
+    assertEquals(true, runtimeService.getVariable(processInstance.getId(), "invoked"));
+    assertNotNull(taskService.createTaskQuery().taskDefinitionKey("userTask").singleResult());
+  }
+
   public void testDeploySameFileTwice() {
     String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
     repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
@@ -109,6 +132,32 @@ public class BpmnDeploymentTest extends PluggableProcessEngineTestCase {
     repositoryService.deleteDeployment(deploymentId);
   }
 
+  public void testDeploySameFileTwiceWithoutStoredHash() {
+    String bpmnResourceName = "org/camunda/bpm/engine/test/bpmn/deployment/BpmnDeploymentTest.testGetBpmnXmlFileThroughService.bpmn20.xml";
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    String deploymentId = repositoryService.createDeploymentQuery().singleResult().getId();
+
+    // resources which were deployed before the hash was stored are compared by their content
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        String tablePrefix = commandContext.getProcessEngineConfiguration().getDatabaseTablePrefix();
+        try {
+          Statement statement = commandContext.getDbSqlSession().getSqlSession().getConnection().createStatement();
+          statement.executeUpdate("update " + tablePrefix + "ACT_GE_BYTEARRAY set HASH_ = null");
+          statement.close();
+        } catch (SQLException e) {
+          throw new ProcessEngineException(e);
+        }
+        return null;
+      }
+    });
+
+    repositoryService.createDeployment().enableDuplicateFiltering().addClasspathResource(bpmnResourceName).name("twice").deploy();
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+
+    repositoryService.deleteDeployment(deploymentId);
+  }
+
   public void testPartialChangesDeployAll() {
     BpmnModelInstance model1 = Bpmn.createExecutableProcess("process1").done();
     BpmnModelInstance model2 = Bpmn.createExecutableProcess("process2").done();
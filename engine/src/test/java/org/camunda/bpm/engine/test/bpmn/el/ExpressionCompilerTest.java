@@ -0,0 +1,163 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.el;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.el.CompiledValueExpression;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.PropertyNotFoundException;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ExpressionCompilerTest extends PluggableProcessEngineTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
+  protected static final String EXCLUSIVE_GATEWAY_PROCESS = "org/camunda/bpm/engine/test/bpmn/gateway/ExclusiveGatewayTest.testDivergingExclusiveGateway.bpmn20.xml";
+
+  protected ExpressionManager expressionManager;
+  protected ExpressionCompiler expressionCompiler;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    expressionManager = processEngineConfiguration.getExpressionManager();
+    expressionCompiler = expressionManager.getExpressionCompiler();
+    expressionManager.setExpressionCompiler(new ExpressionCompiler());
+  }
+
+  protected void tearDown() throws Exception {
+    expressionManager.setExpressionCompiler(expressionCompiler);
+    super.tearDown();
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCompiledExpressionHasSameValueAsInterpretedExpression() {
+    // given
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("aString", "abcdefgh");
+    variables.put("aNumber", 42L);
+    variables.put("aDate", new Date(1000L));
+    variables.put("aList", Arrays.asList("first", "second"));
+    variables.put("aMap", Collections.singletonMap("key", "value"));
+    variables.put("aFlag", true);
+    final String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+    final String[] expressions = {
+      "${1 + 2 * 3 - 4 / 2 % 3}",
+      "${aNumber > 5 && aString == 'abcdefgh' || false}",
+      "${aNumber + 1}${'-'}${-aNumber}",
+      "${empty aList ? 'none' : aList[1]}",
+      "${aMap['key']}${aMap.key}${aMap['missing']}",
+      "${!aFlag}",
+      "${aDate.time}",
+      "${aString.substring(1, 3)}${aString.length()}",
+      "${execution.processInstanceId}",
+      "${execution.getVariable('aNumber') >= 42}",
+      "${dateTime() != null}"
+    };
+
+    // then
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        ELContext elContext = expressionManager.getElContext(execution);
+
+        for (String expression : expressions) {
+          ValueExpression compiledExpression = expressionManager.createValueExpression(expression);
+          assertTrue(compiledExpression instanceof CompiledValueExpression);
+          ValueExpression interpretedExpression = ((CompiledValueExpression) compiledExpression).getInterpretedExpression();
+
+          Object interpretedValue = interpretedExpression.getValue(elContext);
+          // the second evaluation uses the remembered getters and methods
+          assertEquals(expression, interpretedValue, compiledExpression.getValue(elContext));
+          assertEquals(expression, interpretedValue, compiledExpression.getValue(elContext));
+        }
+        return null;
+      }
+    });
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCompiledExpressionWithDifferentBeanClasses() {
+    // given
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("aValue", "aString");
+    final String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        ELContext elContext = expressionManager.getElContext(execution);
+        ValueExpression expression = expressionManager.createValueExpression("${aValue.class.simpleName}");
+
+        // when
+        assertEquals("String", expression.getValue(elContext));
+        assertEquals("String", expression.getValue(elContext));
+        execution.setVariable("aValue", 42);
+
+        // then
+        assertEquals("Integer", expression.getValue(elContext));
+        return null;
+      }
+    });
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCompiledExpressionWithUnknownProperty() {
+    final String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        ELContext elContext = expressionManager.getElContext(execution);
+
+        try {
+          expressionManager.createValueExpression("${unknown}").getValue(elContext);
+          fail("exception expected");
+        }
+        catch (PropertyNotFoundException e) {
+          assertTextPresent("unknown", e.getMessage());
+        }
+        return null;
+      }
+    });
+  }
+
+  public void testExclusiveGatewayWithCompiledConditions() {
+    // given a process which is parsed with the expression compiler
+    deployment(EXCLUSIVE_GATEWAY_PROCESS);
+
+    for (int i = 1; i <= 3; i++) {
+      // when
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("exclusiveGwDiverging",
+          Collections.<String, Object>singletonMap("input", i));
+
+      // then
+      Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+      assertEquals("Task " + i, task.getName());
+    }
+  }
+
+}
@@ -20,6 +20,7 @@ import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
 
 /**
  * @author Frederik Heremans
@@ -82,4 +83,39 @@ public class ExpressionManagerTest extends PluggableProcessEngineTestCase {
     task = taskService.createTaskQuery().processInstanceId(secondInstance.getId()).singleResult();
     assertEquals("johnny", task.getAssignee());
   }
+
+  public void testResolvesNullValuedVariable() {
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+        .camundaAssignee("${assignee == null ? 'nobody' : assignee}")
+      .endEvent()
+      .done());
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("assignee", null);
+
+    runtimeService.startProcessInstanceByKey("process", variables);
+
+    // the variable is resolved although its value is null
+    Task task = taskService.createTaskQuery().singleResult();
+    assertEquals("nobody", task.getAssignee());
+  }
+
+  public void testResolvesTransientVariable() {
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${execution.setVariableLocalTransient('assignee', 'michael')}")
+      .userTask()
+        .camundaAssignee("${assignee}")
+      .endEvent()
+      .done());
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    Task task = taskService.createTaskQuery().singleResult();
+    assertEquals("michael", task.getAssignee());
+    assertNull(runtimeService.getVariable(processInstance.getId(), "assignee"));
+  }
 }
@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.test.history;
 
 import java.math.BigInteger;
 import java.util.Date;
+import java.util.List;
 import java.util.Random;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
@@ -1193,4 +1194,55 @@ public class HistoricJobLogTest extends PluggableProcessEngineTestCase {
     assertEquals(0, historyService.createHistoricJobLogQuery().count());
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/HistoricJobLogTest.testAsyncContinuation.bpmn20.xml"})
+  public void testFailedJobEventsShareExceptionByteArray() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+
+    // when the job fails repeatedly with the same stacktrace
+    for (int i = 0; i < 3; i++) {
+      try {
+        managementService.executeJob(jobId);
+        fail();
+      } catch (Exception e) {
+        // expected
+      }
+    }
+
+    // then the failure log entries reference the same byte array
+    List<HistoricJobLog> failedLogs = historyService.createHistoricJobLogQuery().jobId(jobId).failureLog().list();
+    assertEquals(3, failedLogs.size());
+
+    final String byteArrayId = ((HistoricJobLogEventEntity) failedLogs.get(0)).getExceptionByteArrayId();
+    assertNotNull(byteArrayId);
+    for (HistoricJobLog failedLog : failedLogs) {
+      assertEquals(byteArrayId, ((HistoricJobLogEventEntity) failedLog).getExceptionByteArrayId());
+    }
+
+    // when one of the entries is deleted
+    final String deletedLogId = failedLogs.get(0).getId();
+    processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new Command<Void>() {
+
+      public Void execute(CommandContext commandContext) {
+        commandContext.getHistoricJobLogManager().deleteHistoricJobLogById(deletedLogId);
+        return null;
+      }
+
+    });
+
+    // then the byte array is kept for the remaining entries
+    ByteArrayEntity byteArray = processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new Command<ByteArrayEntity>() {
+
+      public ByteArrayEntity execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId);
+      }
+
+    });
+    assertNotNull(byteArray);
+
+    String stacktrace = historyService.getHistoricJobLogExceptionStacktrace(failedLogs.get(1).getId());
+    assertTextPresent(FailingDelegate.EXCEPTION_MESSAGE, stacktrace);
+  }
+
 }
@@ -28,6 +28,7 @@ import org.junit.rules.RuleChain;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -110,6 +111,16 @@ public class HistoricProcessInstanceManagerProcessInstancesForCleanupTest {
 
     runtimeService.deleteProcessInstances(ids, null, true, true);
 
+    //process instances finished before the removal time was introduced
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Object>() {
+      @Override
+      public Object execute(CommandContext commandContext) {
+        resetRemovalTime(commandContext, ONE_TASK_PROCESS);
+        resetRemovalTime(commandContext, TWO_TASKS_PROCESS);
+        return null;
+      }
+    });
+
     //some days passed
     ClockUtil.setCurrentTime(DateUtils.addDays(new Date(), daysPassedAfterProcessEnd));
 
@@ -118,7 +129,7 @@ public class HistoricProcessInstanceManagerProcessInstancesForCleanupTest {
       public Object execute(CommandContext commandContext) {
         //when
         List<String> historicProcessInstanceIdsForCleanup = commandContext.getHistoricProcessInstanceManager().findHistoricProcessInstanceIdsForCleanup(
-            batchSize);
+            batchSize, null, null);
 
         //then
         assertEquals(resultCount, historicProcessInstanceIdsForCleanup.size());
@@ -144,6 +155,60 @@ public class HistoricProcessInstanceManagerProcessInstancesForCleanupTest {
 
   }
 
+  @Test
+  @Deployment(resources = { "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml", "org/camunda/bpm/engine/test/api/twoTasksProcess.bpmn20.xml" })
+  public void testFindHistoricProcessInstanceRemovalTimesForCleanup() {
+
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Object>() {
+      @Override
+      public Object execute(CommandContext commandContext) {
+
+        //given
+        //set different TTL for two process definition
+        updateTimeToLive(commandContext, ONE_TASK_PROCESS, processDefiniotion1TTL);
+        updateTimeToLive(commandContext, TWO_TASKS_PROCESS, processDefiniotion2TTL);
+        return null;
+      }
+    });
+    //start processes
+    List<String> ids = prepareHistoricProcesses(ONE_TASK_PROCESS, processInstancesOfProcess1Count);
+    ids.addAll(prepareHistoricProcesses(TWO_TASKS_PROCESS, processInstancesOfProcess2Count));
+
+    runtimeService.deleteProcessInstances(ids, null, true, true);
+
+    //some days passed
+    ClockUtil.setCurrentTime(DateUtils.addDays(new Date(), daysPassedAfterProcessEnd));
+
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Object>() {
+      @Override
+      public Object execute(CommandContext commandContext) {
+        //when
+        List<Date> removalTimes = commandContext.getHistoricProcessInstanceManager().findHistoricProcessInstanceRemovalTimesForCleanup(
+            batchSize, null, null);
+
+        //then
+        assertEquals(resultCount, removalTimes.size());
+
+        Date previousRemovalTime = null;
+        for (Date removalTime : removalTimes) {
+          assertFalse(removalTime.after(ClockUtil.getCurrentTime()));
+          if (previousRemovalTime != null) {
+            assertFalse(removalTime.before(previousRemovalTime));
+          }
+          previousRemovalTime = removalTime;
+        }
+
+        return null;
+      }
+    });
+
+  }
+
+  private void resetRemovalTime(CommandContext commandContext, String businessKey) {
+    ProcessDefinition processDefinition = engineRule.getRepositoryService().createProcessDefinitionQuery().processDefinitionKey(businessKey).singleResult();
+    commandContext.getHistoricProcessInstanceManager().updateRemovalTimeByProcessDefinitionId(processDefinition.getId(), null);
+  }
+
   private void updateTimeToLive(CommandContext commandContext, String businessKey, int timeToLive) {
     List<ProcessDefinition> processDefinitions = engineRule.getRepositoryService().createProcessDefinitionQuery().processDefinitionKey(businessKey).list();
     assertEquals(1, processDefinitions.size());
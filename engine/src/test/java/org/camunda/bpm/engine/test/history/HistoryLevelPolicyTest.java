@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.test.TestHelper;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.variable.Variables;
+
+/**
+ * Tests the history level declared by the extension property <code>historyLevel</code>
+ * of a process or an activity.
+ */
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryLevelPolicyTest extends PluggableProcessEngineTestCase {
+
+  @Deployment
+  public void testProcessHistoryLevelNone() {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aVariable", "aValue"));
+    runtimeService.setVariable(processInstance.getId(), "aVariable", "anotherValue");
+    completeTask(processInstance);
+
+    // then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+  }
+
+  @Deployment
+  public void testProcessHistoryLevelActivity() {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aVariable", "aValue"));
+    completeTask(processInstance);
+
+    // then
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().finished().count());
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+  }
+
+  @Deployment
+  public void testActivityHistoryLevelNone() {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    completeTask(processInstance);
+
+    // then
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().finished().count());
+    assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("start").count());
+    assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("end").count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().activityId("userTask").count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+  }
+
+  @Deployment
+  public void testSubProcessHistoryLevelNone() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    // when
+    taskService.addCandidateUser(task.getId(), "kermit");
+    taskService.complete(task.getId());
+
+    // then the activities of the sub process inherit its history level
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().finished().count());
+    assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("start").count());
+    assertEquals(1, historyService.createHistoricActivityInstanceQuery().activityId("end").count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().activityId("subProcess").count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().activityId("subStart").count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().activityId("userTask").count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().activityId("subEnd").count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricIdentityLinkLogQuery().count());
+  }
+
+  @Deployment
+  public void testProcessHistoryLevelNoneForAllProducers() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+    runtimeService.activateProcessInstanceById(processInstance.getId());
+
+    Job job = managementService.createJobQuery().singleResult();
+    managementService.setJobRetries(job.getId(), 0);
+    managementService.setJobRetries(job.getId(), 1);
+    managementService.executeJob(job.getId());
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.addCandidateUser(task.getId(), "gonzo");
+    taskService.deleteCandidateUser(task.getId(), "kermit");
+    taskService.complete(task.getId());
+
+    // then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricJobLogQuery().count());
+    assertEquals(0, historyService.createHistoricIncidentQuery().count());
+    assertEquals(0, historyService.createHistoricIdentityLinkLogQuery().count());
+  }
+
+  public void testUnknownHistoryLevel() {
+    String resource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testUnknownHistoryLevel");
+    try {
+      repositoryService.createDeployment().addClasspathResource(resource).deploy();
+      fail("Exception expected: the history level is not known.");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("Value 'unknown' for extension property 'historyLevel' is not a known history level", e.getMessage());
+    }
+  }
+
+  protected void completeTask(ProcessInstance processInstance) {
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+  }
+
+}
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.deploy;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheInvalidationTransport;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.LocalCacheInvalidationTransport;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Two process engines which share a database and a {@link LocalCacheInvalidationTransport}.
+ */
+public class CacheInvalidationTransportTest {
+
+  protected ProcessEngine engine1;
+  protected ProcessEngine engine2;
+
+  @Before
+  public void startEngines() {
+    CacheInvalidationTransport transport = new LocalCacheInvalidationTransport();
+    engine1 = createProcessEngine("cacheInvalidationEngine1", ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP, transport);
+    engine2 = createProcessEngine("cacheInvalidationEngine2", ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE, transport);
+  }
+
+  @After
+  public void closeEngines() {
+    try {
+      engine2.close();
+    }
+    finally {
+      engine1.close();
+      engine1 = null;
+      engine2 = null;
+    }
+  }
+
+  @Test
+  public void shouldRemoveDeletedProcessDefinitionFromCacheOfOtherEngine() {
+    // given a process definition which is cached by the second engine
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done();
+    Deployment deployment = engine1.getRepositoryService().createDeployment().addModelInstance("process.bpmn", process).deploy();
+    ProcessDefinition processDefinition = engine1.getRepositoryService().createProcessDefinitionQuery().singleResult();
+
+    engine2.getRepositoryService().getProcessDefinition(processDefinition.getId());
+    DeploymentCache deploymentCache = getDeploymentCache(engine2);
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+
+    // when the first engine deletes the deployment
+    engine1.getRepositoryService().deleteDeployment(deployment.getId(), true);
+
+    // then the process definition is removed from the cache of the second engine
+    assertNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+  }
+
+  protected DeploymentCache getDeploymentCache(ProcessEngine processEngine) {
+    return ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getDeploymentCache();
+  }
+
+  protected ProcessEngine createProcessEngine(String name, String databaseSchemaUpdate, CacheInvalidationTransport transport) {
+    StandaloneInMemProcessEngineConfiguration processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName(name);
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:cache-invalidation");
+    processEngineConfiguration.setDatabaseSchemaUpdate(databaseSchemaUpdate);
+    processEngineConfiguration.setCacheInvalidationTransport(transport);
+    return processEngineConfiguration.buildProcessEngine();
+  }
+
+}
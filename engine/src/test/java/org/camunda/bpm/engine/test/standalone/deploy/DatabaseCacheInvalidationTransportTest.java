@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.deploy;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DatabaseCacheInvalidationTransport;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Two process engines which only share a database, each with its own {@link DatabaseCacheInvalidationTransport}.
+ */
+public class DatabaseCacheInvalidationTransportTest {
+
+  // the lookups are triggered by the test
+  protected static final long POLLING_INTERVAL = 60 * 60 * 1000L;
+
+  protected ProcessEngine engine1;
+  protected ProcessEngine engine2;
+
+  @Before
+  public void startEngines() {
+    engine1 = createProcessEngine("databaseCacheInvalidationEngine1", ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+    engine2 = createProcessEngine("databaseCacheInvalidationEngine2", ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
+  }
+
+  @After
+  public void closeEngines() {
+    try {
+      engine2.close();
+    }
+    finally {
+      engine1.close();
+      engine1 = null;
+      engine2 = null;
+    }
+  }
+
+  @Test
+  public void shouldEvictProcessDefinitionRemovedByOtherEngine() {
+    // given a process definition which is cached by the second engine
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done();
+    Deployment deployment = engine1.getRepositoryService().createDeployment().addModelInstance("process.bpmn", process).deploy();
+    ProcessDefinition processDefinition = engine1.getRepositoryService().createProcessDefinitionQuery().singleResult();
+
+    engine2.getRepositoryService().getProcessDefinition(processDefinition.getId());
+    DeploymentCache deploymentCache = getDeploymentCache(engine2);
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+
+    // when the first engine deletes the deployment
+    engine1.getRepositoryService().deleteDeployment(deployment.getId(), true);
+
+    // then the process definition is kept until the second engine looks it up
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+
+    getTransport(engine2).evictRemovedDefinitions();
+    assertNull(deploymentCache.findProcessDefinitionFromCache(processDefinition.getId()));
+  }
+
+  @Test
+  public void shouldKeepExistingProcessDefinition() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done();
+    Deployment deployment = engine1.getRepositoryService().createDeployment().addModelInstance("process.bpmn", process).deploy();
+    ProcessDefinition processDefinition = engine1.getRepositoryService().createProcessDefinitionQuery().singleResult();
+
+    try {
+      engine2.getRepositoryService().getProcessDefinition(processDefinition.getId());
+
+      // when
+      getTransport(engine2).evictRemovedDefinitions();
+
+      // then
+      assertNotNull(getDeploymentCache(engine2).findProcessDefinitionFromCache(processDefinition.getId()));
+    }
+    finally {
+      engine1.getRepositoryService().deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  protected DeploymentCache getDeploymentCache(ProcessEngine processEngine) {
+    return ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getDeploymentCache();
+  }
+
+  protected DatabaseCacheInvalidationTransport getTransport(ProcessEngine processEngine) {
+    return (DatabaseCacheInvalidationTransport) getDeploymentCache(processEngine).getInvalidationTransport();
+  }
+
+  protected ProcessEngine createProcessEngine(String name, String databaseSchemaUpdate) {
+    StandaloneInMemProcessEngineConfiguration processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName(name);
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:database-cache-invalidation");
+    processEngineConfiguration.setDatabaseSchemaUpdate(databaseSchemaUpdate);
+    processEngineConfiguration.setCacheInvalidationTransport(
+        new DatabaseCacheInvalidationTransport(processEngineConfiguration, POLLING_INTERVAL));
+    return processEngineConfiguration.buildProcessEngine();
+  }
+
+}
@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.junit.Assert.assertEquals;
+
+import java.beans.PropertyDescriptor;
+import java.beans.SimpleBeanInfo;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.camunda.bpm.engine.impl.el.ProcessEngineBeanElResolver;
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BeanELResolverTest {
+
+  protected SimpleContext context;
+
+  @Before
+  public void setUp() {
+    context = new SimpleContext();
+    context.putContext(ExpressionFactory.class, new ExpressionFactoryImpl());
+  }
+
+  @Test
+  public void shouldCacheMethodPerClass() {
+    CountingBeanELResolver resolver = new CountingBeanELResolver();
+
+    assertEquals("hello kermit", resolver.invoke(context, new MethodBean(), "greet", null, new Object[] { "kermit" }));
+    assertEquals("hello gonzo", resolver.invoke(context, new MethodBean(), "greet", null, new Object[] { "gonzo" }));
+
+    assertEquals(1, resolver.methodLookups);
+  }
+
+  @Test
+  public void shouldNotIntrospectPropertiesToInvokeMethod() {
+    BeanELResolver resolver = new BeanELResolver();
+
+    // the bean info of the class fails on introspection
+    Object result = resolver.invoke(context, new UnintrospectableBean(), "greet", null, new Object[] { "kermit" });
+
+    assertEquals("hello kermit", result);
+  }
+
+  @Test
+  public void shouldCacheMethodOfProcessEngineClass() {
+    CountingProcessEngineBeanElResolver resolver = new CountingProcessEngineBeanElResolver();
+
+    resolver.invoke(context, new MethodBean(), "greet", null, new Object[] { "kermit" });
+    resolver.invoke(context, new MethodBean(), "greet", null, new Object[] { "kermit" });
+
+    assertEquals(1, resolver.methodLookups);
+  }
+
+  @Test
+  public void shouldNotCacheMethodOfProcessApplicationClass() throws Exception {
+    CountingProcessEngineBeanElResolver resolver = new CountingProcessEngineBeanElResolver();
+
+    // a class loader which is not related to the class loader of the process engine,
+    // like the class loader of a process application
+    URL classes = MethodBean.class.getProtectionDomain().getCodeSource().getLocation();
+    URLClassLoader processApplicationClassLoader = new URLClassLoader(new URL[] { classes }, null);
+    Object bean = processApplicationClassLoader.loadClass(MethodBean.class.getName()).newInstance();
+
+    assertEquals("hello kermit", resolver.invoke(context, bean, "greet", null, new Object[] { "kermit" }));
+    assertEquals("hello kermit", resolver.invoke(context, bean, "greet", null, new Object[] { "kermit" }));
+
+    assertEquals(2, resolver.methodLookups);
+  }
+
+  public static class MethodBean {
+
+    public String greet(String name) {
+      return "hello " + name;
+    }
+
+  }
+
+  public static class UnintrospectableBean extends MethodBean {
+  }
+
+  public static class UnintrospectableBeanBeanInfo extends SimpleBeanInfo {
+
+    @Override
+    public PropertyDescriptor[] getPropertyDescriptors() {
+      throw new IllegalStateException("the properties of the bean must not be introspected");
+    }
+
+  }
+
+  protected static class CountingBeanELResolver extends BeanELResolver {
+
+    protected int methodLookups = 0;
+
+    @Override
+    protected Method findMethod(Class<?> baseClass, String name, int paramCount) {
+      methodLookups++;
+      return super.findMethod(baseClass, name, paramCount);
+    }
+
+  }
+
+  protected static class CountingProcessEngineBeanElResolver extends ProcessEngineBeanElResolver {
+
+    protected int methodLookups = 0;
+
+    @Override
+    protected Method findMethod(Class<?> baseClass, String name, int paramCount) {
+      methodLookups++;
+      return super.findMethod(baseClass, name, paramCount);
+    }
+
+  }
+
+}
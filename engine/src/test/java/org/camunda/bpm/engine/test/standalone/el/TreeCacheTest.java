@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Cache;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.junit.Test;
+
+public class TreeCacheTest {
+
+  protected Builder builder = new Builder();
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    // given
+    Cache cache = new Cache(10);
+    Tree tree = builder.build("${a}");
+    cache.put("${a}", tree);
+
+    // when
+    Tree cachedTree = cache.get("${a}");
+    Tree missingTree = cache.get("${b}");
+
+    // then
+    assertSame(tree, cachedTree);
+    assertNull(missingTree);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5, cache.getHitRate(), 0.0);
+  }
+
+  @Test
+  public void shouldEvictFirstAddedEntry() {
+    // given
+    Cache cache = new Cache(2, 16, false);
+    cache.put("${a}", builder.build("${a}"));
+    cache.put("${b}", builder.build("${b}"));
+
+    // a lookup does not change the eviction order
+    cache.get("${a}");
+
+    // when
+    cache.put("${c}", builder.build("${c}"));
+
+    // then
+    assertEquals(2, cache.size());
+    assertNull(cache.get("${a}"));
+    assertNotNull(cache.get("${b}"));
+    assertNotNull(cache.get("${c}"));
+  }
+
+  @Test
+  public void shouldFindEvictedTreeWhichIsStillReferenced() {
+    // given
+    Cache cache = new Cache(1);
+    Tree tree = builder.build("${a}");
+    cache.put("${a}", tree);
+
+    // when
+    cache.put("${b}", builder.build("${b}"));
+
+    // then the tree is found in the weak second level and added to the cache again
+    assertSame(tree, cache.get("${a}"));
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void shouldKeepFirstTreeOfExpression() {
+    // given
+    Cache cache = new Cache(2);
+    Tree tree = builder.build("${a}");
+    cache.put("${a}", tree);
+
+    // when
+    cache.put("${a}", builder.build("${a}"));
+
+    // then
+    assertEquals(1, cache.size());
+    assertSame(tree, cache.get("${a}"));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void shouldMoveEvictedEntryToSecondaryMap() {
+    // given
+    Map<String, Tree> secondary = new HashMap<String, Tree>();
+    Cache cache = new Cache(1, secondary);
+    Tree tree = builder.build("${a}");
+    cache.put("${a}", tree);
+
+    // when
+    cache.put("${b}", builder.build("${b}"));
+
+    // then
+    assertEquals(1, cache.size());
+    assertSame(tree, secondary.get("${a}"));
+    assertSame(tree, cache.get("${a}"));
+  }
+
+}
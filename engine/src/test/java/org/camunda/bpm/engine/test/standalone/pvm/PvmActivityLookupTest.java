@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.test.standalone.pvm;
+
+import org.camunda.bpm.engine.impl.pvm.ProcessDefinitionBuilder;
+import org.camunda.bpm.engine.impl.pvm.PvmException;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.test.PvmTestCase;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.Automatic;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.EmbeddedSubProcess;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.End;
+import org.camunda.bpm.engine.test.standalone.pvm.activities.WaitState;
+
+public class PvmActivityLookupTest extends PvmTestCase {
+
+  /**
+   *           +------------------------------------------+
+   *           | outer                                    |
+   *           |           +------------------------+     |
+   * +-----+   | +-----+   | inner                  |     |   +---+
+   * |start|-->| |task |-->| +-----------+          |     |-->|end|
+   * +-----+   | +-----+   | |innerTask  |          |     |   +---+
+   *           |           | +-----------+          |     |
+   *           |           +------------------------+     |
+   *           +------------------------------------------+
+   */
+  public void testFindNestedActivities() {
+    ProcessDefinitionImpl processDefinition = (ProcessDefinitionImpl) new ProcessDefinitionBuilder()
+      .createActivity("start")
+        .initial()
+        .behavior(new Automatic())
+        .transition("outer")
+      .endActivity()
+      .createActivity("outer")
+        .scope()
+        .behavior(new EmbeddedSubProcess())
+        .createActivity("task")
+          .behavior(new Automatic())
+          .transition("inner")
+        .endActivity()
+        .createActivity("inner")
+          .scope()
+          .behavior(new EmbeddedSubProcess())
+          .createActivity("innerTask")
+            .behavior(new End())
+          .endActivity()
+        .endActivity()
+        .transition("end")
+      .endActivity()
+      .createActivity("end")
+        .behavior(new WaitState())
+      .endActivity()
+    .buildProcessDefinition();
+
+    ActivityImpl outer = processDefinition.findActivity("outer");
+    ActivityImpl inner = processDefinition.findActivity("inner");
+    ActivityImpl innerTask = processDefinition.findActivity("innerTask");
+
+    // the process definition finds the activities on all levels
+    assertNotNull(outer);
+    assertNotNull(inner);
+    assertNotNull(innerTask);
+    assertSame(inner, innerTask.getFlowScope());
+    assertSame(outer, inner.getFlowScope());
+
+    // a scope finds the activities nested in it
+    assertSame(innerTask, outer.findActivity("innerTask"));
+    assertSame(innerTask, inner.findActivity("innerTask"));
+    assertNull(inner.findActivity("task"));
+    assertNull(inner.findActivity("inner"));
+    assertNull(outer.findActivity("start"));
+    assertNull(processDefinition.findActivity("unknown"));
+
+    // a scope finds its direct children only locally
+    assertSame(inner, outer.getChildActivity("inner"));
+    assertNull(outer.getChildActivity("innerTask"));
+    assertNull(processDefinition.getChildActivity("inner"));
+    assertSame(outer, processDefinition.getChildActivity("outer"));
+
+    assertTrue(outer.contains(innerTask));
+    assertTrue(processDefinition.contains(innerTask));
+    assertFalse(inner.contains(processDefinition.findActivity("task")));
+  }
+
+  public void testDuplicateIdInNestedScope() {
+    ProcessDefinitionBuilder builder = new ProcessDefinitionBuilder()
+      .createActivity("task")
+        .initial()
+        .behavior(new Automatic())
+        .transition("subProcess")
+      .endActivity()
+      .createActivity("subProcess")
+        .scope()
+        .behavior(new EmbeddedSubProcess());
+
+    try {
+      builder.createActivity("task");
+      fail("exception expected");
+    } catch (PvmException e) {
+      assertTextPresent("duplicate activity id 'task'", e.getMessage());
+    }
+  }
+
+}
@@ -12,8 +12,11 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
+import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 
 import org.camunda.bpm.application.ProcessApplicationInterface;
@@ -24,6 +27,9 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 
 /**
  * @author Roman Smirnov
@@ -59,6 +65,185 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
     getScriptingEngines().setEnableScriptEngineCaching(true);
   }
 
+  public void testGlobalPoolingOfScriptEngine() {
+    // given
+    processEngineConfiguration.setEnableScriptEngineCaching(false);
+    getScriptingEngines().setEnableScriptEngineCaching(false);
+    getScriptingEngines().setScriptEnginePoolSize(1);
+
+    try {
+      // when
+      ScriptEngine engine = borrowScriptEngine(SCRIPT_LANGUAGE);
+      ScriptEngine otherEngine = borrowScriptEngine(SCRIPT_LANGUAGE);
+      returnScriptEngine(SCRIPT_LANGUAGE, engine);
+      returnScriptEngine(SCRIPT_LANGUAGE, otherEngine);
+
+      // then
+      assertNotNull(engine);
+      assertFalse(engine.equals(otherEngine));
+
+      // only one idle engine is kept
+      assertEquals(engine, borrowScriptEngine(SCRIPT_LANGUAGE));
+      assertFalse(otherEngine.equals(borrowScriptEngine(SCRIPT_LANGUAGE)));
+    }
+    finally {
+      processEngineConfiguration.setEnableScriptEngineCaching(true);
+      getScriptingEngines().setEnableScriptEngineCaching(true);
+      getScriptingEngines().setScriptEnginePoolSize(0);
+      getScriptingEngines().clearPooledScriptEngines();
+    }
+  }
+
+  public void testGlobalPoolingOfScriptEngineForScriptTask() {
+    // given
+    processEngineConfiguration.setEnableScriptEngineCaching(false);
+    getScriptingEngines().setEnableScriptEngineCaching(false);
+    getScriptingEngines().setScriptEnginePoolSize(1);
+
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .scriptTask()
+        .scriptFormat(SCRIPT_LANGUAGE)
+        .scriptText("execution.setVariable('result', 'done')")
+      .userTask()
+      .endEvent()
+      .done();
+
+    deployment(process);
+
+    try {
+      ScriptEngine engine = borrowScriptEngine(SCRIPT_LANGUAGE);
+      returnScriptEngine(SCRIPT_LANGUAGE, engine);
+
+      // when
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+      // then
+      assertEquals("done", runtimeService.getVariable(processInstance.getId(), "result"));
+
+      // the script task hands the engine back to the pool
+      assertEquals(engine, borrowScriptEngine(SCRIPT_LANGUAGE));
+
+      // pooled groovy engines are configured like cached ones
+      assertEquals("weak", engine.getContext().getAttribute("#jsr223.groovy.engine.keep.globals", ScriptContext.ENGINE_SCOPE));
+    }
+    finally {
+      processEngineConfiguration.setEnableScriptEngineCaching(true);
+      getScriptingEngines().setEnableScriptEngineCaching(true);
+      getScriptingEngines().setScriptEnginePoolSize(0);
+      getScriptingEngines().clearPooledScriptEngines();
+    }
+  }
+
+  public void testPoolingOfScriptEngineInProcessApplication() {
+    // given
+    processEngineConfiguration.setEnableScriptEngineCaching(false);
+    getScriptingEngines().setEnableScriptEngineCaching(false);
+    getScriptingEngines().setScriptEnginePoolSize(1);
+
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+
+    ProcessApplicationDeployment deployment = repositoryService.createDeployment(processApplication.getReference())
+        .addClasspathResource(PROCESS_PATH)
+        .deploy();
+
+    try {
+      // when
+      ScriptEngine engine = borrowScriptEngineFromPa(SCRIPT_LANGUAGE, processApplication);
+      returnScriptEngineToPa(SCRIPT_LANGUAGE, engine, processApplication);
+
+      // then
+      assertNotNull(engine);
+      assertEquals(engine, borrowScriptEngineFromPa(SCRIPT_LANGUAGE, processApplication));
+
+      // the engine is pooled in the pa, not globally
+      returnScriptEngineToPa(SCRIPT_LANGUAGE, engine, processApplication);
+      assertFalse(engine.equals(borrowScriptEngine(SCRIPT_LANGUAGE)));
+    }
+    finally {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+
+      processEngineConfiguration.setEnableScriptEngineCaching(true);
+      getScriptingEngines().setEnableScriptEngineCaching(true);
+      getScriptingEngines().setScriptEnginePoolSize(0);
+      getScriptingEngines().clearPooledScriptEngines();
+    }
+  }
+
+  public void testPoolingOfScriptEngineCreatedByProcessApplication() {
+    // given a process application which creates its own script engines
+    processEngineConfiguration.setEnableScriptEngineCaching(false);
+    getScriptingEngines().setEnableScriptEngineCaching(false);
+    getScriptingEngines().setScriptEnginePoolSize(1);
+
+    final List<ScriptEngine> createdEngines = new ArrayList<ScriptEngine>();
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication() {
+      public ScriptEngine getScriptEngineForName(String name, boolean cache) {
+        ScriptEngine scriptEngine = super.getScriptEngineForName(name, cache);
+        createdEngines.add(scriptEngine);
+        return scriptEngine;
+      }
+    };
+
+    ProcessApplicationDeployment deployment = repositoryService.createDeployment(processApplication.getReference())
+        .addClasspathResource(PROCESS_PATH)
+        .deploy();
+
+    try {
+      // when
+      ScriptEngine engine = borrowScriptEngineFromPa(SCRIPT_LANGUAGE, processApplication);
+      returnScriptEngineToPa(SCRIPT_LANGUAGE, engine, processApplication);
+
+      // then the engine is created by the process application
+      assertEquals(1, createdEngines.size());
+      assertEquals(createdEngines.get(0), engine);
+
+      // and reused from the pool
+      assertEquals(engine, borrowScriptEngineFromPa(SCRIPT_LANGUAGE, processApplication));
+      assertEquals(1, createdEngines.size());
+    }
+    finally {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+
+      processEngineConfiguration.setEnableScriptEngineCaching(true);
+      getScriptingEngines().setEnableScriptEngineCaching(true);
+      getScriptingEngines().setScriptEnginePoolSize(0);
+      getScriptingEngines().clearPooledScriptEngines();
+    }
+  }
+
+  public void testPooledScriptEngineDoesNotKeepGlobals() throws Exception {
+    // given
+    processEngineConfiguration.setEnableScriptEngineCaching(false);
+    getScriptingEngines().setEnableScriptEngineCaching(false);
+    getScriptingEngines().setScriptEnginePoolSize(1);
+
+    try {
+      // a script which declares a global variable
+      ScriptEngine engine = borrowScriptEngine(SCRIPT_LANGUAGE);
+      engine.eval("leaked = 'aValue'");
+      assertEquals("aValue", engine.get("leaked"));
+      returnScriptEngine(SCRIPT_LANGUAGE, engine);
+
+      // when the engine is reused by the next script
+      ScriptEngine reusedEngine = borrowScriptEngine(SCRIPT_LANGUAGE);
+
+      // then the global variable is not visible anymore
+      assertEquals(engine, reusedEngine);
+      assertNull(reusedEngine.get("leaked"));
+      assertEquals(Boolean.FALSE, reusedEngine.eval("binding.variables.containsKey('leaked')"));
+
+      // and the engine is still configured
+      assertEquals("weak", reusedEngine.getContext().getAttribute("#jsr223.groovy.engine.keep.globals", ScriptContext.ENGINE_SCOPE));
+    }
+    finally {
+      processEngineConfiguration.setEnableScriptEngineCaching(true);
+      getScriptingEngines().setEnableScriptEngineCaching(true);
+      getScriptingEngines().setScriptEnginePoolSize(0);
+      getScriptingEngines().clearPooledScriptEngines();
+    }
+  }
+
   public void testCachingOfScriptEngineInProcessApplication() {
     // given
     EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
@@ -170,6 +355,56 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
       });
   }
 
+  protected ScriptEngine borrowScriptEngine(final String name) {
+    final ScriptingEngines scriptingEngines = getScriptingEngines();
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<ScriptEngine>() {
+        public ScriptEngine execute(CommandContext commandContext) {
+          return scriptingEngines.borrowScriptEngineForLanguage(name);
+        }
+      });
+  }
+
+  protected void returnScriptEngine(final String name, final ScriptEngine scriptEngine) {
+    final ScriptingEngines scriptingEngines = getScriptingEngines();
+    processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          scriptingEngines.returnScriptEngine(name, scriptEngine);
+          return null;
+        }
+      });
+  }
+
+  protected ScriptEngine borrowScriptEngineFromPa(final String name, final ProcessApplicationInterface processApplication) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<ScriptEngine>() {
+        public ScriptEngine execute(CommandContext commandContext) {
+          return Context.executeWithinProcessApplication(new Callable<ScriptEngine>() {
+
+            public ScriptEngine call() throws Exception {
+              return borrowScriptEngine(name);
+            }
+          }, processApplication.getReference());
+        }
+      });
+  }
+
+  protected void returnScriptEngineToPa(final String name, final ScriptEngine scriptEngine, final ProcessApplicationInterface processApplication) {
+    processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          return Context.executeWithinProcessApplication(new Callable<Void>() {
+
+            public Void call() throws Exception {
+              returnScriptEngine(name, scriptEngine);
+              return null;
+            }
+          }, processApplication.getReference());
+        }
+      });
+  }
+
   protected ScriptEngine getScriptEngineFromPa(final String name, final ProcessApplicationInterface processApplication) {
     return processEngineConfiguration.getCommandExecutorTxRequired()
       .execute(new Command<ScriptEngine>() {
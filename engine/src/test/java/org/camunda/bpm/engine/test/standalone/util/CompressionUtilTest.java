@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.Charset;
+
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
+import org.junit.Test;
+
+public class CompressionUtilTest {
+
+  protected static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  @Test
+  public void shouldCompressAndDecompress() {
+    byte[] bytes = repeat("{\"name\":\"value\"}", 200).getBytes(UTF_8);
+
+    byte[] compressed = CompressionUtil.compress(bytes, 0);
+
+    assertTrue(compressed.length < bytes.length);
+    assertArrayEquals(bytes, CompressionUtil.decompress(compressed));
+  }
+
+  @Test
+  public void shouldNotCompressBelowThreshold() {
+    byte[] bytes = repeat("a", 100).getBytes(UTF_8);
+
+    assertSame(bytes, CompressionUtil.compress(bytes, 1024));
+  }
+
+  @Test
+  public void shouldNotCompressIncompressibleBytes() {
+    byte[] bytes = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+
+    assertSame(bytes, CompressionUtil.compress(bytes, 0));
+  }
+
+  @Test
+  public void shouldReadUncompressedBytes() {
+    byte[] bytes = "an uncompressed value".getBytes(UTF_8);
+
+    assertSame(bytes, CompressionUtil.decompress(bytes));
+    assertNull(CompressionUtil.decompress(null));
+  }
+
+  @Test
+  public void shouldStoreBytesWhichStartWithTheHeader() {
+    byte[] bytes = new byte[] { (byte) 0xCA, (byte) 0x3D, (byte) 0xB7, 1, 0, 0, 0, 1, 42 };
+
+    byte[] stored = CompressionUtil.compress(bytes, 1024);
+
+    assertArrayEquals(bytes, CompressionUtil.decompress(stored));
+    // bytes which start with the header but are no compressed value are returned unchanged
+    assertArrayEquals(bytes, CompressionUtil.decompress(bytes));
+  }
+
+  @Test
+  public void shouldEscapeBytesWhichStartWithTheHeader() {
+    byte[] compressed = CompressionUtil.compress(repeat("a", 2048).getBytes(UTF_8), 0);
+
+    // a raw value which looks like a compressed one is read back unchanged
+    assertArrayEquals(compressed, CompressionUtil.decompress(CompressionUtil.escape(compressed)));
+
+    byte[] bytes = "no header".getBytes(UTF_8);
+    assertSame(bytes, CompressionUtil.escape(bytes));
+    assertNull(CompressionUtil.escape(null));
+  }
+
+  protected String repeat(String value, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(value);
+    }
+    return builder.toString();
+  }
+
+}
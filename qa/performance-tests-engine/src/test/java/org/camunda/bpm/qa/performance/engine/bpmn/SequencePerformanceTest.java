@@ -50,6 +50,26 @@ public class SequencePerformanceTest extends ProcessEnginePerformanceTestCase {
     .run();
   }
 
+  /**
+   * Same as {@link #syncSequence15Steps()} but the process declares the history level
+   * <code>none</code>, so the difference shows the cost of producing the history events.
+   */
+  @Test
+  @Deployment
+  public void syncSequence15StepsHistoryLevelNone() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
+  @Test
+  @Deployment
+  public void syncSequence15StepsHistoryLevelActivity() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+    .run();
+  }
+
   @Test
   @Deployment
   public void asyncSequence1Step() {
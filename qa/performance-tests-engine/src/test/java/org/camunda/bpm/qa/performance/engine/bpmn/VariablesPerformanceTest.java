@@ -23,7 +23,15 @@ import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARI
 import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE8;
 import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE9;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.CompactBinaryObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
 import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
@@ -139,4 +147,58 @@ public class VariablesPerformanceTest extends ProcessEnginePerformanceTestCase {
     .run();
   }
 
+  @Test
+  @Deployment(resources =
+    {"org/camunda/bpm/qa/performance/engine/bpmn/StartEventPerformanceTest.noneStartEvent.bpmn"})
+  public void noneStartEventObjectVar() {
+    HashMap<String, Object> variables = new HashMap<String, Object>();
+    variables.put(VARIABLE1, PerfTestObject.create());
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", variables))
+    .run();
+  }
+
+  @Test
+  @Deployment(resources =
+    {"org/camunda/bpm/qa/performance/engine/bpmn/StartEventPerformanceTest.noneStartEvent.bpmn"})
+  public void noneStartEventCompactBinaryObjectVar() {
+    CompactBinaryObjectSerializer serializer = new CompactBinaryObjectSerializer(Arrays.asList(PerfTestObject.class.getName()));
+    VariableSerializers variableSerializers = ((ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration()).getVariableSerializers();
+    variableSerializers.addSerializer(serializer, 0);
+
+    try {
+      HashMap<String, Object> variables = new HashMap<String, Object>();
+      variables.put(VARIABLE1, PerfTestObject.create());
+
+      performanceTest()
+        .step(new StartProcessInstanceStep(engine, "process", variables))
+      .run();
+    }
+    finally {
+      variableSerializers.removeSerializer(serializer);
+    }
+  }
+
+  public static class PerfTestObject implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String name;
+    protected int count;
+    protected long amount;
+    protected List<String> items = new ArrayList<String>();
+
+    public static PerfTestObject create() {
+      PerfTestObject object = new PerfTestObject();
+      object.name = "someValue";
+      object.count = 42;
+      object.amount = 1000000L;
+      for (int i = 0; i < 10; i++) {
+        object.items.add("item" + i);
+      }
+      return object;
+    }
+  }
+
 }